@@ -0,0 +1,62 @@
+package ru.checkdev.mock.benchmark;
+
+import ru.checkdev.mock.domain.Feedback;
+import ru.checkdev.mock.domain.Interview;
+import ru.checkdev.mock.domain.Wisher;
+import ru.checkdev.mock.enums.StatusInterview;
+
+import java.sql.Timestamp;
+
+/**
+ * Строки, похожие на данные сервиса: собеседования с описанием в несколько сотен символов,
+ * заявки и отзывы к ним. Данные одинаковы при каждом запуске, чтобы результаты сравнивались с базовыми.
+ */
+final class BenchmarkData {
+
+    private static final Timestamp CREATE_DATE = Timestamp.valueOf("2024-01-15 10:30:00");
+
+    private static final String ADDITIONAL = "Подготовка к собеседованию Java middle: коллекции, многопоточность, "
+            + "Spring, SQL и транзакции. ".repeat(4);
+
+    private BenchmarkData() {
+    }
+
+    static Interview interview(int i) {
+        return Interview.of()
+                .id(i + 1)
+                .mode(i % 2 + 1)
+                .status(StatusInterview.byId(i % StatusInterview.values().length))
+                .submitterId(i % 50 + 1)
+                .title("Собеседование " + i)
+                .additional(ADDITIONAL)
+                .contactBy("t.me/user" + i)
+                .approximateDate("в течение недели")
+                .createDate(CREATE_DATE)
+                .topicId(i % 10 + 1)
+                .author("user" + i)
+                .agreedWisherId(i % 3 == 0 ? 0 : i + 100)
+                .version(i % 4)
+                .build();
+    }
+
+    static Wisher wisher(int i, Interview interview) {
+        return Wisher.of()
+                .id(i + 1)
+                .interview(interview)
+                .userId(i % 70 + 1)
+                .contactBy("t.me/wisher" + i)
+                .approve(i % 5 == 0)
+                .build();
+    }
+
+    static Feedback feedback(int i, Interview interview) {
+        return Feedback.of()
+                .id(i + 1)
+                .interview(interview)
+                .userId(i % 70 + 1)
+                .roleInInterview(i % 2 + 1)
+                .textFeedback("Хорошо объясняет, стоит подтянуть SQL. Отзыв " + i)
+                .scope(i % 5 + 1)
+                .build();
+    }
+}
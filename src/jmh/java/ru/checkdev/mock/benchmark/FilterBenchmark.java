@@ -0,0 +1,83 @@
+package ru.checkdev.mock.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.checkdev.mock.dto.FilterRequestParams;
+import ru.checkdev.mock.enums.FilterProfileStore;
+import ru.checkdev.mock.service.InterviewFilterSpecifications;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Разбор фильтра на каждом запросе /interviews/: спецификация по FilterRequestParams
+ * и список профилей фильтра.
+ * cachedSpecifications - повторяющиеся фильтры из кэша спецификаций,
+ * uncachedSpecifications - каждый фильтр новый (кэш на 256 фильтров вытесняется), спецификация строится заново.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterBenchmark {
+
+    static final int FILTERS = 64;
+
+    static final int UNIQUE_FILTERS = 4096;
+
+    private final InterviewFilterSpecifications specifications = new InterviewFilterSpecifications();
+
+    private final FilterRequestParams[] repeated = new FilterRequestParams[FILTERS];
+
+    private final FilterRequestParams[] unique = new FilterRequestParams[UNIQUE_FILTERS];
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < FILTERS; i++) {
+            repeated[i] = filter(i);
+        }
+        for (int i = 0; i < UNIQUE_FILTERS; i++) {
+            unique[i] = filter(i);
+        }
+    }
+
+    private static FilterRequestParams filter(int i) {
+        return new FilterRequestParams(List.of(i % 10 + 1, i % 7 + 1, 3), i % 50, 0, 0, i % 6, i % 3, i % 2 == 0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FILTERS)
+    public void cachedSpecifications(Blackhole blackhole) {
+        for (FilterRequestParams params : repeated) {
+            blackhole.consume(specifications.createSpecifications(params));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FILTERS)
+    public void uncachedSpecifications(Blackhole blackhole) {
+        for (int i = 0; i < FILTERS; i++) {
+            blackhole.consume(specifications.createSpecifications(unique[next]));
+            next = (next + 1) % UNIQUE_FILTERS;
+        }
+    }
+
+    @Benchmark
+    public Object filterProfiles() {
+        return FilterProfileStore.getFilterProfiles();
+    }
+}
@@ -0,0 +1,116 @@
+package ru.checkdev.mock.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Сравнение результата JMH (-rf json) с базовым файлом src/jmh/baseline/jmh-baseline.json.
+ * База хранит для каждого бенчмарка только время операции (score, scoreUnit) и выделение памяти
+ * на операцию (gc.alloc.rate.norm), без путей к JVM и сырых замеров.
+ * Регрессия - рост выделения памяти больше допуска по памяти: оно почти не зависит от машины.
+ * Рост времени больше допуска по времени только выводится (SLOWER), так как время зависит от железа.
+ * Бенчмарки, которых нет в одном из файлов, только выводятся.
+ * Аргументы: результат, база, допуск по памяти (0.10 = 10%), допуск по времени,
+ * true - вместо сравнения записать базу из результата.
+ */
+public final class JmhBaselineCheck {
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    /**
+     * Абсолютный допуск по памяти в байтах: выравнивание объектов и шум профилировщика.
+     */
+    private static final double ALLOCATION_SLACK = 8;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private JmhBaselineCheck() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        var result = readResult(Path.of(args[0]));
+        if (args.length > 4 && Boolean.parseBoolean(args[4])) {
+            MAPPER.writeValue(Path.of(args[1]).toFile(), result);
+            System.out.printf("%d benchmark(s) written to %s%n", result.size(), args[1]);
+            return;
+        }
+        var baseline = readBaseline(Path.of(args[1]));
+        var allocationTolerance = Double.parseDouble(args[2]);
+        var timeTolerance = Double.parseDouble(args[3]);
+        var regressions = 0;
+        System.out.printf("%-70s %14s %14s %12s %12s%n", "Benchmark", "time", "base time", "B/op", "base B/op");
+        for (var entry : result.entrySet()) {
+            var current = entry.getValue();
+            var base = baseline.get(entry.getKey());
+            if (base == null) {
+                System.out.printf("%-70s %14s %14s %12s %12s  NEW%n", entry.getKey(), time(current), "-",
+                        allocation(current), "-");
+                continue;
+            }
+            var verdict = "";
+            if (current.path("score").asDouble() > base.path("score").asDouble() * (1 + timeTolerance)) {
+                verdict += " SLOWER";
+            }
+            if (current.path(ALLOCATION).asDouble()
+                    > base.path(ALLOCATION).asDouble() * (1 + allocationTolerance) + ALLOCATION_SLACK) {
+                verdict += " MORE ALLOCATIONS";
+                regressions++;
+            }
+            System.out.printf("%-70s %14s %14s %12s %12s %s%n", entry.getKey(), time(current), time(base),
+                    allocation(current), allocation(base), verdict);
+        }
+        baseline.keySet().stream()
+                .filter(key -> !result.containsKey(key))
+                .forEach(key -> System.out.printf("%-70s not run%n", key));
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) allocate more than %s%n", regressions, args[1]);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Результат JMH в виде базы: имя бенчмарка с параметрами -> score, scoreUnit, gc.alloc.rate.norm.
+     */
+    private static Map<String, ObjectNode> readResult(Path path) throws IOException {
+        var benchmarks = new LinkedHashMap<String, ObjectNode>();
+        for (var node : MAPPER.readTree(Files.readString(path))) {
+            var key = new StringBuilder(node.path("benchmark").asText()
+                    .replace("ru.checkdev.mock.benchmark.", ""));
+            node.path("params").fields().forEachRemaining(param ->
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            var primary = node.path("primaryMetric");
+            var trimmed = MAPPER.createObjectNode()
+                    .put("score", primary.path("score").asDouble())
+                    .put("scoreUnit", primary.path("scoreUnit").asText());
+            var allocation = node.path("secondaryMetrics").path(ALLOCATION);
+            if (!allocation.isMissingNode()) {
+                trimmed.put(ALLOCATION, allocation.path("score").asDouble());
+            }
+            benchmarks.put(key.toString(), trimmed);
+        }
+        return benchmarks;
+    }
+
+    private static Map<String, JsonNode> readBaseline(Path path) throws IOException {
+        var benchmarks = new LinkedHashMap<String, JsonNode>();
+        MAPPER.readTree(Files.readString(path)).fields()
+                .forEachRemaining(entry -> benchmarks.put(entry.getKey(), entry.getValue()));
+        return benchmarks;
+    }
+
+    private static String time(JsonNode node) {
+        return String.format("%.1f %s", node.path("score").asDouble(), node.path("scoreUnit").asText());
+    }
+
+    private static String allocation(JsonNode node) {
+        return node.has(ALLOCATION) ? String.format("%.0f", node.path(ALLOCATION).asDouble()) : "-";
+    }
+}
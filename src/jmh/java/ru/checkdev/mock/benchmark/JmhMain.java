@@ -0,0 +1,31 @@
+package ru.checkdev.mock.benchmark;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Запуск JMH из профиля jmh. К аргументам из -Djmh.args добавляется -prof gc, если его там нет:
+ * JmhBaselineCheck сравнивает gc.alloc.rate.norm, а JMH не допускает повторного профилировщика.
+ */
+public final class JmhMain {
+
+    private JmhMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        var arguments = new ArrayList<>(List.of(args));
+        var gcProfiler = false;
+        for (int i = 0; i + 1 < arguments.size(); i++) {
+            if ("-prof".equals(arguments.get(i)) && arguments.get(i + 1).split(":")[0].equals("gc")) {
+                gcProfiler = true;
+            }
+        }
+        if (!gcProfiler) {
+            arguments.add("-prof");
+            arguments.add("gc");
+        }
+        Main.main(arguments.toArray(String[]::new));
+    }
+}
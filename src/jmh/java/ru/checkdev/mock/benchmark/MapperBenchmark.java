@@ -0,0 +1,115 @@
+package ru.checkdev.mock.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.checkdev.mock.domain.Feedback;
+import ru.checkdev.mock.domain.Interview;
+import ru.checkdev.mock.dto.FeedbackDTO;
+import ru.checkdev.mock.dto.InterviewDTO;
+import ru.checkdev.mock.dto.WisherDto;
+import ru.checkdev.mock.mapper.FeedbackMapper;
+import ru.checkdev.mock.mapper.InterviewMapper;
+import ru.checkdev.mock.mapper.WisherMapper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Преобразования DTO <-> сущность на одну строку для InterviewMapper, WisherMapper и FeedbackMapper.
+ * С -prof gc метрика gc.alloc.rate.norm показывает байты на строку.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    static final int ROWS = 1024;
+
+    private final WisherMapper wisherMapper = new WisherMapper();
+
+    private final Interview[] interviews = new Interview[ROWS];
+
+    private final InterviewDTO[] interviewDTOs = new InterviewDTO[ROWS];
+
+    private final WisherDto[] wisherDtos = new WisherDto[ROWS];
+
+    private final Feedback[] feedbacks = new Feedback[ROWS];
+
+    private final FeedbackDTO[] feedbackDTOs = new FeedbackDTO[ROWS];
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < ROWS; i++) {
+            interviews[i] = BenchmarkData.interview(i);
+            interviewDTOs[i] = InterviewMapper.getInterviewDTO(interviews[i]);
+            var wisher = BenchmarkData.wisher(i, interviews[i]);
+            wisherDtos[i] = new WisherDto(wisher.getId(), interviews[i].getId(), wisher.getUserId(),
+                    wisher.getContactBy(), wisher.isApprove());
+            feedbacks[i] = BenchmarkData.feedback(i, interviews[i]);
+            feedbackDTOs[i] = FeedbackMapper.getFeedbackDTO(feedbacks[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void interviewToDto(Blackhole blackhole) {
+        for (Interview interview : interviews) {
+            blackhole.consume(InterviewMapper.getInterviewDTO(interview));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void interviewToEntity(Blackhole blackhole) {
+        for (InterviewDTO interviewDTO : interviewDTOs) {
+            blackhole.consume(InterviewMapper.getInterview(interviewDTO));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void wisherToEntity(Blackhole blackhole) {
+        for (int i = 0; i < ROWS; i++) {
+            blackhole.consume(wisherMapper.getWisher(wisherDtos[i], interviews[i]));
+        }
+    }
+
+    /**
+     * Вариант с InterviewDTO: собеседование собирается из DTO для каждой заявки.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void wisherToEntityFromInterviewDto(Blackhole blackhole) {
+        for (int i = 0; i < ROWS; i++) {
+            blackhole.consume(wisherMapper.getWisher(wisherDtos[i], interviewDTOs[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void feedbackToDto(Blackhole blackhole) {
+        for (Feedback feedback : feedbacks) {
+            blackhole.consume(FeedbackMapper.getFeedbackDTO(feedback));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void feedbackToEntity(Blackhole blackhole) {
+        for (int i = 0; i < ROWS; i++) {
+            blackhole.consume(FeedbackMapper.getFeedback(feedbackDTOs[i], interviews[i]));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package ru.checkdev.mock.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.checkdev.mock.enums.StatusInterview;
+import ru.checkdev.mock.enums.StatusInterviewConverter;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Декодирование статуса собеседования на одну строку: конвертер JPA и прежний поиск через Stream.
+ * С -prof gc метрика gc.alloc.rate.norm показывает байты на строку.
+ * Оба направления InterviewMapper измеряет MapperBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatusInterviewBenchmark {
+
+    static final int ROWS = 1024;
+
+    private final StatusInterviewConverter converter = new StatusInterviewConverter();
+
+    private final Integer[] statusIds = new Integer[ROWS];
+
+    private final StatusInterview[] statuses = new StatusInterview[ROWS];
+
+    @Setup
+    public void setUp() {
+        var random = new Random(1);
+        for (int i = 0; i < ROWS; i++) {
+            statusIds[i] = random.nextInt(StatusInterview.values().length);
+            statuses[i] = StatusInterview.byId(statusIds[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void converterToEntityAttribute(Blackhole blackhole) {
+        for (Integer statusId : statusIds) {
+            blackhole.consume(converter.convertToEntityAttribute(statusId));
+        }
+    }
+
+    /**
+     * Прежняя реализация convertToEntityAttribute, для сравнения.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void streamToEntityAttribute(Blackhole blackhole) {
+        for (Integer statusId : statusIds) {
+            blackhole.consume(Stream.of(StatusInterview.values())
+                    .filter(s -> statusId.equals(s.getId()))
+                    .findFirst()
+                    .orElse(StatusInterview.IS_UNKNOWN));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void converterToDatabaseColumn(Blackhole blackhole) {
+        for (StatusInterview status : statuses) {
+            blackhole.consume(converter.convertToDatabaseColumn(status));
+        }
+    }
+}
@@ -8,12 +8,14 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.ApplicationPidFileWriter;
 import org.springframework.cloud.netflix.eureka.EnableEurekaClient;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import javax.sql.DataSource;
 
 @OpenAPIDefinition(info = @Info(title = "Mock - interview service", description = "Description"))
 @SpringBootApplication
 @EnableEurekaClient
+@EnableScheduling
 public class MockSrv {
     public static void main(String[] args) {
         SpringApplication application = new SpringApplication(MockSrv.class);
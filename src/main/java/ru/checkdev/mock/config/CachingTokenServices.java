@@ -0,0 +1,167 @@
+package ru.checkdev.mock.config;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.common.exceptions.InvalidTokenException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.ResourceServerTokenServices;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Кэш проверенных токенов перед сервисом авторизации (userInfoUri).
+ * Результат проверки хранится по SHA-256 от токена, поэтому повторные
+ * запросы с тем же токеном не обращаются к сервису авторизации.
+ * Запись живет ttlSeconds, но не дольше срока действия токена (exp в ответе userInfoUri), если он известен.
+ * Отзыв токена без exp виден только после ttlSeconds, поэтому ttlSeconds должен быть коротким (по умолчанию 60).
+ * Если задан JwtDecoder, JWT-токены проверяются локально по подписи и сроку действия
+ * и в сервис авторизации не передаются.
+ * Отказы в авторизации не кэшируются.
+ */
+public class CachingTokenServices implements ResourceServerTokenServices {
+
+    private final ResourceServerTokenServices delegate;
+
+    private final JwtDecoder jwtDecoder;
+
+    private final Cache<String, Entry> cache;
+
+    private final Clock clock;
+
+    /**
+     * @param delegate   сервис проверки токена в сервисе авторизации
+     * @param jwtDecoder локальная проверка JWT, null если не используется
+     * @param maxSize    максимальное количество токенов в кэше
+     * @param ttlSeconds время хранения результата проверки
+     */
+    public CachingTokenServices(ResourceServerTokenServices delegate, JwtDecoder jwtDecoder,
+                                long maxSize, long ttlSeconds) {
+        this(delegate, jwtDecoder, maxSize, ttlSeconds, Clock.systemUTC());
+    }
+
+    CachingTokenServices(ResourceServerTokenServices delegate, JwtDecoder jwtDecoder,
+                         long maxSize, long ttlSeconds, Clock clock) {
+        this.delegate = delegate;
+        this.jwtDecoder = jwtDecoder;
+        this.clock = clock;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public OAuth2Authentication loadAuthentication(String accessToken)
+            throws AuthenticationException, InvalidTokenException {
+        if (jwtDecoder != null && isJwt(accessToken)) {
+            return fromJwt(accessToken);
+        }
+        var key = hash(accessToken);
+        var now = clock.instant();
+        var cached = cache.getIfPresent(key);
+        if (cached != null) {
+            if (cached.expiresAt() == null || now.isBefore(cached.expiresAt())) {
+                return cached.authentication();
+            }
+            cache.invalidate(key);
+        }
+        var authentication = delegate.loadAuthentication(accessToken);
+        var expiresAt = expiresAt(authentication);
+        if (expiresAt == null || now.isBefore(expiresAt)) {
+            cache.put(key, new Entry(authentication, expiresAt));
+        }
+        return authentication;
+    }
+
+    @Override
+    public OAuth2AccessToken readAccessToken(String accessToken) {
+        return delegate.readAccessToken(accessToken);
+    }
+
+    /**
+     * Счетчики попаданий и промахов кэша токенов.
+     *
+     * @return CacheStats
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private OAuth2Authentication fromJwt(String accessToken) {
+        Jwt jwt;
+        try {
+            jwt = jwtDecoder.decode(accessToken);
+        } catch (JwtException e) {
+            throw new InvalidTokenException(e.getMessage(), e);
+        }
+        String principal = jwt.hasClaim("user_name") ? jwt.getClaimAsString("user_name") : jwt.getSubject();
+        if (principal == null) {
+            throw new InvalidTokenException("JWT has no user_name or sub claim");
+        }
+        List<String> claimed = jwt.hasClaim("authorities") ? jwt.getClaimAsStringList("authorities") : null;
+        Collection<GrantedAuthority> authorities = claimed == null || claimed.isEmpty()
+                ? AuthorityUtils.createAuthorityList("ROLE_USER")
+                : AuthorityUtils.createAuthorityList(claimed.toArray(String[]::new));
+        List<String> scope = jwt.hasClaim("scope") ? jwt.getClaimAsStringList("scope") : null;
+        var request = new OAuth2Request(null, jwt.getClaimAsString("client_id"), authorities, true,
+                scope == null ? null : new HashSet<>(scope), null, null, null, null);
+        var user = new UsernamePasswordAuthenticationToken(principal, "N/A", authorities);
+        return new OAuth2Authentication(request, user);
+    }
+
+    /**
+     * Срок действия токена из ответа userInfoUri (exp в секундах от эпохи), null если его нет.
+     */
+    private static Instant expiresAt(OAuth2Authentication authentication) {
+        var user = authentication.getUserAuthentication();
+        if (user == null || !(user.getDetails() instanceof Map<?, ?> details)) {
+            return null;
+        }
+        var exp = details.get("exp");
+        if (exp instanceof Number seconds) {
+            return Instant.ofEpochSecond(seconds.longValue());
+        }
+        if (exp instanceof String seconds && seconds.matches("\\d+")) {
+            return Instant.ofEpochSecond(Long.parseLong(seconds));
+        }
+        return null;
+    }
+
+    private static boolean isJwt(String accessToken) {
+        return accessToken.chars().filter(c -> c == '.').count() == 2;
+    }
+
+    private static String hash(String accessToken) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256")
+                    .digest(accessToken.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Entry(OAuth2Authentication authentication, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,113 @@
+package ru.checkdev.mock.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Ограничение числа одновременно обрабатываемых запросов.
+ * На виртуальных потоках пул Tomcat больше не ограничивает конкурентность, и всплеск запросов
+ * превращается в очередь за соединениями к базе данных. Фильтр пропускает не более
+ * server.request-limit.max-concurrent запросов, остальные ждут server.request-limit.wait-millis
+ * и получают 503 с заголовком Retry-After. Запросы /actuator не ограничиваются.
+ * Асинхронный запрос (StreamingResponseBody выгрузок CSV и NDJSON) держит разрешение,
+ * пока не завершится асинхронная обработка, а не до выхода из doFilter.
+ * Фильтр включается вместе с виртуальными потоками (server.virtual-threads.enabled=true):
+ * на пуле Tomcat конкурентность и так ограничена server.tomcat.threads.max.
+ */
+@Component
+@ConditionalOnProperty(name = "server.virtual-threads.enabled", havingValue = "true")
+public class RequestConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+
+    private final long waitMillis;
+
+    public RequestConcurrencyLimitFilter(@Value("${server.request-limit.max-concurrent:200}") int maxConcurrent,
+                                         @Value("${server.request-limit.wait-millis:1000}") long waitMillis) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.waitMillis = waitMillis;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            response.setHeader("Retry-After", "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Too many concurrent requests");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnAsyncEnd());
+            } else {
+                permits.release();
+            }
+        }
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * Возвращает разрешение один раз, когда асинхронная обработка завершилась, упала или истекла.
+     */
+    private class ReleaseOnAsyncEnd implements AsyncListener {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+}
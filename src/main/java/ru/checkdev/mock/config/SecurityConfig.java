@@ -26,6 +26,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 "/filter/**",
                 "/feedback/**",
                 "/swagger-ui/**",
+                "/actuator/health",
                 "/v3/**");
     }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package ru.checkdev.mock.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.ResourceServerProperties;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.UserInfoRestTemplateFactory;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.UserInfoTokenServices;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.provider.token.ResourceServerTokenServices;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Проверка токенов ресурс-сервера: UserInfoTokenServices (userInfoUri) за кэшем CachingTokenServices.
+ * Заменяет UserInfoTokenServices, который создает spring-security-oauth2-autoconfigure.
+ */
+@Configuration
+public class TokenServicesConfig {
+
+    @Bean
+    public ResourceServerTokenServices tokenServices(
+            ResourceServerProperties resource,
+            ObjectProvider<UserInfoRestTemplateFactory> restTemplateFactory,
+            @Value("${security.oauth2.token-cache.max-size:10000}") long maxSize,
+            @Value("${security.oauth2.token-cache.ttl-seconds:60}") long ttlSeconds,
+            @Value("${security.oauth2.token-cache.jwt-secret:}") String jwtSecret) {
+        var userInfo = new UserInfoTokenServices(resource.getUserInfoUri(), resource.getClientId());
+        userInfo.setTokenType(resource.getTokenType());
+        restTemplateFactory.ifAvailable(factory -> userInfo.setRestTemplate(factory.getUserInfoRestTemplate()));
+        var jwtDecoder = jwtSecret.isBlank() ? null : NimbusJwtDecoder
+                .withSecretKey(new SecretKeySpec(jwtSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"))
+                .build();
+        return new CachingTokenServices(userInfo, jwtDecoder, maxSize, ttlSeconds);
+    }
+}
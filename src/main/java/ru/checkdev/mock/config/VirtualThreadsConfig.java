@@ -0,0 +1,46 @@
+package ru.checkdev.mock.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Режим обработки запросов Tomcat на виртуальных потоках, включается свойством
+ * server.virtual-threads.enabled=true и требует Java 21+.
+ * Число одновременных обращений к базе данных ограничивает пул соединений Hikari,
+ * число одновременных запросов - RequestConcurrencyLimitFilter.
+ */
+@Configuration
+@ConditionalOnProperty(name = "server.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer() {
+        var executor = newVirtualThreadPerTaskExecutor();
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor() вызывается через reflection,
+     * так как проект собирается под Java 17.
+     *
+     * @return ExecutorService, создающий виртуальный поток на каждую задачу
+     * @throws IllegalStateException если JVM не поддерживает виртуальные потоки
+     */
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException(
+                    "server.virtual-threads.enabled=true requires Java 21 or later, running on "
+                            + Runtime.version(), e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package ru.checkdev.mock.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+/**
+ * Модель данных описывает количество одобренных заявок пользователя.
+ * Таблица поддерживается ApprovedCounterService при изменении признака approve у участников.
+ */
+@Entity(name = "cd_approved_counter")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApprovedCounter {
+
+    @Id
+    @Column(name = "user_id")
+    private int userId;
+
+    @Column(name = "approved")
+    private long approved;
+}
@@ -20,9 +20,10 @@ import javax.persistence.*;
 public class Feedback {
     @EqualsAndHashCode.Include
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cd_feedback_id_seq")
+    @SequenceGenerator(name = "cd_feedback_id_seq", sequenceName = "cd_feedback_id_seq", allocationSize = 50)
     private int id;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "interview_id", nullable = false)
     private Interview interview;
     @Column(name = "user_id", nullable = false)
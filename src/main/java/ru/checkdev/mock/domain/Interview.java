@@ -1,6 +1,8 @@
 package ru.checkdev.mock.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 import ru.checkdev.mock.enums.StatusInterview;
 
 import javax.persistence.*;
@@ -8,16 +10,22 @@ import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import java.sql.Timestamp;
 
+/**
+ * UPDATE содержит только изменившиеся столбцы: правка названия не переписывает длинное описание.
+ */
 @Entity(name = "interview")
+@DynamicUpdate
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @Data
 @Builder(builderMethodName = "of")
 @AllArgsConstructor
 @NoArgsConstructor
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Interview {
     @Id
     @EqualsAndHashCode.Include
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "interview_id_seq")
+    @SequenceGenerator(name = "interview_id_seq", sequenceName = "interview_id_seq", allocationSize = 50)
     @NotNull(message = "Id must be non null")
     private int id;
     @Column(name = "mode")
@@ -48,4 +56,17 @@ public class Interview {
     private int agreedWisherId;
     @JoinColumn(name = "cancel_by")
     private String cancelBy;
+    /**
+     * Версия строки, увеличивается при каждом изменении (оптимистическая блокировка).
+     */
+    @Version
+    @Column(name = "version")
+    private int version;
+
+    public Interview(int id, int mode, StatusInterview status, int submitterId, String title, String additional,
+                     String contactBy, String approximateDate, Timestamp createDate, Integer topicId,
+                     String author, int agreedWisherId, String cancelBy) {
+        this(id, mode, status, submitterId, title, additional, contactBy, approximateDate, createDate, topicId,
+                author, agreedWisherId, cancelBy, 0);
+    }
 }
@@ -0,0 +1,39 @@
+package ru.checkdev.mock.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import java.io.Serializable;
+
+/**
+ * Модель данных описывает собеседование, на которое пользователь должен оставить отзыв.
+ * Таблица поддерживается PendingFeedbackService при одобрении участников и сохранении отзывов.
+ */
+@Entity(name = "cd_pending_feedback")
+@IdClass(PendingFeedback.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingFeedback {
+
+    @Id
+    @Column(name = "user_id")
+    private int userId;
+
+    @Id
+    @Column(name = "interview_id")
+    private int interviewId;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private int userId;
+        private int interviewId;
+    }
+}
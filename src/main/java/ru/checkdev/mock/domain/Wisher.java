@@ -14,10 +14,15 @@ public class Wisher {
 
     @Id
     @EqualsAndHashCode.Include
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "wisher_id_seq")
+    @SequenceGenerator(name = "wisher_id_seq", sequenceName = "wisher_id_seq", allocationSize = 50)
     private int id;
 
-    @ManyToOne
+    /**
+     * Собеседование загружается лениво. Запросы, которым оно нужно,
+     * подгружают его явно через entity graph или JOIN FETCH.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "interview_id")
     private Interview interview;
 
@@ -31,4 +36,14 @@ public class Wisher {
      */
     @Column(name = "approve")
     private boolean approve;
+    /**
+     * Версия строки, увеличивается при каждом изменении (оптимистическая блокировка).
+     */
+    @Version
+    @Column(name = "version")
+    private int version;
+
+    public Wisher(int id, Interview interview, int userId, String contactBy, boolean approve) {
+        this(id, interview, userId, contactBy, approve, 0);
+    }
 }
@@ -30,7 +30,8 @@ public class FilterRequestParams {
                 && Objects.equals(submitterId, that.submitterId)
                 && Objects.equals(wisherId, that.wisherId)
                 && Objects.equals(agreedWisherId, that.agreedWisherId)
-                && Objects.equals(status, that.status);
+                && Objects.equals(status, that.status)
+                && Objects.equals(mode, that.mode);
     }
 
     @Override
@@ -40,6 +41,21 @@ public class FilterRequestParams {
                 + Objects.hashCode(wisherId)) * 31)
                 + Objects.hashCode(agreedWisherId)) * 31)
                 + Objects.hashCode(status)) * 31)
-                + Objects.hashCode(exclude)) * 31;
+                + Objects.hashCode(mode)) * 31
+                + Objects.hashCode(exclude);
+    }
+
+    /**
+     * Приводит фильтр к каноническому виду: темы отсортированы и без повторов.
+     * Фильтры, отличающиеся только порядком тем, дают одинаковый результат
+     * и после нормализации равны.
+     *
+     * @return новый FilterRequestParams
+     */
+    public FilterRequestParams normalized() {
+        List<Integer> topics = topicIds == null
+                ? List.of()
+                : topicIds.stream().filter(Objects::nonNull).distinct().sorted().toList();
+        return new FilterRequestParams(topics, submitterId, wisherId, agreedWisherId, status, mode, exclude);
     }
 }
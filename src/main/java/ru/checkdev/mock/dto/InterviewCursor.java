@@ -0,0 +1,57 @@
+package ru.checkdev.mock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+
+/**
+ * Курсор для постраничного вывода собеседований методом keyset (seek).
+ * Указывает на последнюю запись страницы: дату создания и ID собеседования.
+ * Клиенту передается в виде непрозрачной строки Base64.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class InterviewCursor {
+    private static final String SEPARATOR = "|";
+
+    private Timestamp createDate;
+    private int id;
+
+    /**
+     * Курсор на переданное собеседование.
+     *
+     * @param interviewDTO последнее собеседование страницы
+     * @return InterviewCursor
+     */
+    public static InterviewCursor of(InterviewDTO interviewDTO) {
+        return new InterviewCursor(Timestamp.valueOf(interviewDTO.getCreateDate()), interviewDTO.getId());
+    }
+
+    public String encode() {
+        var value = createDate.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Разбирает строку курсора.
+     *
+     * @param cursor строка, полученная из encode()
+     * @return InterviewCursor
+     * @throws IllegalArgumentException если строка не является курсором
+     */
+    public static InterviewCursor decode(String cursor) {
+        var value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int index = value.lastIndexOf(SEPARATOR);
+        if (index < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return new InterviewCursor(
+                Timestamp.valueOf(value.substring(0, index)),
+                Integer.parseInt(value.substring(index + 1)));
+    }
+}
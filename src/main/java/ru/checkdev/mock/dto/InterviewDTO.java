@@ -4,6 +4,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import ru.checkdev.mock.enums.StatusInterview;
+
+import java.sql.Timestamp;
+import java.util.Date;
 
 /**
  * CheckDev пробное собеседование
@@ -15,7 +19,7 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder(builderMethodName = "of")
+@Builder(builderMethodName = "of", toBuilder = true)
 public class InterviewDTO {
     private int id;
     private int mode;
@@ -41,4 +45,38 @@ public class InterviewDTO {
      * поле причины отмены собеседования
      */
     private String cancelBy;
-}
\ No newline at end of file
+    /**
+     * Версия собеседования. Если передана при обновлении, собеседование обновляется
+     * только при совпадении с текущей версией.
+     */
+    private Integer version;
+
+    /**
+     * Конструктор для JPQL выражения new ru.checkdev.mock.dto.InterviewDTO(...).
+     * Позволяет читать DTO напрямую из базы данных, без загрузки сущности Interview.
+     */
+    public InterviewDTO(int id, int mode, StatusInterview status, int submitterId, int agreedWisherId,
+                        String title, String additional, String contactBy, String approximateDate,
+                        Date createDate, Integer topicId, String author, String cancelBy, int version) {
+        var statusInterview = status == null ? StatusInterview.IS_UNKNOWN : status;
+        this.id = id;
+        this.mode = mode;
+        this.statusId = statusInterview.getId();
+        this.statusInfo = statusInterview.getInfo();
+        this.submitterId = submitterId;
+        this.agreedWisherId = agreedWisherId;
+        this.title = title;
+        this.additional = additional;
+        this.contactBy = contactBy;
+        this.approximateDate = approximateDate;
+        this.createDate = createDate == null ? null : toTimestamp(createDate).toString();
+        this.topicId = topicId;
+        this.author = author;
+        this.cancelBy = cancelBy;
+        this.version = version;
+    }
+
+    private static Timestamp toTimestamp(Date date) {
+        return date instanceof Timestamp timestamp ? timestamp : new Timestamp(date.getTime());
+    }
+}
@@ -0,0 +1,25 @@
+package ru.checkdev.mock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Частичное изменение собеседования (PATCH).
+ * Поле со значением null не меняется. Статус меняется только через смену статуса,
+ * автор заявки и выбранный участник через PATCH не меняются.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(builderMethodName = "of")
+public class InterviewPatchDTO {
+    private Integer mode;
+    private String title;
+    private String additional;
+    private String contactBy;
+    private String approximateDate;
+    private Integer topicId;
+    private String author;
+}
@@ -0,0 +1,46 @@
+package ru.checkdev.mock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Позиция собеседования в результатах полнотекстового поиска: релевантность и ID.
+ * Результаты упорядочены по убыванию (rank, id), поэтому последняя позиция страницы
+ * служит курсором следующей. Клиенту передается в виде непрозрачной строки Base64.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class InterviewSearchCursor {
+    private static final String SEPARATOR = "|";
+
+    private float rank;
+    private int id;
+
+    public String encode() {
+        var value = Float.toString(rank) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Разбирает строку курсора.
+     *
+     * @param cursor строка, полученная из encode()
+     * @return InterviewSearchCursor
+     * @throws IllegalArgumentException если строка не является курсором
+     */
+    public static InterviewSearchCursor decode(String cursor) {
+        var value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int index = value.lastIndexOf(SEPARATOR);
+        if (index < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return new InterviewSearchCursor(
+                Float.parseFloat(value.substring(0, index)),
+                Integer.parseInt(value.substring(index + 1)));
+    }
+}
@@ -0,0 +1,16 @@
+package ru.checkdev.mock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Страница результатов полнотекстового поиска и курсор следующей страницы.
+ * Курсор равен null, если страница последняя.
+ */
+@Data
+@AllArgsConstructor
+public class InterviewSearchResult {
+    private Slice<InterviewDTO> slice;
+    private String nextCursor;
+}
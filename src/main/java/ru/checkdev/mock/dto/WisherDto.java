@@ -26,4 +26,13 @@ public class WisherDto {
      * Поле определяет одобрен участник на собеседование или нет.
      */
     private boolean approve;
+    /**
+     * Версия участника. Если передана при обновлении, участник обновляется
+     * только при совпадении с текущей версией.
+     */
+    private Integer version;
+
+    public WisherDto(int id, int interviewId, int userId, String contactBy, boolean approve) {
+        this(id, interviewId, userId, contactBy, approve, null);
+    }
 }
@@ -0,0 +1,66 @@
+package ru.checkdev.mock.enums;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Таблицы, которые выгружаются и загружаются целиком (/bulk/{table}).
+ * Порядок колонок фиксирован и одинаков для COPY в Postgres и для пакетной вставки,
+ * поэтому выгрузку из одной базы можно загрузить в другую.
+ * Версии interview и wisher переносятся вместе с данными, чтобы ETag, полученные клиентами, оставались верными.
+ * Загружать нужно в порядке объявления: interview раньше wisher и cd_feedback.
+ */
+public enum BulkTable {
+    INTERVIEW("interview", List.of("id", "mode", "status", "submitter_id", "title", "additional",
+            "contact_by", "approximate_date", "create_date", "topic_id", "author",
+            "agreed_wisher_id", "cancel_by", "version")),
+
+    WISHER("wisher", List.of("id", "interview_id", "user_id", "contact_by", "approve", "version")),
+
+    FEEDBACK("cd_feedback", List.of("id", "interview_id", "user_id", "role_in_interview",
+            "text_feedback", "scope"));
+
+    private final String table;
+    private final List<String> columns;
+
+    BulkTable(String table, List<String> columns) {
+        this.table = table;
+        this.columns = columns;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Таблица по имени в базе данных.
+     *
+     * @param table имя таблицы, например cd_feedback
+     * @return BulkTable
+     * @throws IllegalArgumentException таблица не выгружается
+     */
+    public static BulkTable of(String table) {
+        return Arrays.stream(values())
+                .filter(bulkTable -> bulkTable.table.equalsIgnoreCase(table))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown bulk table: " + table));
+    }
+
+    /**
+     * @return последовательность id таблицы
+     */
+    public String sequence() {
+        return table + "_id_seq";
+    }
+
+    /**
+     * @return список колонок через запятую
+     */
+    public String columnList() {
+        return String.join(", ", columns);
+    }
+}
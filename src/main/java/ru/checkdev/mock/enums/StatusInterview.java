@@ -1,5 +1,10 @@
 package ru.checkdev.mock.enums;
 
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * CheckDev пробное собеседование
  * StatusInterviews enum класс описывает статусы интервью.
@@ -16,6 +21,10 @@ package ru.checkdev.mock.enums;
  * 3 - Ожидает отзыв IS_FEEDBACK.
  * 4 - Завершено IS_COMPLETED.
  * 5 - Отменено IS_CANCELED.
+ * Допустимые переходы: IS_NEW -> IN_PROGRESS -> IS_FEEDBACK -> IS_COMPLETED,
+ * IN_PROGRESS -> IS_COMPLETED (оба отзыва сразу), IS_NEW и IN_PROGRESS -> IS_CANCELED.
+ * Собеседование, сохраненное без статуса (IS_UNKNOWN), переходит в другие статусы как IS_NEW.
+ * В IN_PROGRESS собеседование переводит только одобрение участника, вместе с записью agreedWisherId.
  *
  * @author Dmitry Stepanov
  * @version 20.11.2023 15:23
@@ -33,6 +42,35 @@ public enum StatusInterview {
 
     IS_CANCELED(5, "Отменено");
 
+    private static final Map<StatusInterview, List<StatusInterview>> SOURCES = new EnumMap<>(StatusInterview.class);
+
+    static {
+        SOURCES.put(IS_UNKNOWN, List.of());
+        SOURCES.put(IS_NEW, List.of());
+        SOURCES.put(IN_PROGRESS, List.of(IS_UNKNOWN, IS_NEW, IN_PROGRESS));
+        SOURCES.put(IS_FEEDBACK, List.of(IN_PROGRESS));
+        SOURCES.put(IS_COMPLETED, List.of(IN_PROGRESS, IS_FEEDBACK));
+        SOURCES.put(IS_CANCELED, List.of(IS_UNKNOWN, IS_NEW, IN_PROGRESS));
+    }
+
+    /**
+     * Статусы по ID: BY_ID[id]. Пропуски в нумерации заполнены IS_UNKNOWN.
+     */
+    private static final StatusInterview[] BY_ID;
+
+    static {
+        var values = values();
+        var maxId = 0;
+        for (var status : values) {
+            maxId = Math.max(maxId, status.id);
+        }
+        BY_ID = new StatusInterview[maxId + 1];
+        Arrays.fill(BY_ID, IS_UNKNOWN);
+        for (var status : values) {
+            BY_ID[status.id] = status;
+        }
+    }
+
     private final int id;
     private final String info;
 
@@ -48,5 +86,45 @@ public enum StatusInterview {
     public String getInfo() {
         return info;
     }
-}
 
+    /**
+     * Статус по ID без перебора и создания объектов: один доступ к массиву.
+     * Используется везде, где статус читается из базы или из DTO.
+     *
+     * @param id ID статуса
+     * @return StatusInterview, IS_UNKNOWN для неизвестного ID
+     */
+    public static StatusInterview byId(int id) {
+        return id >= 0 && id < BY_ID.length ? BY_ID[id] : IS_UNKNOWN;
+    }
+
+    /**
+     * ID статуса для записи в базу или в DTO.
+     *
+     * @param status статус, может быть null
+     * @return ID статуса, ID IS_UNKNOWN для null
+     */
+    public static int idOf(StatusInterview status) {
+        return status == null ? IS_UNKNOWN.id : status.id;
+    }
+
+    /**
+     * Статусы, из которых собеседование может перейти в этот статус.
+     * Вернуться в IS_NEW нельзя, повторное одобрение другого участника оставляет IN_PROGRESS.
+     *
+     * @return List<StatusInterview>, пустой если переход в статус запрещен
+     */
+    public List<StatusInterview> sources() {
+        return SOURCES.get(this);
+    }
+
+    /**
+     * Переход в статус выполняется только вместе с записью одобренного участника
+     * (WisherService.approveWisher), а не простой сменой статуса.
+     *
+     * @return true для IN_PROGRESS
+     */
+    public boolean requiresAgreedWisher() {
+        return this == IN_PROGRESS;
+    }
+}
@@ -2,7 +2,6 @@ package ru.checkdev.mock.enums;
 
 import javax.persistence.AttributeConverter;
 import javax.persistence.Converter;
-import java.util.stream.Stream;
 
 /**
  * Конвертор для сохранения значения Enum StatusInterview в базу данных.
@@ -21,14 +20,13 @@ public class StatusInterviewConverter implements AttributeConverter<StatusInterv
      */
     @Override
     public Integer convertToDatabaseColumn(StatusInterview statusInterview) {
-        if (statusInterview == null) {
-            return StatusInterview.IS_UNKNOWN.getId();
-        }
-        return statusInterview.getId();
+        return StatusInterview.idOf(statusInterview);
     }
 
     /**
-     * Если передаем null, то возвращаем статус IS_UNKNOWN
+     * Если передаем null или неизвестный ID, то возвращаем статус IS_UNKNOWN.
+     * Вызывается для каждой загруженной строки interview, поэтому поиск идет по массиву StatusInterview.byId
+     * без создания объектов.
      *
      * @param statusId the data from the database column to be
      *                 converted
@@ -39,9 +37,6 @@ public class StatusInterviewConverter implements AttributeConverter<StatusInterv
         if (statusId == null) {
             return StatusInterview.IS_UNKNOWN;
         }
-        return Stream.of(StatusInterview.values())
-                .filter(s -> statusId.equals(s.getId()))
-                .findFirst()
-                .orElse(StatusInterview.IS_UNKNOWN);
+        return StatusInterview.byId(statusId);
     }
 }
@@ -0,0 +1,18 @@
+package ru.checkdev.mock.enums;
+
+/**
+ * Результат смены статуса собеседования.
+ * APPLIED - статус изменен.
+ * UNCHANGED - собеседование уже в этом статусе, ничего не изменено.
+ * REJECTED - текущий статус не допускает перехода в новый.
+ * NOT_FOUND - собеседования нет.
+ */
+public enum StatusTransition {
+    APPLIED,
+
+    UNCHANGED,
+
+    REJECTED,
+
+    NOT_FOUND
+}
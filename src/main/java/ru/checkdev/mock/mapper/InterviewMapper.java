@@ -2,8 +2,8 @@ package ru.checkdev.mock.mapper;
 
 import ru.checkdev.mock.domain.Interview;
 import ru.checkdev.mock.dto.InterviewDTO;
+import ru.checkdev.mock.dto.InterviewPatchDTO;
 import ru.checkdev.mock.enums.StatusInterview;
-import ru.checkdev.mock.enums.StatusInterviewConverter;
 
 /**
  * CheckDev пробное собеседование
@@ -13,10 +13,8 @@ import ru.checkdev.mock.enums.StatusInterviewConverter;
  * @version 20.11.2023 22:03
  */
 public class InterviewMapper {
-    private static final StatusInterviewConverter CONVERTER = new StatusInterviewConverter();
-
     public static Interview getInterview(InterviewDTO interviewDTO) {
-        StatusInterview statusInterview = CONVERTER.convertToEntityAttribute(interviewDTO.getStatusId());
+        StatusInterview statusInterview = StatusInterview.byId(interviewDTO.getStatusId());
         return Interview.of()
                 .id(interviewDTO.getId())
                 .mode(interviewDTO.getMode())
@@ -30,12 +28,13 @@ public class InterviewMapper {
                 .author(interviewDTO.getAuthor())
                 .agreedWisherId(interviewDTO.getAgreedWisherId())
                 .cancelBy(interviewDTO.getCancelBy())
+                .version(interviewDTO.getVersion() == null ? 0 : interviewDTO.getVersion())
                 .build();
     }
 
     public static InterviewDTO getInterviewDTO(Interview interview) {
-        int statusID = getStatusIdByStatusInterview(interview.getStatus());
-        StatusInterview statusInterview = getStatusInterviewById(statusID);
+        StatusInterview statusInterview = interview.getStatus() == null
+                ? StatusInterview.IS_UNKNOWN : interview.getStatus();
         return InterviewDTO.of()
                 .id(interview.getId())
                 .mode(interview.getMode())
@@ -51,14 +50,46 @@ public class InterviewMapper {
                 .topicId(interview.getTopicId())
                 .author(interview.getAuthor())
                 .cancelBy(interview.getCancelBy())
+                .version(interview.getVersion())
                 .build();
     }
 
+    /**
+     * Переносит в собеседование заполненные поля частичного изменения.
+     * Поля, значение которых не изменилось, не трогаются, поэтому Hibernate не включает их в UPDATE.
+     *
+     * @param interview собеседование
+     * @param patch     InterviewPatchDTO
+     */
+    public static void patchInterview(Interview interview, InterviewPatchDTO patch) {
+        if (patch.getMode() != null) {
+            interview.setMode(patch.getMode());
+        }
+        if (patch.getTitle() != null) {
+            interview.setTitle(patch.getTitle());
+        }
+        if (patch.getAdditional() != null) {
+            interview.setAdditional(patch.getAdditional());
+        }
+        if (patch.getContactBy() != null) {
+            interview.setContactBy(patch.getContactBy());
+        }
+        if (patch.getApproximateDate() != null) {
+            interview.setApproximateDate(patch.getApproximateDate());
+        }
+        if (patch.getTopicId() != null) {
+            interview.setTopicId(patch.getTopicId());
+        }
+        if (patch.getAuthor() != null) {
+            interview.setAuthor(patch.getAuthor());
+        }
+    }
+
     public static StatusInterview getStatusInterviewById(int statusId) {
-        return CONVERTER.convertToEntityAttribute(statusId);
+        return StatusInterview.byId(statusId);
     }
 
     public static Integer getStatusIdByStatusInterview(StatusInterview statusInterview) {
-        return CONVERTER.convertToDatabaseColumn(statusInterview);
+        return StatusInterview.idOf(statusInterview);
     }
 }
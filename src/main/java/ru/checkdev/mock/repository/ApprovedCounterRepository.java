@@ -0,0 +1,118 @@
+package ru.checkdev.mock.repository;
+
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import ru.checkdev.mock.domain.ApprovedCounter;
+import ru.checkdev.mock.dto.UsersApprovedInterviewsDTO;
+
+import javax.persistence.LockModeType;
+import java.util.List;
+import java.util.Optional;
+
+public interface ApprovedCounterRepository extends CrudRepository<ApprovedCounter, Integer> {
+
+    /**
+     * Метод формирует список id пользователей с количеством одобренных заявок по счетчикам.
+     *
+     * @return List<UsersApprovedInterviewsDTO>
+     */
+    @Query("""
+            SELECT new ru.checkdev.mock.dto.UsersApprovedInterviewsDTO (c.userId, c.approved)
+            FROM cd_approved_counter c
+            WHERE c.approved > 0""")
+    List<UsersApprovedInterviewsDTO> findAllDto();
+
+    /**
+     * Метод формирует DTO с id пользователя и количеством одобренных заявок по счетчику.
+     *
+     * @param userId int
+     * @return Optional<UsersApprovedInterviewsDTO>
+     */
+    @Query("""
+            SELECT new ru.checkdev.mock.dto.UsersApprovedInterviewsDTO (c.userId, c.approved)
+            FROM cd_approved_counter c
+            WHERE c.userId = :userId AND c.approved > 0""")
+    Optional<UsersApprovedInterviewsDTO> findDtoByUserId(@Param("userId") int userId);
+
+    /**
+     * Создает счетчик пользователя, если его еще нет.
+     *
+     * @param userId int
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO cd_approved_counter (user_id, approved) VALUES (:userId, 0) ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    void insertIfMissing(@Param("userId") int userId);
+
+    /**
+     * Удаляет все счетчики. Используется перед полным пересчетом.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM cd_approved_counter", nativeQuery = true)
+    void deleteAllRows();
+
+    /**
+     * Заполняет счетчики всех пользователей по таблице wisher одним запросом.
+     *
+     * @return количество добавленных счетчиков
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO cd_approved_counter (user_id, approved)
+            SELECT w.user_id, COUNT(*) FROM wisher w WHERE w.approve GROUP BY w.user_id
+            """, nativeQuery = true)
+    int insertAllCounted();
+
+    /**
+     * Пользователи, у которых счетчик расходится с агрегатом по таблице wisher, по возрастанию id.
+     * Сравнение выполняется в базе, возвращаются только расходящиеся пользователи.
+     *
+     * @return List<Integer>
+     */
+    @Query(value = """
+            SELECT e.user_id
+            FROM (SELECT w.user_id, COUNT(*) AS approved FROM wisher w WHERE w.approve GROUP BY w.user_id) e
+                     LEFT JOIN cd_approved_counter c ON c.user_id = e.user_id
+            WHERE c.approved IS NULL OR c.approved <> e.approved
+            UNION
+            SELECT c.user_id
+            FROM cd_approved_counter c
+            WHERE c.approved > 0
+              AND NOT EXISTS(SELECT 1 FROM wisher w WHERE w.user_id = c.user_id AND w.approve)
+            ORDER BY 1
+            """, nativeQuery = true)
+    List<Integer> findOutOfSyncUserIds();
+
+    /**
+     * Блокирует счетчик пользователя до конца транзакции, чтобы пересчеты одного пользователя
+     * выполнялись по очереди и последний видел все зафиксированные изменения.
+     *
+     * @param userId int
+     * @return Optional<ApprovedCounter>
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM cd_approved_counter c WHERE c.userId = :userId")
+    Optional<ApprovedCounter> lockByUserId(@Param("userId") int userId);
+
+    /**
+     * Пересчитывает счетчик пользователя по таблице wisher.
+     * Перед запросом сбрасываются несохраненные изменения wisher; контекст вызывающей транзакции
+     * не очищается, чтобы ее сущности не отсоединялись.
+     *
+     * @param userId int
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE cd_approved_counter c
+            SET c.approved = (SELECT COUNT(w) FROM wisher w WHERE w.userId = :userId AND w.approve = true)
+            WHERE c.userId = :userId""")
+    void recount(@Param("userId") int userId);
+}
@@ -1,7 +1,7 @@
 package ru.checkdev.mock.repository;
 
+import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.checkdev.mock.domain.Feedback;
@@ -17,7 +17,7 @@ import java.util.List;
  * @since 25.10.2023
  */
 @Repository
-public interface FeedbackRepository extends CrudRepository<Feedback, Integer> {
+public interface FeedbackRepository extends JpaRepository<Feedback, Integer> {
 
     /**
      * Метод возвращает список FeedbackDTO по ID Interview
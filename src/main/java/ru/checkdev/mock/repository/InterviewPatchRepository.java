@@ -0,0 +1,24 @@
+package ru.checkdev.mock.repository;
+
+import ru.checkdev.mock.domain.Interview;
+import ru.checkdev.mock.dto.InterviewPatchDTO;
+
+import java.util.Optional;
+
+/**
+ * Частичное изменение собеседования.
+ */
+public interface InterviewPatchRepository {
+
+    /**
+     * Меняет заполненные поля собеседования. В UPDATE попадают только изменившиеся столбцы и версия,
+     * если ничего не изменилось, UPDATE не выполняется.
+     *
+     * @param interviewId ID interview
+     * @param patch       InterviewPatchDTO
+     * @param version     ожидаемая версия или null, если версия не проверяется
+     * @return Optional<Interview> измененное собеседование, пустой Optional, если собеседования нет
+     * @throws org.springframework.dao.OptimisticLockingFailureException версия не совпала с текущей
+     */
+    Optional<Interview> patch(int interviewId, InterviewPatchDTO patch, Integer version);
+}
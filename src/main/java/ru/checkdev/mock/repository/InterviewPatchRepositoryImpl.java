@@ -0,0 +1,36 @@
+package ru.checkdev.mock.repository;
+
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.annotation.Transactional;
+import ru.checkdev.mock.domain.Interview;
+import ru.checkdev.mock.dto.InterviewPatchDTO;
+import ru.checkdev.mock.mapper.InterviewMapper;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Optional;
+
+/**
+ * Реализация InterviewPatchRepository. Собеседование читается и меняется в одной короткой транзакции,
+ * изменившиеся столбцы пишет Hibernate (Interview помечено @DynamicUpdate) с проверкой версии в WHERE.
+ */
+public class InterviewPatchRepositoryImpl implements InterviewPatchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public Optional<Interview> patch(int interviewId, InterviewPatchDTO patch, Integer version) {
+        var interview = entityManager.find(Interview.class, interviewId);
+        if (interview == null) {
+            return Optional.empty();
+        }
+        if (version != null && interview.getVersion() != version) {
+            throw new ObjectOptimisticLockingFailureException(Interview.class, interviewId);
+        }
+        InterviewMapper.patchInterview(interview, patch);
+        entityManager.flush();
+        return Optional.of(interview);
+    }
+}
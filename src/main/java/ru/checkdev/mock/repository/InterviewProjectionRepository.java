@@ -0,0 +1,34 @@
+package ru.checkdev.mock.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import ru.checkdev.mock.domain.Interview;
+import ru.checkdev.mock.dto.InterviewDTO;
+import ru.checkdev.mock.enums.StatusInterview;
+
+/**
+ * Чтение InterviewDTO по спецификации фильтра и по связи с пользователем без загрузки сущностей Interview.
+ */
+public interface InterviewProjectionRepository {
+
+    /**
+     * Страница InterviewDTO, удовлетворяющих спецификации.
+     *
+     * @param specification спецификация фильтра
+     * @param pageable      страница
+     * @return Page<InterviewDTO>
+     */
+    Page<InterviewDTO> findAllDto(Specification<Interview> specification, Pageable pageable);
+
+    /**
+     * Собеседования, связанные с пользователем (InterviewRepository.USER_RELATED_IDS), в виде InterviewDTO.
+     * Порядок фиксирован: create_date DESC, id DESC, сортировка из pageable не применяется.
+     *
+     * @param userId   ID пользователя
+     * @param status   статус собеседования
+     * @param pageable страница
+     * @return Page<InterviewDTO>
+     */
+    Page<InterviewDTO> findDtoByUserIdRelated(int userId, StatusInterview status, Pageable pageable);
+}
@@ -0,0 +1,114 @@
+package ru.checkdev.mock.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+import ru.checkdev.mock.domain.Interview;
+import ru.checkdev.mock.dto.InterviewDTO;
+import ru.checkdev.mock.enums.StatusInterview;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.List;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+/**
+ * Реализация InterviewProjectionRepository на Criteria API и SQL.
+ * Выбираются только колонки, необходимые для InterviewDTO.
+ */
+public class InterviewProjectionRepositoryImpl implements InterviewProjectionRepository {
+
+    private static final String DTO_COLUMNS = "i.id, i.mode, i.status, i.submitter_id, i.agreed_wisher_id,"
+            + " i.title, i.additional, i.contact_by, i.approximate_date, i.create_date,"
+            + " i.topic_id, i.author, i.cancel_by, i.version";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<InterviewDTO> findAllDto(Specification<Interview> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<InterviewDTO> query = cb.createQuery(InterviewDTO.class);
+        Root<Interview> root = query.from(Interview.class);
+        query.select(cb.construct(InterviewDTO.class,
+                root.get("id"), root.get("mode"), root.get("status"), root.get("submitterId"),
+                root.get("agreedWisherId"), root.get("title"), root.get("additional"),
+                root.get("contactBy"), root.get("approximateDate"), root.get("createDate"),
+                root.get("topicId"), root.get("author"), root.get("cancelBy"), root.get("version")));
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(toOrders(pageable.getSort(), root, cb));
+        }
+        var typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable,
+                () -> count(specification));
+    }
+
+    /**
+     * Запрос на SQL: JPQL не поддерживает UNION, а условие с OR не использует индексы,
+     * см. InterviewRepository.USER_RELATED_IDS.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
+    public Page<InterviewDTO> findDtoByUserIdRelated(int userId, StatusInterview status, Pageable pageable) {
+        var query = entityManager.createNativeQuery("SELECT " + DTO_COLUMNS + " FROM interview i"
+                        + " WHERE i.id IN (" + InterviewRepository.USER_RELATED_IDS + ")"
+                        + " ORDER BY i.create_date DESC, i.id DESC")
+                .setParameter("userId", userId)
+                .setParameter("status", status.getId());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<Object[]> rows = query.getResultList();
+        return PageableExecutionUtils.getPage(rows.stream().map(this::toDto).toList(), pageable,
+                () -> ((Number) entityManager.createNativeQuery(
+                                "SELECT count(*) FROM (" + InterviewRepository.USER_RELATED_IDS + ") r")
+                        .setParameter("userId", userId)
+                        .setParameter("status", status.getId())
+                        .getSingleResult()).longValue());
+    }
+
+    private long count(Specification<Interview> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Interview> root = query.from(Interview.class);
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(cb.count(root));
+        query.orderBy(Collections.emptyList());
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private InterviewDTO toDto(Object[] row) {
+        return new InterviewDTO(intValue(row[0]), intValue(row[1]),
+                row[2] == null ? null : StatusInterview.byId(intValue(row[2])),
+                intValue(row[3]), intValue(row[4]),
+                (String) row[5], (String) row[6], (String) row[7], (String) row[8], (Timestamp) row[9],
+                row[10] == null ? null : intValue(row[10]), (String) row[11], (String) row[12], intValue(row[13]));
+    }
+
+    private static int intValue(Object value) {
+        return value == null ? 0 : ((Number) value).intValue();
+    }
+}
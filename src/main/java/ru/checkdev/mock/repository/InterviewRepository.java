@@ -2,83 +2,245 @@ package ru.checkdev.mock.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 import ru.checkdev.mock.domain.Interview;
+import ru.checkdev.mock.dto.InterviewDTO;
 import ru.checkdev.mock.enums.StatusInterview;
 
+import javax.persistence.QueryHint;
+import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface InterviewRepository extends JpaRepository<Interview, Integer> {
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
-    @Query("SELECT i FROM interview i"
-            + " WHERE i.submitterId=:userId"
-            + " OR i.status=:status"
-            + " OR i.id IN (:interviewIds)"
-    )
-    Page<Interview> findAllByUserIdRelated(@Param("userId") int userId,
-                                           @Param("status") StatusInterview status,
-                                           @Param("interviewIds") List<Integer> interviewIds,
-                                           Pageable pageable);
+/**
+ * Запросы, объявленные в интерфейсе, выполняются в транзакции только для чтения,
+ * если у метода не указано иное.
+ */
+@Transactional(readOnly = true)
+public interface InterviewRepository extends JpaRepository<Interview, Integer>, InterviewProjectionRepository,
+        InterviewSearchRepository, InterviewPatchRepository {
 
-    List<Interview> findByMode(int mode);
+    /**
+     * JPQL выражение для чтения InterviewDTO напрямую, без загрузки сущности Interview.
+     */
+    String INTERVIEW_DTO = "new ru.checkdev.mock.dto.InterviewDTO(i.id, i.mode, i.status, i.submitterId,"
+            + " i.agreedWisherId, i.title, i.additional, i.contactBy, i.approximateDate, i.createDate,"
+            + " i.topicId, i.author, i.cancelBy, i.version)";
+
+    /**
+     * INTERVIEW_DTO, в котором собеседованию без темы назначается тема 1.
+     * Так читают собеседования только findAll и findByMode.
+     */
+    String INTERVIEW_DTO_DEFAULT_TOPIC = "new ru.checkdev.mock.dto.InterviewDTO(i.id, i.mode, i.status,"
+            + " i.submitterId, i.agreedWisherId, i.title, i.additional, i.contactBy, i.approximateDate,"
+            + " i.createDate, COALESCE(i.topicId, 1), i.author, i.cancelBy, i.version)";
+
+    /**
+     * SQL выборки ID собеседований, связанных с пользователем: созданных им, имеющих указанный статус,
+     * или тех, в которых он одобренный участник.
+     * Каждая ветка UNION читает свой индекс (submitter_id, (status, create_date), (user_id, approve, interview_id)),
+     * тогда как одно условие с OR по разным столбцам приводит к полному чтению interview.
+     */
+    String USER_RELATED_IDS = "SELECT s.id FROM interview s WHERE s.submitter_id = :userId"
+            + " UNION SELECT n.id FROM interview n WHERE n.status = :status"
+            + " UNION SELECT w.interview_id FROM wisher w WHERE w.user_id = :userId AND w.approve";
 
     /**
-     * Метод обновляет статус собеседования.
+     * Потоковое чтение всех собеседований для выгрузки.
+     * Должен вызываться в транзакции, поток необходимо закрыть.
      *
-     * @param id     ID Interview
-     * @param status Status
+     * @return Stream<InterviewDTO>
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT " + INTERVIEW_DTO + " FROM interview i")
+    Stream<InterviewDTO> streamAllDto();
+
+    /**
+     * Потоковое чтение собеседований с указанным типом для выгрузки.
+     * Должен вызываться в транзакции, поток необходимо закрыть.
+     *
+     * @param mode тип собеседования
+     * @return Stream<InterviewDTO>
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT " + INTERVIEW_DTO + " FROM interview i WHERE i.mode = :mode")
+    Stream<InterviewDTO> streamDtoByMode(@Param("mode") int mode);
+
+    /**
+     * Метод меняет статус собеседования, если текущий статус входит в expected (compare-and-set).
+     * Проверка и запись выполняются одним UPDATE, без чтения строки и без блокировок на время проверки.
+     *
+     * @param id       ID Interview
+     * @param status   новый статус
+     * @param expected статусы, из которых допустим переход
+     * @return количество измененных собеседований, 0 или 1
      */
     @Modifying
     @Transactional
-    @Query(value = "UPDATE interview i SET i.status=:status WHERE i.id=:id")
-    void updateStatus(@Param("id") int id, @Param("status") StatusInterview status);
+    @Query(value = "UPDATE interview i SET i.status = :status, i.version = i.version + 1"
+            + " WHERE i.id = :id AND i.status IN :expected")
+    int updateStatus(@Param("id") int id,
+                     @Param("status") StatusInterview status,
+                     @Param("expected") Collection<StatusInterview> expected);
 
     /**
-     * Возвращает все собеседования на который пользователь должен оставить отзыв.
-     * nativeQuery = true;
-     * Описание построения запроса:
-     * Через внутренние объединения получаем список всех собеседований,
-     * которые присутствуют в таблице wisher с признаком approve=true,
-     * а также которые принадлежат указанному пользователю.
-     * Конечная выборка получает все ID собеседований которых нет в таблице cd_feedback.
-     * Ожидаемое поведение: пользователь не владелец собеседования,
-     * но он одобренный участник и не оставил отзыв, метод вернет список с ID этого собеседования.
-     * Пользователь является автором собеседования и он одобрил участника и не оставил отзыв,
-     * метод вернет список с ID этого собеседования.
-     * Так же если пользователь уже оставил отзыв на собеседование с ID то это собеседование не попадает в выборку.
+     * Завершает собеседования, по которым оставили отзывы и автор, и одобренный участник.
      *
-     * @param userId ID User
-     * @return List<Interview>
+     * @param ids      ID собеседований
+     * @param status   статус завершенного собеседования
+     * @param expected статусы, из которых допустим переход
+     * @return количество измененных собеседований
      */
-    @Query(value = """
-            SELECT DISTINCT i.*
-            FROM interview i
-                     JOIN wisher w ON i.id = w.interview_id AND w.approve AND (i.submitter_id = :userId OR w.user_id = :userId)
-            WHERE NOT EXISTS(SELECT 1
-                             FROM cd_feedback cf
-                             WHERE cf.interview_id = i.id
-                               AND cf.user_id = :userId)
-            """, nativeQuery = true)
-    List<Interview> findAllByUserIdWisherIsApproveAndNoFeedback(@Param("userId") int userId);
+    @Modifying
+    @Transactional
+    @Query("UPDATE interview i SET i.status = :status, i.version = i.version + 1"
+            + " WHERE i.id IN :ids AND i.status IN :expected"
+            + " AND EXISTS (SELECT f.id FROM cd_feedback f WHERE f.interview.id = i.id AND f.userId = i.submitterId)"
+            + " AND EXISTS (SELECT f.id FROM cd_feedback f WHERE f.interview.id = i.id AND f.userId = i.agreedWisherId)")
+    int updateStatusByBothFeedbacks(@Param("ids") Collection<Integer> ids,
+                                    @Param("status") StatusInterview status,
+                                    @Param("expected") Collection<StatusInterview> expected);
 
     /**
-     * Получаем из базы ТРИ последние интервью отсортированные по убыванию по дате их создания.
+     * Переводит в ожидание отзыва собеседования, по которым оставил отзыв автор или одобренный участник.
      *
-     * @return LIST из ТРЕХ последних интервью
+     * @param ids      ID собеседований
+     * @param status   статус ожидания отзыва
+     * @param expected статусы, из которых допустим переход
+     * @return количество измененных собеседований
      */
-    List<Interview> findAllByStatusOrderByCreateDateDesc(StatusInterview status, Pageable pageable);
+    @Modifying
+    @Transactional
+    @Query("UPDATE interview i SET i.status = :status, i.version = i.version + 1"
+            + " WHERE i.id IN :ids AND i.status IN :expected"
+            + " AND EXISTS (SELECT f.id FROM cd_feedback f WHERE f.interview.id = i.id"
+            + " AND f.userId IN (i.submitterId, i.agreedWisherId))")
+    int updateStatusByAnyFeedback(@Param("ids") Collection<Integer> ids,
+                                  @Param("status") StatusInterview status,
+                                  @Param("expected") Collection<StatusInterview> expected);
 
     /**
-     * Получаем из базы новые интервью по статусу.
+     * Метод записывает в собеседование одобренного участника (его ID пользователя) и новый статус.
+     * Собеседование не изменяется, если участник с wisherId не относится к нему
+     * или текущий статус не входит в expected.
      *
-     * @return LIST из новых интервью
+     * @param interviewId ID interview
+     * @param wisherId    ID одобренного wisher
+     * @param status      новый статус собеседования
+     * @param expected    статусы, из которых допустим переход
+     * @return количество измененных собеседований, 0 или 1
      */
-    List<Interview> findAllByStatus(StatusInterview status);
+    @Transactional
+    @Modifying
+    @Query("UPDATE interview i SET i.status = :status, i.version = i.version + 1,"
+            + " i.agreedWisherId = (SELECT w.userId FROM wisher w WHERE w.id = :wisherId AND w.interview.id = :interviewId)"
+            + " WHERE i.id = :interviewId AND i.status IN :expected"
+            + " AND EXISTS (SELECT w.id FROM wisher w WHERE w.id = :wisherId AND w.interview.id = :interviewId)")
+    int setAgreedWisher(@Param("interviewId") int interviewId,
+                        @Param("wisherId") int wisherId,
+                        @Param("status") StatusInterview status,
+                        @Param("expected") Collection<StatusInterview> expected);
+
+    /**
+     * Метод снимает с собеседования одобренного участника и записывает новый статус.
+     * Собеседование не изменяется, если его одобренный участник не пользователь участника с wisherId
+     * или текущий статус не входит в expected.
+     *
+     * @param interviewId ID interview
+     * @param wisherId    ID wisher, с которого снимается одобрение
+     * @param status      новый статус собеседования
+     * @param expected    статусы, из которых допустим переход
+     * @return количество измененных собеседований, 0 или 1
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE interview i SET i.status = :status, i.version = i.version + 1, i.agreedWisherId = 0"
+            + " WHERE i.id = :interviewId AND i.status IN :expected"
+            + " AND i.agreedWisherId = (SELECT w.userId FROM wisher w WHERE w.id = :wisherId AND w.interview.id = :interviewId)")
+    int clearAgreedWisher(@Param("interviewId") int interviewId,
+                          @Param("wisherId") int wisherId,
+                          @Param("status") StatusInterview status,
+                          @Param("expected") Collection<StatusInterview> expected);
+
+    /**
+     * Метод проверяет, что участник с wisherId - одобренный участник собеседования.
+     *
+     * @param interviewId ID interview
+     * @param wisherId    ID wisher
+     * @return true, если agreedWisherId собеседования - пользователь участника
+     */
+    @Query("SELECT COUNT(i) > 0 FROM interview i WHERE i.id = :interviewId"
+            + " AND i.agreedWisherId = (SELECT w.userId FROM wisher w WHERE w.id = :wisherId AND w.interview.id = :interviewId)")
+    boolean isAgreedWisher(@Param("interviewId") int interviewId, @Param("wisherId") int wisherId);
+
+    /**
+     * Собеседования, на которые пользователь должен оставить отзыв, по таблице cd_pending_feedback.
+     *
+     * @param userId ID User
+     * @return List<InterviewDTO>
+     */
+    @Query("SELECT " + INTERVIEW_DTO + " FROM interview i"
+            + " WHERE i.id IN (SELECT p.interviewId FROM cd_pending_feedback p WHERE p.userId = :userId)")
+    List<InterviewDTO> findDtoPendingFeedback(@Param("userId") int userId);
 
     Page<Interview> findAll(Specification<Interview> specification, Pageable pageable);
+
+    @Query("SELECT " + INTERVIEW_DTO + " FROM interview i WHERE i.id = :id")
+    Optional<InterviewDTO> findDtoById(@Param("id") int id);
+
+    @Query("SELECT " + INTERVIEW_DTO_DEFAULT_TOPIC + " FROM interview i")
+    List<InterviewDTO> findAllDto();
+
+    @Query("SELECT " + INTERVIEW_DTO + " FROM interview i WHERE i.id IN :ids")
+    List<InterviewDTO> findDtoByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query(value = "SELECT " + INTERVIEW_DTO + " FROM interview i",
+            countQuery = "SELECT count(i) FROM interview i")
+    Page<InterviewDTO> findAllDto(Pageable pageable);
+
+    @Query("SELECT " + INTERVIEW_DTO_DEFAULT_TOPIC + " FROM interview i WHERE i.mode = :mode")
+    List<InterviewDTO> findDtoByMode(@Param("mode") int mode);
+
+    @Query("SELECT " + INTERVIEW_DTO + " FROM interview i WHERE i.status = :status ORDER BY i.createDate DESC")
+    List<InterviewDTO> findDtoByStatusOrderByCreateDateDesc(@Param("status") StatusInterview status,
+                                                            Pageable pageable);
+
+    @Query("SELECT " + INTERVIEW_DTO + " FROM interview i WHERE i.status = :status")
+    List<InterviewDTO> findDtoByStatus(@Param("status") StatusInterview status);
+
+    /**
+     * Первая страница постраничного вывода по курсору в виде InterviewDTO.
+     *
+     * @param pageable размер страницы
+     * @return Slice<InterviewDTO>
+     */
+    @Query("SELECT " + INTERVIEW_DTO + " FROM interview i ORDER BY i.createDate DESC, i.id DESC")
+    Slice<InterviewDTO> findDtoSlice(Pageable pageable);
+
+    /**
+     * Следующая страница после курсора (create_date, id) в виде InterviewDTO.
+     * Условие create_date <= :createDate ограничивает просмотр индекса idx_interview_create_date_id.
+     *
+     * @param createDate дата создания последнего собеседования предыдущей страницы
+     * @param id         ID последнего собеседования предыдущей страницы
+     * @param pageable   размер страницы
+     * @return Slice<InterviewDTO>
+     */
+    @Query("SELECT " + INTERVIEW_DTO + " FROM interview i"
+            + " WHERE i.createDate <= :createDate AND (i.createDate < :createDate OR i.id < :id)"
+            + " ORDER BY i.createDate DESC, i.id DESC")
+    Slice<InterviewDTO> findDtoSliceBeforeCursor(@Param("createDate") Timestamp createDate,
+                                                 @Param("id") int id,
+                                                 Pageable pageable);
 }
@@ -0,0 +1,21 @@
+package ru.checkdev.mock.repository;
+
+import ru.checkdev.mock.dto.InterviewSearchCursor;
+
+import java.util.List;
+
+/**
+ * Полнотекстовый поиск собеседований по названию, описанию и текстам отзывов.
+ */
+public interface InterviewSearchRepository {
+
+    /**
+     * Найденные собеседования по убыванию релевантности, при равной релевантности по убыванию ID.
+     *
+     * @param query поисковая строка
+     * @param after позиция, после которой начинается страница, null для первой страницы
+     * @param limit количество позиций
+     * @return List<InterviewSearchCursor> ID и релевантность найденных собеседований
+     */
+    List<InterviewSearchCursor> search(String query, InterviewSearchCursor after, int limit);
+}
@@ -0,0 +1,124 @@
+package ru.checkdev.mock.repository;
+
+import org.hibernate.Session;
+import org.postgresql.PGConnection;
+import org.springframework.transaction.annotation.Transactional;
+import ru.checkdev.mock.dto.InterviewSearchCursor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Реализация InterviewSearchRepository.
+ * На Postgres поиск идет по столбцам search_vector с индексами GIN (034_ddl_add_column_search_vector.sql):
+ * совпадения в собеседованиях и в отзывах выбираются по индексам отдельно и складываются по ID собеседования,
+ * релевантность считает ts_rank, совпадение в отзыве весит вдвое меньше.
+ * На остальных базах (H2 в тестах) tsvector нет, поэтому каждое слово запроса (только буквы и цифры) ищется через LIKE
+ * с постоянными весами: название 1.0, описание 0.4, отзыв 0.2. Порядок выдачи и курсоры одинаковы для обеих веток.
+ */
+public class InterviewSearchRepositoryImpl implements InterviewSearchRepository {
+
+    private static final String POSTGRES_SEARCH = """
+            WITH query AS (SELECT websearch_to_tsquery('russian', :query) AS q),
+                 interview_hits AS (SELECT i.id, ts_rank(i.search_vector, query.q) AS rank
+                                    FROM interview i, query
+                                    WHERE i.search_vector @@ query.q),
+                 feedback_hits AS (SELECT f.interview_id AS id, MAX(ts_rank(f.search_vector, query.q)) * 0.5 AS rank
+                                   FROM cd_feedback f, query
+                                   WHERE f.search_vector @@ query.q
+                                   GROUP BY f.interview_id),
+                 ranked AS (SELECT id, CAST(SUM(rank) AS real) AS rank
+                            FROM (SELECT * FROM interview_hits UNION ALL SELECT * FROM feedback_hits) hits
+                            GROUP BY id)
+            SELECT id, rank FROM ranked
+            """;
+
+    /**
+     * Подзапросы вместо WITH: H2 2.1 теряет параметры в цепочке из нескольких WITH.
+     */
+    private static final String FALLBACK_SEARCH = """
+            SELECT id, rank
+            FROM (SELECT id, CAST(SUM(rank) AS REAL) AS rank
+                  FROM (SELECT i.id, CASE WHEN %1$s THEN 1.0 ELSE 0.4 END AS rank
+                        FROM interview i
+                        WHERE %2$s
+                        UNION ALL
+                        SELECT DISTINCT f.interview_id, 0.2
+                        FROM cd_feedback f
+                        WHERE %3$s) hits
+                  GROUP BY id) ranked
+            """;
+
+    private static final String AFTER_CURSOR = " WHERE rank < :rank OR (rank = :rank AND id < :id)";
+
+    private static final String ORDER_AND_LIMIT = " ORDER BY rank DESC, id DESC LIMIT :limit";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Boolean postgres;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<InterviewSearchCursor> search(String query, InterviewSearchCursor after, int limit) {
+        String[] words = {};
+        String sql;
+        if (isPostgres()) {
+            sql = POSTGRES_SEARCH;
+        } else {
+            words = words(query);
+            if (words.length == 0) {
+                return List.of();
+            }
+            sql = String.format(FALLBACK_SEARCH,
+                    likeAll("i.title", words.length),
+                    likeAll("CONCAT_WS(' ', i.title, i.additional)", words.length),
+                    likeAll("f.text_feedback", words.length));
+        }
+        if (after != null) {
+            sql += AFTER_CURSOR;
+        }
+        var nativeQuery = entityManager.createNativeQuery(sql + ORDER_AND_LIMIT)
+                .setParameter("limit", limit);
+        if (words.length == 0) {
+            nativeQuery.setParameter("query", query);
+        }
+        for (int i = 0; i < words.length; i++) {
+            nativeQuery.setParameter("w" + i, "%" + words[i] + "%");
+        }
+        if (after != null) {
+            nativeQuery.setParameter("rank", after.getRank()).setParameter("id", after.getId());
+        }
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = nativeQuery.getResultList();
+        return rows.stream()
+                .map(row -> new InterviewSearchCursor(((Number) row[1]).floatValue(), ((Number) row[0]).intValue()))
+                .toList();
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = entityManager.unwrap(Session.class)
+                    .doReturningWork(connection -> connection.isWrapperFor(PGConnection.class));
+        }
+        return postgres;
+    }
+
+    private static String[] words(String query) {
+        return Arrays.stream(query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    private static String likeAll(String column, int words) {
+        return IntStream.range(0, words)
+                .mapToObj(i -> "LOWER(" + column + ") LIKE :w" + i)
+                .collect(Collectors.joining(" AND "));
+    }
+}
@@ -0,0 +1,154 @@
+package ru.checkdev.mock.repository;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import ru.checkdev.mock.domain.PendingFeedback;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface PendingFeedbackRepository extends CrudRepository<PendingFeedback, PendingFeedback.Key> {
+
+    /**
+     * Блокирует строку собеседования до конца транзакции, чтобы пересчеты одного собеседования
+     * выполнялись по очереди.
+     *
+     * @param interviewId ID interview
+     * @return ID собеседования или пустой Optional, если его нет
+     */
+    @Query(value = "SELECT i.id FROM interview i WHERE i.id = :interviewId FOR UPDATE", nativeQuery = true)
+    Optional<Integer> lockInterview(@Param("interviewId") int interviewId);
+
+    /**
+     * Удаляет все ожидаемые отзывы собеседования.
+     *
+     * @param interviewId ID interview
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM cd_pending_feedback p WHERE p.interviewId = :interviewId")
+    void deleteByInterviewId(@Param("interviewId") int interviewId);
+
+    /**
+     * Заполняет ожидаемые отзывы собеседования: автор и одобренные участники,
+     * если у собеседования есть одобренный участник, без пользователей, уже оставивших отзыв.
+     *
+     * @param interviewId ID interview
+     * @return количество добавленных записей
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO cd_pending_feedback (user_id, interview_id)
+            SELECT p.user_id, :interviewId
+            FROM (SELECT i.submitter_id AS user_id
+                  FROM interview i
+                  WHERE i.id = :interviewId
+                    AND EXISTS(SELECT 1 FROM wisher w WHERE w.interview_id = i.id AND w.approve)
+                  UNION
+                  SELECT w.user_id
+                  FROM wisher w
+                  WHERE w.interview_id = :interviewId
+                    AND w.approve) p
+            WHERE NOT EXISTS(SELECT 1
+                             FROM cd_feedback cf
+                             WHERE cf.interview_id = :interviewId
+                               AND cf.user_id = p.user_id)
+            """, nativeQuery = true)
+    int insertForInterview(@Param("interviewId") int interviewId);
+
+    /**
+     * Удаляет ожидаемые отзывы собеседований, по которым отзыв уже есть в cd_feedback.
+     *
+     * @param interviewIds ID interview
+     * @return количество удаленных записей
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM cd_pending_feedback p
+            WHERE p.interview_id IN (:interviewIds)
+              AND EXISTS(SELECT 1
+                         FROM cd_feedback cf
+                         WHERE cf.interview_id = p.interview_id
+                           AND cf.user_id = p.user_id)
+            """, nativeQuery = true)
+    int deleteAnswered(@Param("interviewIds") Collection<Integer> interviewIds);
+
+    /**
+     * Удаляет все записи таблицы. Используется перед полным пересчетом.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM cd_pending_feedback", nativeQuery = true)
+    void deleteAllRows();
+
+    /**
+     * Заполняет таблицу по interview, wisher и cd_feedback одним запросом.
+     *
+     * @return количество добавленных записей
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO cd_pending_feedback (user_id, interview_id)
+            SELECT w.user_id, w.interview_id FROM wisher w WHERE w.approve
+            UNION
+            SELECT i.submitter_id, i.id FROM interview i
+            WHERE EXISTS(SELECT 1 FROM wisher w WHERE w.interview_id = i.id AND w.approve)
+            EXCEPT
+            SELECT cf.user_id, cf.interview_id FROM cd_feedback cf
+            """, nativeQuery = true)
+    int insertAllExpected();
+
+    /**
+     * Удаляет ожидаемый отзыв пользователя о собеседовании.
+     *
+     * @param userId      ID User
+     * @param interviewId ID interview
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM cd_pending_feedback p WHERE p.userId = :userId AND p.interviewId = :interviewId")
+    void deleteByUserIdAndInterviewId(@Param("userId") int userId, @Param("interviewId") int interviewId);
+
+    /**
+     * Расхождения таблицы с данными interview, wisher и cd_feedback, вычисленные в базе:
+     * пары, которых не хватает, и лишние пары, сгруппированные по собеседованию.
+     * Собеседование может встретиться дважды, если у него есть и недостающие, и лишние пары.
+     *
+     * @return List<Object[]> {interview_id, количество расходящихся пар}
+     */
+    @Query(value = """
+            SELECT m.interview_id, COUNT(*)
+            FROM (SELECT e.user_id, e.interview_id
+                  FROM (SELECT w.user_id, w.interview_id FROM wisher w WHERE w.approve
+                        UNION
+                        SELECT i.submitter_id, i.id FROM interview i
+                        WHERE EXISTS(SELECT 1 FROM wisher w WHERE w.interview_id = i.id AND w.approve)
+                        EXCEPT
+                        SELECT cf.user_id, cf.interview_id FROM cd_feedback cf) e
+                  EXCEPT
+                  SELECT p.user_id, p.interview_id FROM cd_pending_feedback p) m
+            GROUP BY m.interview_id
+            UNION ALL
+            SELECT x.interview_id, COUNT(*)
+            FROM (SELECT p.user_id, p.interview_id FROM cd_pending_feedback p
+                  EXCEPT
+                  SELECT e.user_id, e.interview_id
+                  FROM (SELECT w.user_id, w.interview_id FROM wisher w WHERE w.approve
+                        UNION
+                        SELECT i.submitter_id, i.id FROM interview i
+                        WHERE EXISTS(SELECT 1 FROM wisher w WHERE w.interview_id = i.id AND w.approve)
+                        EXCEPT
+                        SELECT cf.user_id, cf.interview_id FROM cd_feedback cf) e) x
+            GROUP BY x.interview_id
+            """, nativeQuery = true)
+    List<Object[]> findMismatches();
+
+    List<PendingFeedback> findAll();
+}
@@ -2,9 +2,12 @@ package ru.checkdev.mock.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 import ru.checkdev.mock.domain.Interview;
@@ -12,15 +15,37 @@ import ru.checkdev.mock.domain.Wisher;
 import ru.checkdev.mock.dto.UsersApprovedInterviewsDTO;
 import ru.checkdev.mock.dto.WisherDto;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface WisherRepository extends CrudRepository<Wisher, Integer> {
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
+public interface WisherRepository extends JpaRepository<Wisher, Integer> {
+
+    /**
+     * Участники собеседования вместе с самим собеседованием одним запросом.
+     *
+     * @param interview Interview
+     * @return List<Wisher>
+     */
+    @EntityGraph(attributePaths = "interview")
     List<Wisher> findByInterview(Interview interview);
 
+    /**
+     * Все участники вместе с собеседованиями одним запросом,
+     * без отдельного select на каждое собеседование.
+     *
+     * @return List<Wisher>
+     */
+    @EntityGraph(attributePaths = "interview")
     List<Wisher> findAll();
 
+    @Override
+    @EntityGraph(attributePaths = "interview")
+    Optional<Wisher> findById(Integer id);
+
     /**
      * Метод нативным запросом формирует список всех участников собеседований,
      * возвращая список DTO моделей WisherDTO
@@ -39,6 +64,49 @@ public interface WisherRepository extends CrudRepository<Wisher, Integer> {
     @Query("SELECT new ru.checkdev.mock.dto.WisherDto(w.id, w.interview.id, w.userId, w.contactBy, w.approve) FROM wisher w")
     List<WisherDto> findAllWiserDto();
 
+    /**
+     * Страница участников после указанного id (keyset pagination) вместе с собеседованиями.
+     * Собеседования загружаются тем же запросом, без отдельного запроса на каждого участника.
+     *
+     * @param afterId  id последнего участника предыдущей страницы, 0 для первой страницы
+     * @param pageable размер страницы
+     * @return Slice<Wisher>
+     */
+    @Query("SELECT w FROM wisher w LEFT JOIN FETCH w.interview WHERE w.id > :afterId ORDER BY w.id")
+    Slice<Wisher> findSliceAfter(@Param("afterId") int afterId, Pageable pageable);
+
+    /**
+     * Страница DTO участников после указанного id (keyset pagination).
+     *
+     * @param afterId  id последнего участника предыдущей страницы, 0 для первой страницы
+     * @param pageable размер страницы
+     * @return Slice<WisherDto>
+     */
+    @Query("SELECT new ru.checkdev.mock.dto.WisherDto(w.id, w.interview.id, w.userId, w.contactBy, w.approve)"
+            + " FROM wisher w WHERE w.id > :afterId ORDER BY w.id")
+    Slice<WisherDto> findDtoSliceAfter(@Param("afterId") int afterId, Pageable pageable);
+
+    /**
+     * Потоковое чтение всех участников вместе с собеседованиями для выгрузки.
+     * Поток должен быть закрыт и читаться внутри транзакции.
+     *
+     * @return Stream<Wisher>
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT w FROM wisher w LEFT JOIN FETCH w.interview ORDER BY w.id")
+    Stream<Wisher> streamAllWithInterview();
+
+    /**
+     * Потоковое чтение DTO всех участников для выгрузки.
+     * Поток должен быть закрыт и читаться внутри транзакции.
+     *
+     * @return Stream<WisherDto>
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new ru.checkdev.mock.dto.WisherDto(w.id, w.interview.id, w.userId, w.contactBy, w.approve)"
+            + " FROM wisher w ORDER BY w.id")
+    Stream<WisherDto> streamAllDto();
+
     /**
      * Метод устанавливает одобренному участнику approved, признак одобрен или нет.
      *
@@ -48,11 +116,28 @@ public interface WisherRepository extends CrudRepository<Wisher, Integer> {
      */
     @Transactional
     @Modifying
-    @Query(value = "UPDATE wisher w SET w.approve =:approve WHERE w.interview.id=:interviewId AND w.id=:wisherId ")
+    @Query(value = "UPDATE wisher w SET w.approve =:approve, w.version = w.version + 1"
+            + " WHERE w.interview.id=:interviewId AND w.id=:wisherId ")
     void setWisherApprove(@Param("interviewId") int interviewId,
                           @Param("wisherId") int wisherId,
                           @Param("approve") boolean approve);
 
+    /**
+     * Метод одобряет выбранного участника собеседования и снимает одобрение
+     * со всех остальных участников этого собеседования одним запросом.
+     *
+     * @param interviewId ID interview
+     * @param wisherId    ID одобряемого wisher
+     * @return количество измененных участников
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE wisher w SET w.approve = CASE WHEN w.id = :wisherId THEN true ELSE false END,"
+            + " w.version = w.version + 1"
+            + " WHERE w.interview.id = :interviewId")
+    int approveOnly(@Param("interviewId") int interviewId,
+                    @Param("wisherId") int wisherId);
+
     /**
      * @param userId   int
      * @param pageable Pageable
@@ -62,7 +147,27 @@ public interface WisherRepository extends CrudRepository<Wisher, Integer> {
     Page<Interview> findInterviewByUserIdApproved(@Param("userId") int userId, Pageable pageable);
 
     /**
-     * Метод формирует список id пользователей с количеством их проведенных собеседований
+     * Пользователь заявки по данным базы. В отличие от findById не возвращает сущность из контекста
+     * постоянства, поэтому показывает пользователя до несохраненных изменений участника.
+     *
+     * @param id ID wisher
+     * @return Optional<Integer>
+     */
+    @Query("SELECT w.userId FROM wisher w WHERE w.id = :id")
+    Optional<Integer> findUserIdById(@Param("id") int id);
+
+    /**
+     * Метод возвращает id пользователей, подавших заявку на собеседование, по возрастанию.
+     *
+     * @param interviewId ID interview
+     * @return List<Integer>
+     */
+    @Query("SELECT DISTINCT w.userId FROM wisher w WHERE w.interview.id = :interviewId ORDER BY w.userId")
+    List<Integer> findUserIdsByInterviewId(@Param("interviewId") int interviewId);
+
+    /**
+     * Метод формирует список id пользователей с количеством их проведенных собеседований.
+     * Полный агрегат по таблице wisher, используется для проверки cd_approved_counter.
      *
      * @return List<UsersApprovedInterviewsDTO>
      */
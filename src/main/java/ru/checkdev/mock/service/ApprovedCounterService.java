@@ -0,0 +1,98 @@
+package ru.checkdev.mock.service;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.checkdev.mock.repository.ApprovedCounterRepository;
+import ru.checkdev.mock.repository.WisherRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Поддержка таблицы cd_approved_counter - количества одобренных заявок пользователей.
+ * Счетчик пользователя пересчитывается при изменении признака approve у его заявок,
+ * ежедневная проверка сравнивает счетчики с агрегатом по таблице wisher.
+ */
+@Service
+@AllArgsConstructor
+@Slf4j
+public class ApprovedCounterService {
+
+    private final ApprovedCounterRepository approvedCounterRepository;
+
+    private final WisherRepository wisherRepository;
+
+    /**
+     * Пересчитывает счетчик пользователя.
+     *
+     * @param userId ID User
+     */
+    @Transactional
+    public void refreshUser(int userId) {
+        approvedCounterRepository.insertIfMissing(userId);
+        approvedCounterRepository.lockByUserId(userId);
+        approvedCounterRepository.recount(userId);
+    }
+
+    /**
+     * Пересчитывает счетчики всех пользователей, подавших заявку на собеседование.
+     *
+     * @param interviewId ID interview
+     */
+    @Transactional
+    public void refreshInterviewUsers(int interviewId) {
+        refreshUsers(findInterviewUsers(interviewId));
+    }
+
+    /**
+     * Пересчитывает счетчики пользователей по возрастанию id, чтобы блокировки брались в одном порядке.
+     *
+     * @param userIds ID пользователей
+     */
+    @Transactional
+    public void refreshUsers(Collection<Integer> userIds) {
+        new TreeSet<>(userIds).forEach(this::refreshUser);
+    }
+
+    /**
+     * Пользователи, подавшие заявку на собеседование.
+     *
+     * @param interviewId ID interview
+     * @return ID пользователей по возрастанию
+     */
+    public List<Integer> findInterviewUsers(int interviewId) {
+        return wisherRepository.findUserIdsByInterviewId(interviewId);
+    }
+
+    /**
+     * Пересчитывает все счетчики одним запросом, например после массовой загрузки wisher.
+     *
+     * @return количество пользователей с одобренными заявками
+     */
+    @Transactional
+    public int rebuild() {
+        approvedCounterRepository.deleteAllRows();
+        return approvedCounterRepository.insertAllCounted();
+    }
+
+    /**
+     * Сравнивает счетчики с агрегатом по таблице wisher и пересчитывает расходящихся пользователей.
+     * Сравнение выполняется в базе, в память читаются только id расходящихся пользователей.
+     *
+     * @return количество пользователей с расхождением
+     */
+    @Scheduled(cron = "${approved-counter.check-cron:0 45 3 * * *}")
+    @Transactional
+    public int check() {
+        var userIds = approvedCounterRepository.findOutOfSyncUserIds();
+        if (!userIds.isEmpty()) {
+            log.warn("Approved counters out of sync for users {}", userIds);
+            refreshUsers(userIds);
+        }
+        return userIds.size();
+    }
+}
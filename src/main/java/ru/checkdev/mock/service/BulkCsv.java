@@ -0,0 +1,233 @@
+package ru.checkdev.mock.service;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * CSV в формате COPY ... WITH (FORMAT csv) Postgres: разделитель запятая, кавычки ",
+ * NULL - пустое значение без кавычек, пустая строка - "".
+ * Строки читаются и пишутся по одной, весь файл в памяти не хранится.
+ */
+final class BulkCsv {
+
+    private BulkCsv() {
+    }
+
+    /**
+     * Записывает строку таблицы.
+     *
+     * @param writer поток
+     * @param values значения колонок, null - NULL
+     * @throws IOException ошибка записи
+     */
+    static void writeRow(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            var value = values[i];
+            if (value == null) {
+                continue;
+            }
+            if (value.isEmpty() || needsQuotes(value)) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write('\n');
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Последовательное чтение строк CSV.
+     */
+    static final class RowReader {
+
+        private final Reader reader;
+
+        private int lookahead = -2;
+
+        RowReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * @return значения следующей строки или null, если строки закончились
+         * @throws IOException ошибка чтения или незакрытая кавычка
+         */
+        List<String> next() throws IOException {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            var values = new ArrayList<String>();
+            var value = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (c == '"') {
+                    quoted = true;
+                    readQuoted(value);
+                    c = read();
+                    continue;
+                }
+                if (c == ',' || c == '\n' || c == '\r' || c == -1) {
+                    values.add(quoted || value.length() > 0 ? value.toString() : null);
+                    value.setLength(0);
+                    quoted = false;
+                    if (c == ',') {
+                        c = read();
+                        continue;
+                    }
+                    if (c == '\r') {
+                        int next = read();
+                        if (next != '\n') {
+                            lookahead = next;
+                        }
+                    }
+                    return values;
+                }
+                value.append((char) c);
+                c = read();
+            }
+        }
+
+        private void readQuoted(StringBuilder value) throws IOException {
+            while (true) {
+                int c = read();
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted value");
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next != '"') {
+                        lookahead = next;
+                        return;
+                    }
+                }
+                value.append((char) c);
+            }
+        }
+
+        private int read() throws IOException {
+            if (lookahead != -2) {
+                int c = lookahead;
+                lookahead = -2;
+                return c;
+            }
+            return reader.read();
+        }
+    }
+
+    /**
+     * Считает строки CSV в потоке байт: перевод строки вне кавычек завершает строку.
+     * Каждые every строк сообщает общее количество в onProgress.
+     */
+    static final class RowCounter {
+
+        private final long every;
+
+        private final LongConsumer onProgress;
+
+        private boolean inQuotes;
+
+        private long rows;
+
+        RowCounter(long every, LongConsumer onProgress) {
+            this.every = every;
+            this.onProgress = onProgress;
+        }
+
+        void accept(byte[] bytes, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                if (bytes[i] == '"') {
+                    inQuotes = !inQuotes;
+                } else if (bytes[i] == '\n' && !inQuotes) {
+                    rows++;
+                    if (rows % every == 0) {
+                        onProgress.accept(rows);
+                    }
+                }
+            }
+        }
+
+        long rows() {
+            return rows;
+        }
+    }
+
+    /**
+     * Выходной поток, считающий записанные строки CSV.
+     */
+    static final class CountingOutputStream extends FilterOutputStream {
+
+        private final RowCounter counter;
+
+        CountingOutputStream(OutputStream out, RowCounter counter) {
+            super(out);
+            this.counter = counter;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            counter.accept(new byte[] {(byte) b}, 0, 1);
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            counter.accept(b, off, len);
+            out.write(b, off, len);
+        }
+    }
+
+    /**
+     * Входной поток, считающий прочитанные строки CSV.
+     */
+    static final class CountingInputStream extends FilterInputStream {
+
+        private final RowCounter counter;
+
+        CountingInputStream(InputStream in, RowCounter counter) {
+            super(in);
+            this.counter = counter;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b != -1) {
+                counter.accept(new byte[] {(byte) b}, 0, 1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = in.read(b, off, len);
+            if (read > 0) {
+                counter.accept(b, off, read);
+            }
+            return read;
+        }
+    }
+}
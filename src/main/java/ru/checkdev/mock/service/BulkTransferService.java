@@ -0,0 +1,235 @@
+package ru.checkdev.mock.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ru.checkdev.mock.enums.BulkTable;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Collections;
+import java.util.function.LongConsumer;
+
+/**
+ * Массовая выгрузка и загрузка таблиц interview, wisher и cd_feedback в CSV.
+ * На Postgres данные передаются через COPY, на остальных базах (H2 в тестах)
+ * выгрузка читает таблицу курсором, а загрузка вставляет строки пакетами по bulk.batch-size.
+ * В обоих случаях строки идут потоком, расход памяти не зависит от размера таблицы.
+ * Загрузка вместе с переустановкой последовательности id выполняется одной транзакцией:
+ * при ошибке в таблице не остается ни одной строки из CSV, а производные таблицы остаются согласованными с данными.
+ * Каждые bulk.progress-every строк прогресс пишется в лог.
+ */
+@Service
+@Slf4j
+public class BulkTransferService {
+
+    private final DataSource dataSource;
+    private final PendingFeedbackService pendingFeedbackService;
+    private final ApprovedCounterService approvedCounterService;
+    private final InterviewFeedCache feedCache;
+    private final InterviewPageCache pageCache;
+    private final int batchSize;
+    private final long progressEvery;
+
+    public BulkTransferService(DataSource dataSource,
+                               PendingFeedbackService pendingFeedbackService,
+                               ApprovedCounterService approvedCounterService,
+                               InterviewFeedCache feedCache,
+                               InterviewPageCache pageCache,
+                               @Value("${bulk.batch-size:1000}") int batchSize,
+                               @Value("${bulk.progress-every:100000}") long progressEvery) {
+        this.dataSource = dataSource;
+        this.pendingFeedbackService = pendingFeedbackService;
+        this.approvedCounterService = approvedCounterService;
+        this.feedCache = feedCache;
+        this.pageCache = pageCache;
+        this.batchSize = batchSize;
+        this.progressEvery = progressEvery;
+    }
+
+    /**
+     * Выгружает таблицу в CSV.
+     *
+     * @param table таблица
+     * @param out   поток
+     * @return количество выгруженных строк
+     * @throws IOException ошибка записи или чтения базы данных
+     */
+    public long export(BulkTable table, OutputStream out) throws IOException {
+        return export(table, out, rows -> { });
+    }
+
+    /**
+     * Выгружает таблицу в CSV.
+     *
+     * @param table    таблица
+     * @param out      поток
+     * @param progress получает количество выгруженных строк каждые bulk.progress-every строк
+     * @return количество выгруженных строк
+     * @throws IOException ошибка записи или чтения базы данных
+     */
+    public long export(BulkTable table, OutputStream out, LongConsumer progress) throws IOException {
+        var counter = new BulkCsv.RowCounter(progressEvery, rows -> report("Exported", table, rows, progress));
+        var counting = new BulkCsv.CountingOutputStream(out, counter);
+        try (Connection connection = dataSource.getConnection()) {
+            if (connection.isWrapperFor(PGConnection.class)) {
+                connection.unwrap(PGConnection.class).getCopyAPI().copyOut(
+                        "COPY " + table.getTable() + " (" + table.columnList() + ") TO STDOUT WITH (FORMAT csv)",
+                        counting);
+            } else {
+                exportRows(connection, table, counting);
+            }
+        } catch (SQLException e) {
+            throw new IOException("Export of " + table.getTable() + " failed", e);
+        }
+        counting.flush();
+        log.info("Exported {}: {} rows", table.getTable(), counter.rows());
+        return counter.rows();
+    }
+
+    /**
+     * Загружает CSV в таблицу одной транзакцией. Id строк сохраняются, после загрузки последовательность id
+     * продолжается с максимального значения. Таблицы cd_pending_feedback и cd_approved_counter
+     * пересчитываются, кэши собеседований сбрасываются. При ошибке таблица не меняется.
+     *
+     * @param table таблица
+     * @param in    поток CSV
+     * @return количество загруженных строк
+     * @throws IOException ошибка чтения или записи в базу данных
+     */
+    public long load(BulkTable table, InputStream in) throws IOException {
+        return load(table, in, rows -> { });
+    }
+
+    /**
+     * Загружает CSV в таблицу.
+     *
+     * @param table    таблица
+     * @param in       поток CSV
+     * @param progress получает количество загруженных строк каждые bulk.progress-every строк
+     * @return количество загруженных строк
+     * @throws IOException ошибка чтения или записи в базу данных
+     */
+    public long load(BulkTable table, InputStream in, LongConsumer progress) throws IOException {
+        long rows;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                if (connection.isWrapperFor(PGConnection.class)) {
+                    var counter = new BulkCsv.RowCounter(progressEvery,
+                            count -> report("Loaded", table, count, progress));
+                    rows = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(
+                            "COPY " + table.getTable() + " (" + table.columnList() + ") FROM STDIN WITH (FORMAT csv)",
+                            new BulkCsv.CountingInputStream(in, counter));
+                    try (var statement = connection.createStatement()) {
+                        statement.execute("SELECT setval('" + table.sequence()
+                                + "', (SELECT COALESCE(MAX(id), 0) + 1 FROM " + table.getTable() + "), false)");
+                    }
+                } else {
+                    rows = insertRows(connection, table, in, progress);
+                    restartSequence(connection, table);
+                }
+                connection.commit();
+            } catch (SQLException | IOException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new IOException("Load of " + table.getTable() + " failed", e);
+        }
+        log.info("Loaded {}: {} rows", table.getTable(), rows);
+        pendingFeedbackService.rebuild();
+        approvedCounterService.rebuild();
+        feedCache.invalidate();
+        pageCache.invalidateAll();
+        return rows;
+    }
+
+    private void exportRows(Connection connection, BulkTable table, OutputStream out)
+            throws SQLException, IOException {
+        connection.setAutoCommit(false);
+        var writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try (var statement = connection.createStatement()) {
+            statement.setFetchSize(batchSize);
+            try (ResultSet rs = statement.executeQuery(
+                    "SELECT " + table.columnList() + " FROM " + table.getTable() + " ORDER BY id")) {
+                int columns = table.getColumns().size();
+                var booleans = new boolean[columns];
+                for (int i = 0; i < columns; i++) {
+                    booleans[i] = rs.getMetaData().getColumnType(i + 1) == Types.BOOLEAN;
+                }
+                var values = new String[columns];
+                while (rs.next()) {
+                    for (int i = 0; i < columns; i++) {
+                        values[i] = booleans[i] ? toCsvBoolean(rs.getObject(i + 1)) : rs.getString(i + 1);
+                    }
+                    BulkCsv.writeRow(writer, values);
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    private long insertRows(Connection connection, BulkTable table, InputStream in, LongConsumer progress)
+            throws SQLException, IOException {
+        var reader = new BulkCsv.RowReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        int columns = table.getColumns().size();
+        var sql = "INSERT INTO " + table.getTable() + " (" + table.columnList() + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columns, "?")) + ")";
+        long rows = 0;
+        try (var statement = connection.prepareStatement(sql)) {
+            var values = reader.next();
+            while (values != null) {
+                if (values.size() != columns) {
+                    throw new IOException("Row " + (rows + 1) + " of " + table.getTable() + " has "
+                            + values.size() + " values, expected " + columns);
+                }
+                for (int i = 0; i < columns; i++) {
+                    statement.setObject(i + 1, values.get(i));
+                }
+                statement.addBatch();
+                rows++;
+                if (rows % batchSize == 0) {
+                    statement.executeBatch();
+                }
+                if (rows % progressEvery == 0) {
+                    report("Loaded", table, rows, progress);
+                }
+                values = reader.next();
+            }
+            statement.executeBatch();
+        }
+        return rows;
+    }
+
+    private static void restartSequence(Connection connection, BulkTable table) throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute("ALTER SEQUENCE " + table.sequence()
+                    + " RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM " + table.getTable() + ")");
+        }
+    }
+
+    private static String toCsvBoolean(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return (Boolean) value ? "t" : "f";
+    }
+
+    private static void report(String action, BulkTable table, long rows, LongConsumer progress) {
+        log.info("{} {}: {} rows", action, table.getTable(), rows);
+        progress.accept(rows);
+    }
+}
@@ -3,6 +3,9 @@ package ru.checkdev.mock.service;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import ru.checkdev.mock.domain.Interview;
 import ru.checkdev.mock.dto.FeedbackDTO;
 import ru.checkdev.mock.mapper.FeedbackMapper;
@@ -10,6 +13,7 @@ import ru.checkdev.mock.repository.FeedbackRepository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Слой бизнес логики для работы с DAO и DTO сущности Feedback.
@@ -22,8 +26,18 @@ import java.util.Optional;
 @Slf4j
 public class FeedbackCrudService implements FeedbackService {
     private final FeedbackRepository repository;
+    private final PendingFeedbackService pendingFeedbackService;
+    private final InterviewStatusService interviewStatusService;
 
+    /**
+     * Сохраняет отзыв. Запись cd_pending_feedback и статус собеседования меняются в той же транзакции,
+     * при ошибке транзакция откатывается целиком.
+     *
+     * @param feedbackDTO отзыв
+     * @return сохраненный отзыв или пустой Optional при ошибке
+     */
     @Override
+    @Transactional
     public Optional<FeedbackDTO> save(FeedbackDTO feedbackDTO) {
         var interview = new Interview();
         interview.setId(feedbackDTO.getInterviewId());
@@ -31,14 +45,49 @@ public class FeedbackCrudService implements FeedbackService {
         Optional<FeedbackDTO> result = Optional.empty();
         try {
             repository.save(feedback);
+            pendingFeedbackService.feedbackLeft(feedback.getUserId(), feedbackDTO.getInterviewId());
+            interviewStatusService.feedbackLeft(List.of(feedbackDTO.getInterviewId()));
             var newFeedbackDTO = FeedbackMapper.getFeedbackDTO(feedback);
             result = Optional.of(newFeedbackDTO);
         } catch (Exception e) {
             log.error("Feedback save error: {}", e.getMessage());
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            }
         }
         return result;
     }
 
+    /**
+     * Сохраняет отзывы одной транзакцией, вставки уходят в базу пакетами.
+     * Статусы собеседований меняются в той же транзакции.
+     * При ошибке не сохраняется ни один отзыв.
+     *
+     * @param feedbackDTOs отзывы
+     * @return сохраненные отзывы с id
+     */
+    @Override
+    @Transactional
+    public List<FeedbackDTO> saveAll(List<FeedbackDTO> feedbackDTOs) {
+        var feedbacks = feedbackDTOs.stream()
+                .map(dto -> {
+                    var interview = new Interview();
+                    interview.setId(dto.getInterviewId());
+                    var feedback = FeedbackMapper.getFeedback(dto, interview);
+                    feedback.setId(0);
+                    return feedback;
+                })
+                .toList();
+        repository.saveAll(feedbacks);
+        repository.flush();
+        var interviewIds = feedbackDTOs.stream()
+                .map(FeedbackDTO::getInterviewId)
+                .collect(Collectors.toSet());
+        pendingFeedbackService.feedbackLeft(interviewIds);
+        interviewStatusService.feedbackLeft(interviewIds);
+        return feedbacks.stream().map(FeedbackMapper::getFeedbackDTO).toList();
+    }
+
     @Override
     public List<FeedbackDTO> findByInterviewId(int interviewId) {
         return repository.findAllByInterviewId(interviewId);
@@ -16,6 +16,8 @@ public interface FeedbackService {
 
     Optional<FeedbackDTO> save(FeedbackDTO feedbackDTO);
 
+    List<FeedbackDTO> saveAll(List<FeedbackDTO> feedbackDTOs);
+
     List<FeedbackDTO> findByInterviewId(int interviewId);
 
     List<FeedbackDTO> findByInterviewIdAndUserId(int interviewId, int userId);
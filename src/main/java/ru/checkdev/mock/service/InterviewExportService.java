@@ -0,0 +1,52 @@
+package ru.checkdev.mock.service;
+
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.checkdev.mock.dto.InterviewDTO;
+import ru.checkdev.mock.repository.InterviewRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Потоковая выгрузка собеседований в формате NDJSON (одна JSON запись на строку).
+ * Записи читаются курсором базы данных сразу в InterviewDTO, без сущностей в контексте
+ * персистентности, и пишутся в ответ, поэтому расход памяти не зависит от количества строк в таблице.
+ */
+@Service
+@AllArgsConstructor
+public class InterviewExportService {
+
+    private final InterviewRepository interviewRepository;
+    private final NdjsonWriter ndjsonWriter;
+
+    /**
+     * Выгружает все собеседования.
+     *
+     * @param out поток ответа
+     * @return количество выгруженных записей
+     * @throws IOException ошибка записи в поток
+     */
+    @Transactional(readOnly = true)
+    public long exportAll(OutputStream out) throws IOException {
+        try (var interviews = interviewRepository.streamAllDto()) {
+            return ndjsonWriter.write(interviews, InterviewDTO.class, out);
+        }
+    }
+
+    /**
+     * Выгружает собеседования с указанным типом.
+     *
+     * @param mode тип собеседования
+     * @param out  поток ответа
+     * @return количество выгруженных записей
+     * @throws IOException ошибка записи в поток
+     */
+    @Transactional(readOnly = true)
+    public long exportByMode(int mode, OutputStream out) throws IOException {
+        try (var interviews = interviewRepository.streamDtoByMode(mode)) {
+            return ndjsonWriter.write(interviews, InterviewDTO.class, out);
+        }
+    }
+}
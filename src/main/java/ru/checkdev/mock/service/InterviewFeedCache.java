@@ -0,0 +1,92 @@
+package ru.checkdev.mock.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.checkdev.mock.dto.InterviewDTO;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Кэш лент собеседований главной страницы (/interviews/last, /interviews/interviewStatusNew).
+ * Чтение не блокируется записью: при изменении собеседований кэш сбрасывается,
+ * а значение, загруженное параллельно с изменением, в кэше не остается.
+ */
+@Component
+public class InterviewFeedCache implements MeterBinder {
+
+    public enum Feed {
+        LAST,
+        NEW
+    }
+
+    private final Cache<Feed, List<InterviewDTO>> cache;
+
+    /**
+     * Поколение кэша, увеличивается при каждом сбросе.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public InterviewFeedCache(@Value("${interview.feed-cache.max-size:16}") long maxSize,
+                              @Value("${interview.feed-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Возвращает ленту из кэша, при промахе загружает ее через loader.
+     *
+     * @param feed   лента
+     * @param loader загрузка ленты из базы данных
+     * @return List<InterviewDTO>
+     */
+    public List<InterviewDTO> get(Feed feed, Supplier<List<InterviewDTO>> loader) {
+        var cached = cache.getIfPresent(feed);
+        if (cached != null) {
+            return cached;
+        }
+        long before = generation.get();
+        var loaded = List.copyOf(loader.get());
+        cache.put(feed, loaded);
+        if (generation.get() != before) {
+            cache.asMap().remove(feed, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Сбрасывает все ленты. Вызывается после изменения собеседований.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Публикует размер кэша, попадания, промахи и вытеснения как метрики cache.* с тегом cache=interview.feed-cache.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        GuavaCacheMetrics.monitor(registry, cache, "interview.feed-cache");
+    }
+
+    /**
+     * Счетчики попаданий, промахов и вытеснений.
+     *
+     * @return CacheStats
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
@@ -1,5 +1,7 @@
 package ru.checkdev.mock.service;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import ru.checkdev.mock.domain.Interview;
@@ -13,7 +15,24 @@ import java.util.List;
 @Service
 public class InterviewFilterSpecifications {
 
+    /**
+     * Спецификации по нормализованному фильтру. Спецификация не хранит состояния,
+     * поэтому один экземпляр используется всеми запросами с таким фильтром.
+     */
+    private final Cache<FilterRequestParams, Specification<Interview>> specifications =
+            CacheBuilder.newBuilder().maximumSize(256).build();
+
     public Specification<Interview> createSpecifications(FilterRequestParams filterRequestParams) {
+        var normalized = filterRequestParams.normalized();
+        var specification = specifications.getIfPresent(normalized);
+        if (specification == null) {
+            specification = buildSpecification(normalized);
+            specifications.put(normalized, specification);
+        }
+        return specification;
+    }
+
+    private Specification<Interview> buildSpecification(FilterRequestParams filterRequestParams) {
         List<Integer> topicIds = filterRequestParams.getTopicIds();
         int submitterId = filterRequestParams.getSubmitterId();
         int agreedWisherId = filterRequestParams.getAgreedWisherId();
@@ -0,0 +1,173 @@
+package ru.checkdev.mock.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+import ru.checkdev.mock.dto.FilterRequestParams;
+import ru.checkdev.mock.dto.InterviewDTO;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Кэш страниц /interviews/getInterviews по ключу (нормализованный фильтр, страница, размер).
+ * При изменении собеседования или участника сбрасываются только страницы фильтров,
+ * в которые могла попасть измененная запись. Отключается свойством interview.page-cache.enabled.
+ */
+@Component
+public class InterviewPageCache implements MeterBinder {
+
+    private record Key(FilterRequestParams params, int page, int size) {
+    }
+
+    private final boolean enabled;
+
+    private final Cache<Key, Page<InterviewDTO>> cache;
+
+    /**
+     * Поколение кэша, увеличивается при каждом сбросе.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public InterviewPageCache(@Value("${interview.page-cache.enabled:true}") boolean enabled,
+                              @Value("${interview.page-cache.max-size:1024}") long maxSize,
+                              @Value("${interview.page-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Возвращает страницу из кэша, при промахе загружает ее через loader.
+     *
+     * @param params нормализованный фильтр
+     * @param page   номер страницы
+     * @param size   размер страницы
+     * @param loader загрузка страницы из базы данных
+     * @return Page<InterviewDTO>
+     */
+    public Page<InterviewDTO> get(FilterRequestParams params, int page, int size,
+                                  Supplier<Page<InterviewDTO>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        var key = new Key(params, page, size);
+        var cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long before = generation.get();
+        var loaded = loader.get();
+        cache.put(key, loaded);
+        if (generation.get() != before) {
+            cache.asMap().remove(key, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Сбрасывает страницы фильтров, которым могло соответствовать собеседование
+     * в одном из переданных состояний (до и после изменения).
+     *
+     * @param states состояния собеседования, null пропускаются
+     */
+    public void invalidateInterview(InterviewDTO... states) {
+        var rows = Arrays.stream(states).filter(Objects::nonNull).toList();
+        invalidate(params -> rows.stream().anyMatch(row -> mayContain(params, row)));
+    }
+
+    /**
+     * Сбрасывает страницы фильтров по заявкам указанного пользователя.
+     *
+     * @param userId ID пользователя участника
+     */
+    public void invalidateWisherUser(int userId) {
+        invalidate(params -> valueOf(params.getWisherId()) == userId);
+    }
+
+    /**
+     * Сбрасывает страницы всех фильтров по заявкам участников.
+     */
+    public void invalidateWisherFilters() {
+        invalidate(params -> valueOf(params.getWisherId()) > 0);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Публикует размер кэша, попадания, промахи и вытеснения как метрики cache.* с тегом cache=interview.page-cache.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        GuavaCacheMetrics.monitor(registry, cache, "interview.page-cache");
+    }
+
+    /**
+     * Счетчики попаданий, промахов и вытеснений, в том числе hitRate().
+     *
+     * @return CacheStats
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private void invalidate(Predicate<FilterRequestParams> affected) {
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> affected.test(key.params()));
+    }
+
+    /**
+     * Повторяет условия InterviewFilterSpecifications для одной записи.
+     * Условие по заявкам участника в памяти не проверить, поэтому оно считается выполненным.
+     */
+    static boolean mayContain(FilterRequestParams params, InterviewDTO row) {
+        List<Integer> topicIds = params.getTopicIds();
+        if (topicIds != null && !topicIds.isEmpty() && !topicIds.contains(row.getTopicId())) {
+            return false;
+        }
+        if (!matches(valueOf(params.getSubmitterId()), row.getSubmitterId(), params.isExclude())) {
+            return false;
+        }
+        if (!matches(valueOf(params.getAgreedWisherId()), row.getAgreedWisherId(), params.isExclude())) {
+            return false;
+        }
+        int status = valueOf(params.getStatus());
+        if (status > 0 && status != row.getStatusId()) {
+            return false;
+        }
+        int mode = valueOf(params.getMode());
+        return mode <= 0 || mode == row.getMode();
+    }
+
+    private static boolean matches(int expected, int actual, boolean exclude) {
+        if (expected <= 0) {
+            return true;
+        }
+        return exclude ? expected != actual : expected == actual;
+    }
+
+    private static int valueOf(Integer value) {
+        return value == null ? 0 : value;
+    }
+}
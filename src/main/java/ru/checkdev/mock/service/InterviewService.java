@@ -5,24 +5,35 @@ import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import ru.checkdev.mock.domain.Interview;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 import ru.checkdev.mock.dto.FilterRequestParams;
+import ru.checkdev.mock.dto.InterviewCursor;
 import ru.checkdev.mock.dto.InterviewDTO;
+import ru.checkdev.mock.dto.InterviewPatchDTO;
+import ru.checkdev.mock.dto.InterviewSearchCursor;
+import ru.checkdev.mock.dto.InterviewSearchResult;
 import ru.checkdev.mock.enums.StatusInterview;
+import ru.checkdev.mock.enums.StatusTransition;
 import ru.checkdev.mock.mapper.InterviewMapper;
 import ru.checkdev.mock.repository.InterviewRepository;
-import ru.checkdev.mock.repository.WisherRepository;
 
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,8 +42,18 @@ import java.util.stream.Collectors;
 public class InterviewService {
 
     private final InterviewRepository interviewRepository;
-    private final WisherRepository wisherRepository;
     private final InterviewFilterSpecifications interviewFilterSpecifications;
+    private final InterviewFeedCache feedCache;
+    private final InterviewPageCache pageCache;
+    private final PendingFeedbackService pendingFeedbackService;
+    private final InterviewStatusService interviewStatusService;
+
+    private static final int UNCONDITIONAL_UPDATE_ATTEMPTS = 3;
+
+    /**
+     * Наибольший размер страницы для выборок по курсору и поиска.
+     */
+    public static final int MAX_PAGE_SIZE = 100;
 
     private static final Logger LOG = LoggerFactory.getLogger(InterviewService.class.getName());
 
@@ -42,133 +63,268 @@ public class InterviewService {
         interview.setCreateDate(Timestamp.valueOf(LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES)));
         try {
             var saveInterview = interviewRepository.save(interview);
+            feedCache.invalidate();
             rsl = Optional.of(InterviewMapper.getInterviewDTO(saveInterview));
+            pageCache.invalidateInterview(rsl.get());
         } catch (DataIntegrityViolationException e) {
             LOG.error("Error!", e);
         }
         return rsl;
     }
 
+    @Transactional(readOnly = true)
     public List<InterviewDTO> findAll() {
-        return interviewRepository.findAll().stream()
-                .peek(interview -> {
-                    if (interview.getTopicId() == null) {
-                        interview.setTopicId(1);
-                    }
-                })
-                .map(InterviewMapper::getInterviewDTO)
-                .collect(Collectors.toList());
+        return interviewRepository.findAllDto();
     }
 
     /**
      * Получаем последние 5 собеседований.
+     * Результат кэшируется до следующего изменения собеседований.
      *
      * @return List<InterviewDTO>
      */
     public List<InterviewDTO> findLast() {
-        var status = StatusInterview.IS_NEW;
-        Pageable topFive = PageRequest.of(0, 5);
-        return interviewRepository.findAllByStatusOrderByCreateDateDesc(status, topFive)
-                .stream()
-                .map(InterviewMapper::getInterviewDTO)
-                .toList();
+        return feedCache.get(InterviewFeedCache.Feed.LAST, () -> {
+            var status = StatusInterview.IS_NEW;
+            Pageable topFive = PageRequest.of(0, 5);
+            return interviewRepository.findDtoByStatusOrderByCreateDateDesc(status, topFive);
+        });
     }
 
+    @Transactional(readOnly = true)
     public Page<InterviewDTO> findPaging(int page, int size) {
-        return interviewRepository.findAll(
-                        PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createDate")))
-                .map(InterviewMapper::getInterviewDTO);
+        return interviewRepository.findAllDto(
+                PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createDate")));
+    }
+
+    /**
+     * Постраничный вывод собеседований по курсору (keyset pagination).
+     * В отличие от findPaging не использует OFFSET и не считает общее количество записей,
+     * поэтому время ответа не зависит от глубины страницы.
+     *
+     * @param cursor строка курсора, пустая или null для первой страницы
+     * @param size   размер страницы
+     * @return Slice<InterviewDTO>
+     */
+    @Transactional(readOnly = true)
+    public Slice<InterviewDTO> findSlice(String cursor, int size) {
+        Pageable pageable = PageRequest.of(0, size);
+        if (cursor == null || cursor.isBlank()) {
+            return interviewRepository.findDtoSlice(pageable);
+        }
+        var interviewCursor = InterviewCursor.decode(cursor);
+        return interviewRepository.findDtoSliceBeforeCursor(
+                interviewCursor.getCreateDate(), interviewCursor.getId(), pageable);
     }
 
+    /**
+     * Полнотекстовый поиск по названию, описанию и текстам отзывов собеседований.
+     * Результаты упорядочены по убыванию релевантности и выводятся постранично по курсору,
+     * запрос страницы читает из базы на одну позицию больше, чтобы узнать, есть ли следующая.
+     *
+     * @param query  поисковая строка
+     * @param cursor строка курсора, пустая или null для первой страницы
+     * @param size   размер страницы
+     * @return InterviewSearchResult
+     * @throws IllegalArgumentException пустая поисковая строка, неверный курсор или размер страницы вне 1..MAX_PAGE_SIZE
+     */
+    @Transactional(readOnly = true)
+    public InterviewSearchResult search(String query, String cursor, int size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is empty");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        var after = cursor == null || cursor.isBlank() ? null : InterviewSearchCursor.decode(cursor);
+        var hits = interviewRepository.search(query, after, size + 1);
+        boolean hasNext = hits.size() > size;
+        if (hasNext) {
+            hits = hits.subList(0, size);
+        }
+        if (hits.isEmpty()) {
+            return new InterviewSearchResult(new SliceImpl<>(List.of(), PageRequest.of(0, size), false), null);
+        }
+        var byId = interviewRepository.findDtoByIdIn(hits.stream().map(InterviewSearchCursor::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(InterviewDTO::getId, Function.identity()));
+        var content = hits.stream().map(hit -> byId.get(hit.getId())).filter(Objects::nonNull).toList();
+        var nextCursor = hasNext ? hits.get(hits.size() - 1).encode() : null;
+        return new InterviewSearchResult(new SliceImpl<>(content, PageRequest.of(0, size), hasNext), nextCursor);
+    }
+
+    @Transactional(readOnly = true)
     public Page<InterviewDTO> findPagingByUserIdRelated(int page, int size, int userId) {
-        Page<Interview> interviews = wisherRepository.findInterviewByUserIdApproved(userId, Pageable.unpaged());
-        List<Integer> interviewIds = interviews.stream().map(Interview::getId).toList();
         var status = StatusInterview.IS_NEW;
-        return interviewRepository.findAllByUserIdRelated(userId, status, interviewIds,
-                        PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createDate")))
-                .map(InterviewMapper::getInterviewDTO);
+        return interviewRepository.findDtoByUserIdRelated(userId, status, PageRequest.of(page, size));
     }
 
+    @Transactional(readOnly = true)
     public Optional<InterviewDTO> findById(Integer id) {
-        var interview = interviewRepository.findById(id);
-        if (interview.isEmpty()) {
-            return Optional.empty();
-        }
-        return Optional.of(InterviewMapper.getInterviewDTO(interview.get()));
+        return interviewRepository.findDtoById(id);
     }
 
+    @Transactional(readOnly = true)
     public List<InterviewDTO> findByMode(int mode) {
-        return interviewRepository.findByMode(mode).stream()
-                .peek(interview -> {
-                    if (interview.getTopicId() == null) {
-                        interview.setTopicId(1);
-                    }
-                }).map(InterviewMapper::getInterviewDTO)
-                .toList();
+        return interviewRepository.findDtoByMode(mode);
     }
 
-    public boolean update(InterviewDTO interviewDTO) {
-        try {
-            this.save(interviewDTO);
-        } catch (Exception e) {
-            log.error("Update interview error:{}", e);
-            return false;
+    /**
+     * Метод обновляет собеседование. Статус не меняется: он меняется только через updateStatus,
+     * чтобы соблюдался жизненный цикл собеседования.
+     * Если в interviewDTO передана версия, собеседование обновляется только при совпадении с текущей версией.
+     * Без версии действует последняя запись: берется текущая версия, а при одновременном изменении
+     * обновление повторяется до UNCONDITIONAL_UPDATE_ATTEMPTS раз.
+     *
+     * @param interviewDTO InterviewDTO
+     * @return обновленное собеседование с новой версией или пустой Optional при ошибке
+     * @throws OptimisticLockingFailureException версия не совпала с текущей
+     * @throws ResponseStatusException            собеседования нет
+     */
+    public Optional<InterviewDTO> update(InterviewDTO interviewDTO) {
+        for (int attempt = 1; ; attempt++) {
+            var previous = interviewRepository.findDtoById(interviewDTO.getId());
+            if (previous.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        String.format("Interview %d not found", interviewDTO.getId()));
+            }
+            var old = previous.get();
+            var version = interviewDTO.getVersion() != null ? interviewDTO.getVersion() : old.getVersion();
+            Optional<InterviewDTO> result;
+            try {
+                result = this.save(interviewDTO.toBuilder()
+                        .statusId(old.getStatusId())
+                        .statusInfo(old.getStatusInfo())
+                        .version(version)
+                        .build());
+            } catch (OptimisticLockingFailureException e) {
+                if (interviewDTO.getVersion() != null || attempt == UNCONDITIONAL_UPDATE_ATTEMPTS) {
+                    throw e;
+                }
+                continue;
+            } catch (Exception e) {
+                log.error("Update interview error:{}", e);
+                return Optional.empty();
+            } finally {
+                previous.ifPresent(pageCache::invalidateInterview);
+            }
+            result.ifPresent(saved -> pendingFeedbackService.refreshInterview(saved.getId()));
+            return result;
+        }
+    }
+
+    /**
+     * Частичное изменение собеседования: в базу пишутся только изменившиеся столбцы.
+     * Если передана версия, собеседование меняется только при совпадении с текущей версией,
+     * без версии при одновременном изменении попытка повторяется до UNCONDITIONAL_UPDATE_ATTEMPTS раз.
+     *
+     * @param interviewId ID interview
+     * @param patch       InterviewPatchDTO
+     * @param version     ожидаемая версия или null
+     * @return измененное собеседование или пустой Optional, если собеседования нет
+     * @throws OptimisticLockingFailureException версия не совпала с текущей
+     * @throws IllegalArgumentException          обязательное поле передано пустым
+     */
+    public Optional<InterviewDTO> patch(int interviewId, InterviewPatchDTO patch, Integer version) {
+        requireNotBlank(patch.getTitle(), "Title");
+        requireNotBlank(patch.getContactBy(), "Contact");
+        requireNotBlank(patch.getApproximateDate(), "Date");
+        requireNotBlank(patch.getAuthor(), "Author");
+        for (int attempt = 1; ; attempt++) {
+            var previous = interviewRepository.findDtoById(interviewId);
+            if (previous.isEmpty()) {
+                return Optional.empty();
+            }
+            try {
+                var result = interviewRepository.patch(interviewId, patch, version)
+                        .map(InterviewMapper::getInterviewDTO);
+                result.ifPresent(patched -> {
+                    feedCache.invalidate();
+                    pageCache.invalidateInterview(previous.get(), patched);
+                });
+                return result;
+            } catch (OptimisticLockingFailureException e) {
+                if (version != null || attempt == UNCONDITIONAL_UPDATE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static void requireNotBlank(String value, String field) {
+        if (value != null && value.isBlank()) {
+            throw new IllegalArgumentException(field + " must be not empty");
         }
-        return true;
     }
 
+    /**
+     * Удаляет собеседование. Кэши лент и страниц сбрасываются после фиксации транзакции,
+     * чтобы параллельное чтение не положило в кэш собеседование до удаления.
+     * Счетчики одобренных заявок не пересчитываются: у wisher.interview_id нет ON DELETE CASCADE,
+     * поэтому собеседование с заявками не удаляется.
+     *
+     * @param interviewId ID interview
+     */
+    @Transactional
     public void delete(int interviewId) {
+        var previous = interviewRepository.findDtoById(interviewId);
         interviewRepository.deleteById(interviewId);
+        Transactions.afterCommit(() -> {
+            feedCache.invalidate();
+            previous.ifPresent(pageCache::invalidateInterview);
+        });
     }
 
     /**
-     * Метод обновляет статус собеседования.
+     * Метод меняет статус собеседования по жизненному циклу StatusInterview.
      *
-     * @param interviewDTO InterviewDTO.
-     * @return boolean true / false
+     * @param interviewDTO InterviewDTO с ID собеседования и новым статусом.
+     * @return StatusTransition
      */
-    public boolean updateStatus(InterviewDTO interviewDTO) {
+    public StatusTransition updateStatus(InterviewDTO interviewDTO) {
         var newStatus = InterviewMapper.getStatusInterviewById(interviewDTO.getStatusId());
-        try {
-            interviewRepository.updateStatus(interviewDTO.getId(), newStatus);
-            return true;
-        } catch (Exception e) {
-            log.error("Update status error {}", e.getMessage());
-            return false;
-        }
+        return interviewStatusService.change(interviewDTO.getId(), newStatus);
     }
 
     /**
-     * Метод возвращает все Interview на которые пользователь должен оставить отзыв
+     * Метод возвращает все Interview на которые пользователь должен оставить отзыв.
+     * Список читается из cd_pending_feedback по ключу пользователя.
      *
      * @param userId ID User
      * @return List<Interview>
      */
+    @Transactional(readOnly = true)
     public List<InterviewDTO> findAllIdByNoFeedback(int userId) {
-        return interviewRepository.findAllByUserIdWisherIsApproveAndNoFeedback(userId)
-                .stream()
-                .map(InterviewMapper::getInterviewDTO)
-                .toList();
+        return interviewRepository.findDtoPendingFeedback(userId);
     }
 
     /**
      * Метод возвращает все Interview со статусом новые
+     * Результат кэшируется до следующего изменения собеседований.
      *
      * @return List<Interview>
      */
     public List<InterviewDTO> findNewInterview() {
-        var status = StatusInterview.IS_NEW;
-        return interviewRepository.findAllByStatus(status)
-                .stream()
-                .map(InterviewMapper::getInterviewDTO)
-                .toList();
+        return feedCache.get(InterviewFeedCache.Feed.NEW, () -> {
+            var status = StatusInterview.IS_NEW;
+            return interviewRepository.findDtoByStatus(status);
+        });
     }
 
+    /**
+     * Страница собеседований по фильтру.
+     * Результат кэшируется по (фильтр, страница, размер) до изменения подходящих записей.
+     *
+     * @param page                номер страницы
+     * @param size                размер страницы
+     * @param filterRequestParams фильтр
+     * @return Page<InterviewDTO>
+     */
     public Page<InterviewDTO> getInterviewsWithFilters(
             int page, int size, FilterRequestParams filterRequestParams) {
-        return interviewRepository.findAll(
-                        interviewFilterSpecifications
-                                .createSpecifications(filterRequestParams), PageRequest.of(page, size))
-                .map(InterviewMapper::getInterviewDTO);
+        var normalized = filterRequestParams.normalized();
+        return pageCache.get(normalized, page, size, () -> interviewRepository.findAllDto(
+                interviewFilterSpecifications
+                        .createSpecifications(normalized), PageRequest.of(page, size)));
     }
 }
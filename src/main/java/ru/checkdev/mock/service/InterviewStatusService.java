@@ -0,0 +1,85 @@
+package ru.checkdev.mock.service;
+
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import ru.checkdev.mock.dto.InterviewDTO;
+import ru.checkdev.mock.enums.StatusInterview;
+import ru.checkdev.mock.enums.StatusTransition;
+import ru.checkdev.mock.repository.InterviewRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Смена статусов собеседований по жизненному циклу StatusInterview.
+ * Каждый переход выполняется одним условным UPDATE ... WHERE status IN (допустимые статусы),
+ * поэтому одновременные изменения не затирают друг друга: второй запрос просто не находит строку
+ * в ожидаемом статусе. Строка читается только после записи, для сброса кэшей,
+ * или при отказе, чтобы отличить запрещенный переход от отсутствующего собеседования.
+ */
+@Service
+@AllArgsConstructor
+public class InterviewStatusService {
+
+    private final InterviewRepository interviewRepository;
+    private final InterviewFeedCache feedCache;
+    private final InterviewPageCache pageCache;
+
+    /**
+     * Переводит собеседование в новый статус, если текущий статус это допускает.
+     * IN_PROGRESS этим методом не ставится: он требует одобренного участника (WisherService.approveWisher).
+     * Если собеседование уже в новом статусе, возвращается UNCHANGED.
+     *
+     * @param interviewId ID interview
+     * @param status      новый статус
+     * @return StatusTransition
+     */
+    public StatusTransition change(int interviewId, StatusInterview status) {
+        var sources = status.requiresAgreedWisher() ? List.<StatusInterview>of() : status.sources();
+        if (!sources.isEmpty() && interviewRepository.updateStatus(interviewId, status, sources) == 1) {
+            interviewRepository.findDtoById(interviewId).ifPresent(current -> Transactions.afterCommit(() -> {
+                feedCache.invalidate();
+                pageCache.invalidateInterview(states(current, sources));
+            }));
+            return StatusTransition.APPLIED;
+        }
+        return interviewRepository.findDtoById(interviewId)
+                .map(current -> current.getStatusId() == status.getId()
+                        ? StatusTransition.UNCHANGED : StatusTransition.REJECTED)
+                .orElse(StatusTransition.NOT_FOUND);
+    }
+
+    /**
+     * Переводит собеседования после сохранения отзывов: в IS_COMPLETED, если отзывы оставили
+     * и автор, и одобренный участник, иначе из IN_PROGRESS в IS_FEEDBACK.
+     * Собеседования в других статусах и отзывы посторонних пользователей статус не меняют.
+     *
+     * @param interviewIds ID собеседований, по которым сохранены отзывы
+     * @return количество собеседований, сменивших статус
+     */
+    public int feedbackLeft(Collection<Integer> interviewIds) {
+        if (interviewIds.isEmpty()) {
+            return 0;
+        }
+        var changed = interviewRepository.updateStatusByBothFeedbacks(interviewIds,
+                StatusInterview.IS_COMPLETED, StatusInterview.IS_COMPLETED.sources());
+        changed += interviewRepository.updateStatusByAnyFeedback(interviewIds,
+                StatusInterview.IS_FEEDBACK, StatusInterview.IS_FEEDBACK.sources());
+        if (changed > 0) {
+            var sources = StatusInterview.IS_COMPLETED.sources();
+            var current = interviewRepository.findDtoByIdIn(interviewIds);
+            Transactions.afterCommit(() -> current.forEach(dto -> pageCache.invalidateInterview(states(dto, sources))));
+        }
+        return changed;
+    }
+
+    private static InterviewDTO[] states(InterviewDTO current, List<StatusInterview> sources) {
+        return Stream.concat(Stream.of(current), sources.stream()
+                        .map(source -> current.toBuilder()
+                                .statusId(source.getId())
+                                .statusInfo(source.getInfo())
+                                .build()))
+                .toArray(InterviewDTO[]::new);
+    }
+}
@@ -0,0 +1,73 @@
+package ru.checkdev.mock.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Запись потока строк в формате NDJSON (одна JSON запись на строку).
+ * Записи копятся в буфере JsonGenerator и уходят в поток ответа блоками по мере заполнения буфера:
+ * сброс после каждой записи (SerializationFeature.FLUSH_AFTER_WRITE_VALUE) отключен,
+ * поток сбрасывается один раз в конце выгрузки. Разделитель корневых значений (пробел) отключен,
+ * строки разделяются только переводом строки.
+ */
+@Component
+@AllArgsConstructor
+public class NdjsonWriter {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Пишет строки в поток.
+     *
+     * @param rows строки
+     * @param type тип строки
+     * @param out  поток ответа, не закрывается
+     * @param <T>  тип строки
+     * @return количество записанных строк
+     * @throws IOException ошибка записи в поток
+     */
+    public <T> long write(Stream<T> rows, Class<T> type, OutputStream out) throws IOException {
+        return write(rows, type, out, count -> {
+        });
+    }
+
+    /**
+     * Пишет строки в поток и после каждой строки вызывает afterRow с количеством записанных строк,
+     * например чтобы периодически очищать контекст персистентности.
+     *
+     * @param rows     строки
+     * @param type     тип строки
+     * @param out      поток ответа, не закрывается
+     * @param afterRow действие после записи строки
+     * @param <T>      тип строки
+     * @return количество записанных строк
+     * @throws IOException ошибка записи в поток
+     */
+    public <T> long write(Stream<T> rows, Class<T> type, OutputStream out, LongConsumer afterRow)
+            throws IOException {
+        var writer = objectMapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        long count = 0;
+        try {
+            var iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                afterRow.accept(++count);
+            }
+        } finally {
+            generator.close();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,95 @@
+package ru.checkdev.mock.service;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.checkdev.mock.repository.PendingFeedbackRepository;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Поддержка таблицы cd_pending_feedback - собеседований, на которые пользователь должен оставить отзыв.
+ * Записи собеседования пересчитываются при изменении одобрения участников,
+ * запись пользователя удаляется при сохранении его отзыва.
+ * Ежедневная сверка с исходными таблицами исправляет расхождения.
+ */
+@Service
+@AllArgsConstructor
+@Slf4j
+public class PendingFeedbackService {
+
+    private final PendingFeedbackRepository pendingFeedbackRepository;
+
+    /**
+     * Пересчитывает ожидаемые отзывы собеседования по wisher и cd_feedback.
+     * Выполняется в транзакции вызывающего метода. Строка собеседования блокируется,
+     * поэтому одновременные пересчеты одного собеседования не пересекаются между удалением и вставкой.
+     *
+     * @param interviewId ID interview
+     */
+    @Transactional
+    public void refreshInterview(int interviewId) {
+        pendingFeedbackRepository.lockInterview(interviewId);
+        pendingFeedbackRepository.deleteByInterviewId(interviewId);
+        pendingFeedbackRepository.insertForInterview(interviewId);
+    }
+
+    /**
+     * Пользователь оставил отзыв о собеседовании.
+     *
+     * @param userId      ID User
+     * @param interviewId ID interview
+     */
+    public void feedbackLeft(int userId, int interviewId) {
+        pendingFeedbackRepository.deleteByUserIdAndInterviewId(userId, interviewId);
+    }
+
+    /**
+     * Пользователи оставили отзывы о собеседованиях, например при пакетном сохранении.
+     *
+     * @param interviewIds ID interview
+     */
+    public void feedbackLeft(Collection<Integer> interviewIds) {
+        if (!interviewIds.isEmpty()) {
+            pendingFeedbackRepository.deleteAnswered(interviewIds);
+        }
+    }
+
+    /**
+     * Пересчитывает всю таблицу одним запросом, например после массовой загрузки данных.
+     *
+     * @return количество ожидаемых отзывов
+     */
+    @Transactional
+    public int rebuild() {
+        pendingFeedbackRepository.deleteAllRows();
+        return pendingFeedbackRepository.insertAllExpected();
+    }
+
+    /**
+     * Сверяет таблицу с результатом запроса по interview, wisher и cd_feedback
+     * и пересчитывает собеседования с расхождениями.
+     * Разница вычисляется в базе, в память читаются только собеседования с расхождениями.
+     *
+     * @return количество расходящихся пар (пользователь, собеседование)
+     */
+    @Scheduled(cron = "${pending-feedback.reconcile-cron:0 30 3 * * *}")
+    @Transactional
+    public int reconcile() {
+        Set<Integer> interviewIds = new TreeSet<>();
+        int mismatches = 0;
+        for (var row : pendingFeedbackRepository.findMismatches()) {
+            interviewIds.add(((Number) row[0]).intValue());
+            mismatches += ((Number) row[1]).intValue();
+        }
+        if (mismatches > 0) {
+            log.warn("Pending feedback out of sync: {} pairs, refreshing interviews {}", mismatches, interviewIds);
+            interviewIds.forEach(this::refreshInterview);
+        }
+        return mismatches;
+    }
+}
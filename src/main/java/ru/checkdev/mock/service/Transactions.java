@@ -0,0 +1,32 @@
+package ru.checkdev.mock.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Действия, которые должны выполняться только после фиксации текущей транзакции,
+ * например сброс кэшей: иначе параллельное чтение успеет положить в кэш данные до изменения.
+ */
+final class Transactions {
+
+    private Transactions() {
+    }
+
+    /**
+     * Выполняет действие после фиксации текущей транзакции, без транзакции - сразу.
+     *
+     * @param action действие
+     */
+    static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
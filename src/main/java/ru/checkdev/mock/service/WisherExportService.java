@@ -0,0 +1,63 @@
+package ru.checkdev.mock.service;
+
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.checkdev.mock.domain.Wisher;
+import ru.checkdev.mock.dto.WisherDto;
+import ru.checkdev.mock.repository.WisherRepository;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Потоковая выгрузка участников в формате NDJSON (одна JSON запись на строку).
+ * Участники читаются курсором базы данных вместе с собеседованиями одним запросом.
+ * Контекст персистентности очищается каждые CLEAR_EVERY записей, поэтому расход памяти
+ * не зависит от количества строк в таблице.
+ */
+@Service
+@AllArgsConstructor
+public class WisherExportService {
+
+    private static final int CLEAR_EVERY = 500;
+
+    private final WisherRepository wisherRepository;
+    private final EntityManager entityManager;
+    private final NdjsonWriter ndjsonWriter;
+
+    /**
+     * Выгружает всех участников вместе с собеседованиями.
+     *
+     * @param out поток ответа
+     * @return количество выгруженных записей
+     * @throws IOException ошибка записи в поток
+     */
+    @Transactional(readOnly = true)
+    public long exportAll(OutputStream out) throws IOException {
+        try (var wishers = wisherRepository.streamAllWithInterview()) {
+            return ndjsonWriter.write(wishers, Wisher.class, out, this::clearEvery);
+        }
+    }
+
+    /**
+     * Выгружает DTO всех участников.
+     *
+     * @param out поток ответа
+     * @return количество выгруженных записей
+     * @throws IOException ошибка записи в поток
+     */
+    @Transactional(readOnly = true)
+    public long exportAllDto(OutputStream out) throws IOException {
+        try (var wishers = wisherRepository.streamAllDto()) {
+            return ndjsonWriter.write(wishers, WisherDto.class, out);
+        }
+    }
+
+    private void clearEvery(long count) {
+        if (count % CLEAR_EVERY == 0) {
+            entityManager.clear();
+        }
+    }
+}
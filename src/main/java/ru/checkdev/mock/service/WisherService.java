@@ -4,15 +4,23 @@ import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.checkdev.mock.domain.Interview;
 import ru.checkdev.mock.domain.Wisher;
 import ru.checkdev.mock.dto.UsersApprovedInterviewsDTO;
 import ru.checkdev.mock.dto.WisherDto;
+import ru.checkdev.mock.enums.StatusInterview;
+import ru.checkdev.mock.repository.ApprovedCounterRepository;
+import ru.checkdev.mock.repository.InterviewRepository;
 import ru.checkdev.mock.repository.WisherRepository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
@@ -20,18 +28,60 @@ public class WisherService {
 
     private final WisherRepository wisherRepository;
 
+    private final InterviewRepository interviewRepository;
+
+    private final InterviewFeedCache feedCache;
+
+    private final InterviewPageCache pageCache;
+
+    private final PendingFeedbackService pendingFeedbackService;
+
+    private final ApprovedCounterRepository approvedCounterRepository;
+
+    private final ApprovedCounterService approvedCounterService;
+
     private static final Logger LOG = LoggerFactory.getLogger(WisherService.class.getName());
 
     public Optional<Wisher> save(Wisher wisher) {
         Optional<Wisher> rsl = Optional.empty();
         try {
             rsl = Optional.of(wisherRepository.save(wisher));
+            pageCache.invalidateWisherUser(wisher.getUserId());
+            if (wisher.isApprove()) {
+                refreshPendingFeedback(wisher);
+                approvedCounterService.refreshUser(wisher.getUserId());
+            }
         } catch (DataIntegrityViolationException e) {
             LOG.error("Error!", e);
         }
         return rsl;
     }
 
+    /**
+     * Сохраняет участников одной транзакцией, вставки уходят в базу пакетами.
+     * При ошибке не сохраняется ни один участник.
+     *
+     * @param wishers новые участники
+     * @return сохраненные участники с id
+     */
+    @Transactional
+    public List<Wisher> saveAll(List<Wisher> wishers) {
+        var saved = wisherRepository.saveAll(wishers);
+        wisherRepository.flush();
+        var approved = saved.stream().filter(Wisher::isApprove).toList();
+        approved.stream()
+                .map(wisher -> wisher.getInterview().getId())
+                .collect(Collectors.toCollection(TreeSet::new))
+                .forEach(pendingFeedbackService::refreshInterview);
+        approved.stream()
+                .map(Wisher::getUserId)
+                .collect(Collectors.toCollection(TreeSet::new))
+                .forEach(approvedCounterService::refreshUser);
+        var userIds = saved.stream().map(Wisher::getUserId).collect(Collectors.toSet());
+        Transactions.afterCommit(() -> userIds.forEach(pageCache::invalidateWisherUser));
+        return saved;
+    }
+
     public List<Wisher> findByInterview(Interview interview) {
         return wisherRepository.findByInterview(interview);
     }
@@ -40,19 +90,60 @@ public class WisherService {
         return wisherRepository.findAll();
     }
 
+    /**
+     * Страница участников с собеседованиями после участника с id afterId.
+     *
+     * @param afterId id последнего участника предыдущей страницы, 0 для первой страницы
+     * @param size    размер страницы
+     * @return Slice<Wisher>
+     */
+    public Slice<Wisher> findSlice(int afterId, int size) {
+        return wisherRepository.findSliceAfter(afterId, PageRequest.of(0, size));
+    }
+
+    /**
+     * Страница DTO участников после участника с id afterId.
+     *
+     * @param afterId id последнего участника предыдущей страницы, 0 для первой страницы
+     * @param size    размер страницы
+     * @return Slice<WisherDto>
+     */
+    public Slice<WisherDto> findDtoSlice(int afterId, int size) {
+        return wisherRepository.findDtoSliceAfter(afterId, PageRequest.of(0, size));
+    }
+
     public Optional<Wisher> findById(int id) {
         return wisherRepository.findById(id);
     }
 
 
+    /**
+     * Метод обновляет участника. Версия wisher сверяется с текущей версией в базе,
+     * после сохранения в wisher записывается новая версия.
+     * Счетчики нового и прежнего пользователя пересчитываются по возрастанию id.
+     *
+     * @param wisher участник
+     * @return true
+     * @throws org.springframework.dao.OptimisticLockingFailureException участника изменили после чтения
+     */
     public boolean update(Wisher wisher) {
-        wisherRepository.save(wisher);
+        var previousUserId = wisherRepository.findUserIdById(wisher.getId());
+        wisher.setVersion(wisherRepository.save(wisher).getVersion());
+        pageCache.invalidateWisherFilters();
+        refreshPendingFeedback(wisher);
+        var userIds = new TreeSet<Integer>();
+        userIds.add(wisher.getUserId());
+        previousUserId.ifPresent(userIds::add);
+        approvedCounterService.refreshUsers(userIds);
         return true;
     }
 
     public boolean delete(Wisher wisher) {
         if (findById(wisher.getId()).isPresent()) {
             wisherRepository.delete(wisher);
+            pageCache.invalidateWisherUser(wisher.getUserId());
+            refreshPendingFeedback(wisher);
+            approvedCounterService.refreshUser(wisher.getUserId());
             return true;
         }
         return false;
@@ -69,11 +160,12 @@ public class WisherService {
 
     /**
      * Метод получает страницу со списком id пользователей с количеством проведенных ими интервью.
+     * Значения читаются из счетчиков cd_approved_counter.
      *
      * @return List<WisherDTO>
      */
     public List<UsersApprovedInterviewsDTO> getUsersIdWithCountedApprovedInterviews() {
-        return wisherRepository.getUsersIdWithCountedApprovedInterviews();
+        return approvedCounterRepository.findAllDto();
     }
 
     /**
@@ -83,7 +175,7 @@ public class WisherService {
      * @return UsersApprovedInterviewsDTO
      */
     public UsersApprovedInterviewsDTO getUserIdWithCountedApprovedInterviews(int userId) {
-        return wisherRepository.getUserIdWithCountedApprovedInterviews(userId)
+        return approvedCounterRepository.findDtoByUserId(userId)
                 .orElse(new UsersApprovedInterviewsDTO(userId, 0));
     }
 
@@ -99,11 +191,77 @@ public class WisherService {
 
     /**
      * Метод устанавливает approve у участника с указанным собеседованием.
+     * Одобрение выполняется через approveWisher: статус собеседования меняется сравнением с допустимыми
+     * статусами, одобрение остальных участников снимается.
+     * Если одобрение снимается с одобренного участника собеседования в статусе IN_PROGRESS,
+     * тем же условным UPDATE собеседованию возвращается статус IS_NEW без одобренного участника.
+     * В остальных статусах одобренного участника не снять: по нему уже ожидаются или оставлены отзывы.
      *
      * @param interviewId ID interview
      * @param wisherId    ID wisher from set newStatus
+     * @throws IllegalArgumentException если при одобрении участник не относится к собеседованию
+     *                                  или статус не допускает одобрения, если одобрение снимается
+     *                                  с одобренного участника собеседования не в статусе IN_PROGRESS
      */
+    @Transactional
     public void setWisherApprove(int interviewId, int wisherId, boolean approve) {
-        wisherRepository.setWisherApprove(interviewId, wisherId, approve);
+        if (approve) {
+            approveWisher(interviewId, wisherId);
+            return;
+        }
+        var previous = interviewRepository.findDtoById(interviewId);
+        var status = StatusInterview.IS_NEW;
+        var cleared = interviewRepository.clearAgreedWisher(interviewId, wisherId, status,
+                List.of(StatusInterview.IN_PROGRESS)) == 1;
+        if (!cleared && interviewRepository.isAgreedWisher(interviewId, wisherId)) {
+            throw new IllegalArgumentException(String.format(
+                    "Wisher %d is agreed in interview %d, its status does not allow removing approval",
+                    wisherId, interviewId));
+        }
+        wisherRepository.setWisherApprove(interviewId, wisherId, false);
+        pendingFeedbackService.refreshInterview(interviewId);
+        approvedCounterService.refreshInterviewUsers(interviewId);
+        if (cleared) {
+            var current = interviewRepository.findDtoById(interviewId);
+            Transactions.afterCommit(() -> {
+                feedCache.invalidate();
+                pageCache.invalidateInterview(previous.orElse(null), current.orElse(null));
+            });
+        }
+    }
+
+    /**
+     * Метод одобряет выбранного участника собеседования в одной транзакции:
+     * собеседованию в статусе IS_NEW или IN_PROGRESS записывается одобренный участник и статус IN_PROGRESS,
+     * выбранному участнику устанавливается approve = true, остальным участникам approve = false.
+     * Кэши собеседований сбрасываются после фиксации транзакции.
+     *
+     * @param interviewId ID interview
+     * @param wisherId    ID одобряемого wisher
+     * @throws IllegalArgumentException если участник не относится к собеседованию или статус не допускает одобрения
+     */
+    @Transactional
+    public void approveWisher(int interviewId, int wisherId) {
+        var previous = interviewRepository.findDtoById(interviewId);
+        var status = StatusInterview.IN_PROGRESS;
+        if (interviewRepository.setAgreedWisher(interviewId, wisherId, status, status.sources()) == 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Wisher %d not found in interview %d or interview status does not allow approval",
+                    wisherId, interviewId));
+        }
+        wisherRepository.approveOnly(interviewId, wisherId);
+        pendingFeedbackService.refreshInterview(interviewId);
+        approvedCounterService.refreshInterviewUsers(interviewId);
+        var current = interviewRepository.findDtoById(interviewId);
+        Transactions.afterCommit(() -> {
+            feedCache.invalidate();
+            pageCache.invalidateInterview(previous.orElse(null), current.orElse(null));
+        });
+    }
+
+    private void refreshPendingFeedback(Wisher wisher) {
+        if (wisher.getInterview() != null) {
+            pendingFeedbackService.refreshInterview(wisher.getInterview().getId());
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,70 @@
+package ru.checkdev.mock.web;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.checkdev.mock.enums.BulkTable;
+import ru.checkdev.mock.service.BulkTransferService;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+
+/**
+ * Перенос таблиц между окружениями: выгрузка и загрузка CSV целиком.
+ * Таблицы загружаются по порядку: interview, затем wisher и cd_feedback.
+ * Выгрузка содержит контакты всех пользователей, а загрузка заменяет данные таблицы,
+ * поэтому оба метода доступны только администраторам (ROLE_ADMIN).
+ */
+@Tag(name = "BulkController", description = "Bulk import/export REST API")
+@RestController
+@RequestMapping("/bulk")
+@AllArgsConstructor
+public class BulkController {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private final BulkTransferService bulkTransferService;
+
+    /**
+     * Потоковая выгрузка таблицы в CSV.
+     *
+     * @param table interview, wisher или cd_feedback
+     * @return ResponseEntity<StreamingResponseBody>
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/{table}")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable String table) {
+        var bulkTable = BulkTable.of(table);
+        StreamingResponseBody body = out -> bulkTransferService.export(bulkTable, out);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .contentType(TEXT_CSV)
+                .body(body);
+    }
+
+    /**
+     * Загрузка CSV из тела запроса в таблицу.
+     *
+     * @param table   interview, wisher или cd_feedback
+     * @param request запрос, тело читается потоком
+     * @return количество загруженных строк
+     * @throws IOException ошибка чтения тела или записи в базу данных
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/{table}", consumes = "text/csv")
+    public ResponseEntity<Long> load(@PathVariable String table, HttpServletRequest request) throws IOException {
+        var bulkTable = BulkTable.of(table);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(bulkTransferService.load(bulkTable, request.getInputStream()));
+    }
+}
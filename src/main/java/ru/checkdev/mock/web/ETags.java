@@ -0,0 +1,37 @@
+package ru.checkdev.mock.web;
+
+/**
+ * Заголовки ETag и If-Match по номеру версии записи.
+ * ETag - версия в кавычках, например "3". If-Match принимает такое же значение
+ * (слабый ETag W/"3" тоже), * или отсутствие заголовка означают обновление без проверки версии.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(int version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Версия из заголовка If-Match.
+     *
+     * @param ifMatch значение заголовка, может быть null
+     * @return версия или null, если проверка версии не запрошена
+     * @throws IllegalArgumentException значение не является ETag этого сервиса
+     */
+    static Integer parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        var value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        if (value.length() < 2 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            throw new IllegalArgumentException("Invalid If-Match: " + ifMatch);
+        }
+        return Integer.parseInt(value.substring(1, value.length() - 1));
+    }
+}
@@ -36,6 +36,18 @@ public class FeedbackController {
                 result.isPresent() ? HttpStatus.CREATED : HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Пакетное сохранение отзывов.
+     *
+     * @param feedbackDTOs отзывы
+     * @return сохраненные отзывы с id
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<FeedbackDTO>> saveAll(@RequestBody List<FeedbackDTO> feedbackDTOs) {
+        return new ResponseEntity<>(service.saveAll(feedbackDTOs), HttpStatus.CREATED);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<List<FeedbackDTO>> findAllByInterviewId(@PathVariable("id") int interviewId) {
         var result = service.findByInterviewId(interviewId);
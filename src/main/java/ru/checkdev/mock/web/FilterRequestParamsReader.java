@@ -0,0 +1,50 @@
+package ru.checkdev.mock.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.springframework.stereotype.Component;
+import ru.checkdev.mock.dto.FilterRequestParams;
+
+import java.util.ArrayList;
+
+/**
+ * Разбор заголовка filter-request-params.
+ * Использует общий ObjectReader приложения и кэширует результат по тексту заголовка,
+ * так как большинство запросов приходит с небольшим набором одинаковых фильтров.
+ * FilterRequestParams изменяемый, поэтому каждый вызов получает свою копию закэшированного значения.
+ * Неизвестные поля в заголовке, как и раньше, считаются ошибкой,
+ * даже если ObjectMapper приложения их пропускает.
+ */
+@Component
+public class FilterRequestParamsReader {
+
+    private final ObjectReader reader;
+
+    private final Cache<String, FilterRequestParams> parsed =
+            CacheBuilder.newBuilder().maximumSize(256).build();
+
+    public FilterRequestParamsReader(ObjectMapper objectMapper) {
+        this.reader = objectMapper.readerFor(FilterRequestParams.class)
+                .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    public FilterRequestParams read(String json) throws JsonProcessingException {
+        var key = json.strip();
+        var params = parsed.getIfPresent(key);
+        if (params == null) {
+            params = reader.readValue(key);
+            parsed.put(key, params);
+        }
+        return copy(params);
+    }
+
+    private static FilterRequestParams copy(FilterRequestParams params) {
+        var topicIds = params.getTopicIds() == null ? null : new ArrayList<>(params.getTopicIds());
+        return new FilterRequestParams(topicIds, params.getSubmitterId(), params.getWisherId(),
+                params.getAgreedWisherId(), params.getStatus(), params.getMode(), params.isExclude());
+    }
+}
@@ -3,6 +3,8 @@ package ru.checkdev.mock.web;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -12,6 +14,7 @@ import org.springframework.web.server.ResponseStatusException;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import javax.validation.ConstraintViolationException;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.HashMap;
@@ -54,7 +57,19 @@ public class GlobalExceptionHandler {
         );
     }
 
-    @ExceptionHandler(value = SQLException.class)
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<?> handle(ConstraintViolationException e) {
+        return ResponseEntity.badRequest().body(
+                e.getConstraintViolations().stream()
+                        .map(v -> Map.of(
+                                v.getPropertyPath().toString(),
+                                String.format("%s. Actual value: %s", v.getMessage(), v.getInvalidValue())
+                        ))
+                        .collect(Collectors.toList())
+        );
+    }
+
+    @ExceptionHandler(value = {SQLException.class, DataIntegrityViolationException.class})
     public void sqlException(Exception e, HttpServletRequest request, HttpServletResponse response) throws IOException {
         response.setStatus(HttpStatus.BAD_REQUEST.value());
         response.setContentType("application/json");
@@ -67,6 +82,21 @@ public class GlobalExceptionHandler {
         LOGGER.error(e.getMessage());
     }
 
+    @ExceptionHandler(value = OptimisticLockingFailureException.class)
+    public void optimisticLockingFailure(Exception e,
+                                         HttpServletRequest request,
+                                         HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.PRECONDITION_FAILED.value());
+        response.setContentType("application/json");
+        response.getWriter().write(objectMapper.writeValueAsString(new HashMap<>() {
+            {
+                put("message", "Record was changed by another request, reload it and retry");
+                put("details", e.getMessage());
+            }
+        }));
+        LOGGER.error(e.getMessage());
+    }
+
     @ExceptionHandler(value = ResponseStatusException.class)
     public void responseStatusException(Exception e,
                                         HttpServletRequest request,
@@ -2,11 +2,13 @@ package ru.checkdev.mock.web;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import ru.checkdev.mock.dto.InterviewDTO;
+import ru.checkdev.mock.dto.InterviewPatchDTO;
 import ru.checkdev.mock.service.InterviewService;
 
 import javax.validation.Valid;
@@ -30,26 +32,79 @@ public class InterviewController {
         );
     }
 
+    /**
+     * Собеседование по ID. Версия собеседования возвращается в заголовке ETag.
+     *
+     * @param id ID собеседования
+     * @return ResponseEntity<InterviewDTO>
+     */
     @GetMapping("/{id}")
     public ResponseEntity<InterviewDTO> getById(@Valid @PathVariable int id) {
         return interviewService.findById(id)
-                .map(ResponseEntity::ok)
+                .map(interviewDTO -> ResponseEntity.ok().eTag(ETags.of(interviewDTO.getVersion())).body(interviewDTO))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
-
+    /**
+     * Обновление собеседования. С заголовком If-Match (ETag из getById) или с версией в теле
+     * собеседование обновляется, только если его не изменили после чтения, иначе ответ 412.
+     * Новая версия возвращается в заголовке ETag.
+     *
+     * @param interviewDTO InterviewDTO
+     * @param ifMatch      ETag прочитанной версии собеседования
+     * @return ResponseEntity<InterviewDTO>
+     */
     @PutMapping("/")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<InterviewDTO> update(@Valid @RequestBody InterviewDTO interviewDTO) {
-        return ResponseEntity
-                .status(interviewService.update(interviewDTO) ? HttpStatus.OK : HttpStatus.NO_CONTENT)
-                .body(interviewDTO);
+    public ResponseEntity<InterviewDTO> update(@Valid @RequestBody InterviewDTO interviewDTO,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                               String ifMatch) {
+        var version = ETags.parseIfMatch(ifMatch);
+        if (version != null) {
+            interviewDTO.setVersion(version);
+        }
+        return interviewService.update(interviewDTO)
+                .map(updated -> ResponseEntity.ok().eTag(ETags.of(updated.getVersion())).body(updated))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NO_CONTENT).body(interviewDTO));
+    }
+
+    /**
+     * Частичное изменение собеседования: меняются только переданные поля, в базу пишутся только они.
+     * С заголовком If-Match собеседование меняется, только если его не изменили после чтения, иначе ответ 412.
+     *
+     * @param id      ID собеседования
+     * @param patch   InterviewPatchDTO
+     * @param ifMatch ETag прочитанной версии собеседования
+     * @return ResponseEntity<InterviewDTO> 200 с новым ETag или 404, если собеседования нет
+     */
+    @PatchMapping("/{id}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<InterviewDTO> patch(@PathVariable int id,
+                                              @RequestBody InterviewPatchDTO patch,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                              String ifMatch) {
+        return interviewService.patch(id, patch, ETags.parseIfMatch(ifMatch))
+                .map(patched -> ResponseEntity.ok().eTag(ETags.of(patched.getVersion())).body(patched))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    /**
+     * Смена статуса собеседования.
+     * 200 - статус изменен, 204 - собеседование уже в этом статусе, 409 - текущий статус не допускает перехода
+     * (в том числе в IN_PROGRESS, который ставится одобрением участника), 404 - собеседования нет.
+     *
+     * @param interviewDTO InterviewDTO с ID собеседования и новым статусом
+     * @return ResponseEntity<HttpStatus>
+     */
     @PutMapping("/status/")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<HttpStatus> updateStatusInterview(@RequestBody InterviewDTO interviewDTO) {
-        var result = interviewService.updateStatus(interviewDTO);
-        return ResponseEntity.status(result ? HttpStatus.OK : HttpStatus.NOT_FOUND).build();
+        var status = switch (interviewService.updateStatus(interviewDTO)) {
+            case APPLIED -> HttpStatus.OK;
+            case UNCHANGED -> HttpStatus.NO_CONTENT;
+            case REJECTED -> HttpStatus.CONFLICT;
+            case NOT_FOUND -> HttpStatus.NOT_FOUND;
+        };
+        return ResponseEntity.status(status).build();
     }
 }
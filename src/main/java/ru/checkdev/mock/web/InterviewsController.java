@@ -1,18 +1,24 @@
 package ru.checkdev.mock.web;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.checkdev.mock.dto.FilterRequestParams;
+import ru.checkdev.mock.dto.InterviewCursor;
 import ru.checkdev.mock.dto.InterviewDTO;
+import ru.checkdev.mock.service.InterviewExportService;
 import ru.checkdev.mock.service.InterviewService;
 
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 import java.sql.SQLException;
 import java.util.List;
 
@@ -20,10 +26,17 @@ import java.util.List;
 @RestController
 @RequestMapping("/interviews")
 @AllArgsConstructor
+@Validated
 public class InterviewsController {
 
+    private static final String NEXT_CURSOR_HEADER = "next-cursor";
+
     private final InterviewService interviewService;
 
+    private final InterviewExportService interviewExportService;
+
+    private final FilterRequestParamsReader filterRequestParamsReader;
+
     /*Аннотация не работает
     @PreAuthorize("isAuthenticated()") */
     @GetMapping("/")
@@ -36,6 +49,51 @@ public class InterviewsController {
                 .body(interviewService.findPaging(page, size));
     }
 
+    /**
+     * Постраничный вывод по курсору. Включается параметром cursor (пустой для первой страницы).
+     * Курсор следующей страницы возвращается в заголовке next-cursor.
+     *
+     * @param cursor курсор из заголовка next-cursor предыдущего ответа
+     * @param size   размер страницы, от 1 до MAX_PAGE_SIZE
+     * @return ResponseEntity<Slice<InterviewDTO>>
+     */
+    @GetMapping(value = "/", params = "cursor")
+    public ResponseEntity<Slice<InterviewDTO>> findAllByCursor(
+            @RequestParam String cursor,
+            @RequestParam(required = false, defaultValue = "20")
+            @Min(1) @Max(InterviewService.MAX_PAGE_SIZE) int size) {
+        var slice = interviewService.findSlice(cursor, size);
+        var response = ResponseEntity.status(HttpStatus.OK);
+        if (slice.hasNext()) {
+            var last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            response.header(NEXT_CURSOR_HEADER, InterviewCursor.of(last).encode());
+        }
+        return response.body(slice);
+    }
+
+    /**
+     * Полнотекстовый поиск по названию, описанию и текстам отзывов собеседований,
+     * по убыванию релевантности. Курсор следующей страницы возвращается в заголовке next-cursor.
+     *
+     * @param q      поисковая строка
+     * @param cursor курсор из заголовка next-cursor предыдущего ответа
+     * @param size   размер страницы, от 1 до MAX_PAGE_SIZE
+     * @return ResponseEntity<Slice<InterviewDTO>>
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Slice<InterviewDTO>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "20")
+            @Min(1) @Max(InterviewService.MAX_PAGE_SIZE) int size) {
+        var result = interviewService.search(q, cursor, size);
+        var response = ResponseEntity.status(HttpStatus.OK);
+        if (result.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, result.getNextCursor());
+        }
+        return response.body(result.getSlice());
+    }
+
     @GetMapping("/last")
     public ResponseEntity<List<InterviewDTO>> findLastThree() {
         return ResponseEntity
@@ -50,6 +108,35 @@ public class InterviewsController {
                 .body(interviewService.findByMode(mode));
     }
 
+    /**
+     * Потоковая выгрузка всех собеседований в формате NDJSON.
+     *
+     * @return ResponseEntity<StreamingResponseBody>
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAll() {
+        StreamingResponseBody body = interviewExportService::exportAll;
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Потоковая выгрузка собеседований с указанным типом в формате NDJSON.
+     *
+     * @param mode тип собеседования
+     * @return ResponseEntity<StreamingResponseBody>
+     */
+    @GetMapping("/export/{mode}")
+    public ResponseEntity<StreamingResponseBody> exportByMode(@PathVariable int mode) {
+        StreamingResponseBody body = out -> interviewExportService.exportByMode(mode, out);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/findByUserIdRelated/{userId}")
     public ResponseEntity<Page<InterviewDTO>> findByUserIdRelated(
             @PathVariable int userId,
@@ -83,7 +170,7 @@ public class InterviewsController {
             @RequestHeader("filter-request-params") String json,
             @RequestParam(required = false, defaultValue = "0") int page,
             @RequestParam(required = false, defaultValue = "20") int size) throws JsonProcessingException {
-        FilterRequestParams filterRequestParams = new ObjectMapper().readValue(json, FilterRequestParams.class);
+        FilterRequestParams filterRequestParams = filterRequestParamsReader.read(json);
         return ResponseEntity
                 .ok()
                 .contentType(MediaType.APPLICATION_JSON)
@@ -2,8 +2,10 @@ package ru.checkdev.mock.web;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import ru.checkdev.mock.domain.Wisher;
@@ -44,6 +46,13 @@ public class WisherController {
                 .orElseGet(() -> ResponseEntity.noContent().build());
     }
 
+    /**
+     * Участник по ID. Версия участника возвращается в заголовке ETag.
+     *
+     * @param id ID участника
+     * @return ResponseEntity<Wisher>
+     * @throws SQLException участника нет
+     */
     @GetMapping("/{id}")
     public ResponseEntity<Wisher> getById(@Valid @PathVariable int id) throws SQLException {
         Optional<Wisher> rsl = wisherService.findById(id);
@@ -51,18 +60,39 @@ public class WisherController {
             throw new SQLException("There is no wisher with this number");
         }
         return rsl
-                .map(ResponseEntity::ok)
+                .map(wisher -> ResponseEntity.ok().eTag(ETags.of(wisher.getVersion())).body(wisher))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    /**
+     * Обновление участника. С заголовком If-Match (ETag из getById) или с версией в теле
+     * участник обновляется, только если его не изменили после чтения, иначе ответ 412.
+     * Участник читается управляемой сущностью, Hibernate проверяет в UPDATE версию, прочитанную при загрузке,
+     * поэтому переданная версия сверяется с ней до изменения полей.
+     * Новая версия возвращается в заголовке ETag.
+     *
+     * @param wisherDto WisherDto
+     * @param ifMatch   ETag прочитанной версии участника
+     * @return ResponseEntity<Wisher>
+     * @throws SQLException участника или собеседования нет
+     */
     @PutMapping("/")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Wisher> update(@Valid @RequestBody WisherDto wisherDto) throws SQLException {
+    public ResponseEntity<Wisher> update(@Valid @RequestBody WisherDto wisherDto,
+                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                         String ifMatch) throws SQLException {
         Optional<Wisher> optionalWisher = wisherService.findById(wisherDto.getId());
         if (optionalWisher.isEmpty()) {
             throw new SQLException("There is no wisher with this number");
         }
         Wisher rsl = optionalWisher.get();
+        var version = ETags.parseIfMatch(ifMatch);
+        if (version == null) {
+            version = wisherDto.getVersion();
+        }
+        if (version != null && rsl.getVersion() != version) {
+            throw new ObjectOptimisticLockingFailureException(Wisher.class, rsl.getId());
+        }
         Optional<InterviewDTO> optionalDtoInterview = interviewService.findById(wisherDto.getInterviewId());
         if (optionalDtoInterview.isEmpty()) {
             throw new SQLException("There is no interview with this number");
@@ -73,6 +103,7 @@ public class WisherController {
         rsl.setContactBy(wisherDto.getContactBy());
         rsl.setApprove(wisherDto.isApprove());
         return ResponseEntity.status(wisherService.update(rsl) ? HttpStatus.OK : HttpStatus.NO_CONTENT)
+                .eTag(ETags.of(rsl.getVersion()))
                 .body(rsl);
     }
 }
@@ -2,34 +2,49 @@ package ru.checkdev.mock.web;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.checkdev.mock.domain.Interview;
 import ru.checkdev.mock.domain.Wisher;
 import ru.checkdev.mock.dto.InterviewDTO;
 import ru.checkdev.mock.dto.UsersApprovedInterviewsDTO;
 import ru.checkdev.mock.dto.WisherDto;
 import ru.checkdev.mock.mapper.InterviewMapper;
+import ru.checkdev.mock.mapper.WisherMapper;
 import ru.checkdev.mock.service.InterviewService;
+import ru.checkdev.mock.service.WisherExportService;
 import ru.checkdev.mock.service.WisherService;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.ToIntFunction;
 
 @Tag(name = "WishersController", description = "Wishers REST API")
 @RestController
 @RequestMapping("/wishers")
 @AllArgsConstructor
+@Validated
 public class WishersController {
 
+    private static final String NEXT_CURSOR_HEADER = "next-cursor";
+
     private final WisherService wisherService;
 
     private final InterviewService interviewService;
 
+    private final WisherExportService wisherExportService;
+
     @GetMapping("/")
     public ResponseEntity<List<Wisher>> findAll() {
         return ResponseEntity
@@ -37,6 +52,37 @@ public class WishersController {
                 .body(wisherService.findAll());
     }
 
+    /**
+     * Постраничный вывод участников с собеседованиями по курсору (id участника).
+     * Включается параметром after (0 для первой страницы),
+     * курсор следующей страницы возвращается в заголовке next-cursor.
+     *
+     * @param after курсор из заголовка next-cursor предыдущего ответа
+     * @param size  размер страницы, от 1 до MAX_PAGE_SIZE
+     * @return ResponseEntity<Slice<Wisher>>
+     */
+    @GetMapping(value = "/", params = "after")
+    public ResponseEntity<Slice<Wisher>> findAllAfter(
+            @RequestParam int after,
+            @RequestParam(required = false, defaultValue = "20")
+            @Min(1) @Max(InterviewService.MAX_PAGE_SIZE) int size) {
+        return withNextCursor(wisherService.findSlice(after, size), Wisher::getId);
+    }
+
+    /**
+     * Потоковая выгрузка всех участников с собеседованиями в формате NDJSON.
+     *
+     * @return ResponseEntity<StreamingResponseBody>
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAll() {
+        StreamingResponseBody body = wisherExportService::exportAll;
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<List<Wisher>> findByInterview(@Valid @PathVariable int id) throws SQLException {
         Optional<InterviewDTO> interviewDtoOptional = interviewService.findById(id);
@@ -56,6 +102,35 @@ public class WishersController {
                 .body(wisherService.findAllWisherDto());
     }
 
+    /**
+     * Постраничный вывод DTO участников по курсору (id участника).
+     *
+     * @param after курсор из заголовка next-cursor предыдущего ответа, 0 для первой страницы
+     * @param size  размер страницы, от 1 до MAX_PAGE_SIZE
+     * @return ResponseEntity<Slice<WisherDto>>
+     */
+    @GetMapping(value = "/dto/", params = "after")
+    public ResponseEntity<Slice<WisherDto>> findAllWisherDtoAfter(
+            @RequestParam int after,
+            @RequestParam(required = false, defaultValue = "20")
+            @Min(1) @Max(InterviewService.MAX_PAGE_SIZE) int size) {
+        return withNextCursor(wisherService.findDtoSlice(after, size), WisherDto::getId);
+    }
+
+    /**
+     * Потоковая выгрузка DTO всех участников в формате NDJSON.
+     *
+     * @return ResponseEntity<StreamingResponseBody>
+     */
+    @GetMapping("/dto/export")
+    public ResponseEntity<StreamingResponseBody> exportAllDto() {
+        StreamingResponseBody body = wisherExportService::exportAllDto;
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/approved/")
     public ResponseEntity<List<UsersApprovedInterviewsDTO>> getUsersIdWithCountedApprovedInterviews() {
         return ResponseEntity
@@ -96,4 +171,49 @@ public class WishersController {
         wisherService.setWisherApprove(interviewId, wisherId, newApprove);
         return ResponseEntity.ok().build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Пакетное добавление участников собеседований.
+     *
+     * @param wisherDtos участники, id собеседования в interviewId
+     * @return сохраненные участники с id
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<WisherDto>> saveAll(@RequestBody List<WisherDto> wisherDtos) {
+        var mapper = new WisherMapper();
+        var wishers = wisherDtos.stream()
+                .map(dto -> mapper.getWisher(dto, Interview.of().id(dto.getInterviewId()).build()))
+                .toList();
+        var saved = wisherService.saveAll(wishers).stream()
+                .map(wisher -> new WisherDto(wisher.getId(), wisher.getInterview().getId(),
+                        wisher.getUserId(), wisher.getContactBy(), wisher.isApprove()))
+                .toList();
+        return new ResponseEntity<>(saved, HttpStatus.CREATED);
+    }
+
+    /**
+     * Метод одобряет выбранного участника собеседования за один запрос:
+     * остальные участники получают approve = false,
+     * собеседованию записывается одобренный участник и статус "В процессе".
+     *
+     * @param interviewId ID interview
+     * @param wisherId    ID одобряемого wisher
+     * @return ResponseEntity
+     */
+    @PostMapping("/approve/choose/")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<HttpStatus> chooseWisher(@RequestParam int interviewId, @RequestParam int wisherId) {
+        wisherService.approveWisher(interviewId, wisherId);
+        return ResponseEntity.ok().build();
+    }
+
+    private static <T> ResponseEntity<Slice<T>> withNextCursor(Slice<T> slice, ToIntFunction<T> id) {
+        var response = ResponseEntity.status(HttpStatus.OK);
+        if (slice.hasNext()) {
+            var last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(id.applyAsInt(last)));
+        }
+        return response.body(slice);
+    }
+}
@@ -0,0 +1,2 @@
+--Индекс для постраничного вывода собеседований по курсору (create_date, id)
+CREATE INDEX IF NOT EXISTS idx_interview_create_date_id ON interview (create_date DESC, id DESC);
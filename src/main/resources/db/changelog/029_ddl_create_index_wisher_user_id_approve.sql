@@ -0,0 +1,3 @@
+--Индексы для выборки собеседований, связанных с пользователем (findAllByUserIdRelated)
+CREATE INDEX IF NOT EXISTS idx_wisher_user_id_approve_interview_id ON wisher (user_id, approve, interview_id);
+CREATE INDEX IF NOT EXISTS idx_interview_submitter_id ON interview (submitter_id);
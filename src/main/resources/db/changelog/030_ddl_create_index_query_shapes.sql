@@ -0,0 +1,6 @@
+--Индексы для выборок собеседований по статусу, типу, темам и одобренному участнику и для проверки отзыва пользователя
+CREATE INDEX IF NOT EXISTS idx_interview_status_create_date ON interview (status, create_date DESC);
+CREATE INDEX IF NOT EXISTS idx_interview_mode_create_date ON interview (mode, create_date DESC);
+CREATE INDEX IF NOT EXISTS idx_interview_topic_id_create_date ON interview (topic_id, create_date DESC);
+CREATE INDEX IF NOT EXISTS idx_interview_agreed_wisher_id ON interview (agreed_wisher_id);
+CREATE INDEX IF NOT EXISTS idx_feedback_interview_id_user_id ON cd_feedback (interview_id, user_id);
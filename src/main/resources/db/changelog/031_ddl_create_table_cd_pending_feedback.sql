@@ -0,0 +1,19 @@
+--Собеседования, на которые пользователь должен оставить отзыв (/interviews/noFeedback/{uId}).
+--Пара (пользователь, собеседование) есть, если у собеседования есть одобренный участник,
+--пользователь - автор или одобренный участник и отзыва от пользователя еще нет.
+CREATE TABLE IF NOT EXISTS cd_pending_feedback
+(
+    user_id      int not null,
+    interview_id int not null references interview (id) ON DELETE CASCADE,
+    PRIMARY KEY (user_id, interview_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_pending_feedback_interview_id ON cd_pending_feedback (interview_id);
+
+INSERT INTO cd_pending_feedback (user_id, interview_id)
+SELECT w.user_id, w.interview_id FROM wisher w WHERE w.approve
+UNION
+SELECT i.submitter_id, i.id FROM interview i
+WHERE EXISTS(SELECT 1 FROM wisher w WHERE w.interview_id = i.id AND w.approve)
+EXCEPT
+SELECT cf.user_id, cf.interview_id FROM cd_feedback cf;
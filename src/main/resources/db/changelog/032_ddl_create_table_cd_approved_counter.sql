@@ -0,0 +1,12 @@
+--Количество одобренных заявок пользователя (/wishers/approved/), поддерживается ApprovedCounterService
+CREATE TABLE IF NOT EXISTS cd_approved_counter
+(
+    user_id  int primary key,
+    approved bigint not null default 0
+);
+
+INSERT INTO cd_approved_counter (user_id, approved)
+SELECT w.user_id, COUNT(*)
+FROM wisher w
+WHERE w.approve
+GROUP BY w.user_id;
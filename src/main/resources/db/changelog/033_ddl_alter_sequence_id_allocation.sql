@@ -0,0 +1,26 @@
+--liquibase formatted sql
+
+--changeset checkdev:033-1 dbms:postgresql
+--comment: Hibernate берет id из последовательностей блоками по 50 (pooled-lo), чтобы вставки шли пакетами JDBC.
+--Столбцы остаются serial, вставки без id по-прежнему берут nextval и не пересекаются с блоками Hibernate.
+ALTER SEQUENCE interview_id_seq INCREMENT BY 50;
+ALTER SEQUENCE wisher_id_seq INCREMENT BY 50;
+ALTER SEQUENCE cd_feedback_id_seq INCREMENT BY 50;
+SELECT setval('interview_id_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM interview), false);
+SELECT setval('wisher_id_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM wisher), false);
+SELECT setval('cd_feedback_id_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM cd_feedback), false);
+
+--changeset checkdev:033-2 dbms:h2
+--comment: В H2 serial - это identity без именованной последовательности, создаем последовательности с теми же именами
+CREATE SEQUENCE IF NOT EXISTS interview_id_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS wisher_id_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS cd_feedback_id_seq INCREMENT BY 50;
+ALTER SEQUENCE interview_id_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM interview);
+ALTER SEQUENCE wisher_id_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM wisher);
+ALTER SEQUENCE cd_feedback_id_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM cd_feedback);
+ALTER TABLE interview ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE wisher ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE cd_feedback ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE interview ALTER COLUMN id SET DEFAULT NEXT VALUE FOR interview_id_seq;
+ALTER TABLE wisher ALTER COLUMN id SET DEFAULT NEXT VALUE FOR wisher_id_seq;
+ALTER TABLE cd_feedback ALTER COLUMN id SET DEFAULT NEXT VALUE FOR cd_feedback_id_seq;
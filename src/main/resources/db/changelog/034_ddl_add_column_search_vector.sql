@@ -0,0 +1,15 @@
+--liquibase formatted sql
+
+--changeset checkdev:034-1 dbms:postgresql
+--comment: Полнотекстовый поиск по названию (вес A) и описанию (вес B) собеседования.
+--Столбец вычисляемый (Postgres 12+), индекс GIN обновляется вместе со строкой.
+ALTER TABLE interview ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (setweight(to_tsvector('russian', COALESCE(title, '')), 'A')
+                         || setweight(to_tsvector('russian', COALESCE(additional, '')), 'B')) STORED;
+CREATE INDEX IF NOT EXISTS idx_interview_search_vector ON interview USING GIN (search_vector);
+
+--changeset checkdev:034-2 dbms:postgresql
+--comment: Полнотекстовый поиск по тексту отзывов
+ALTER TABLE cd_feedback ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (to_tsvector('russian', COALESCE(text_feedback, ''))) STORED;
+CREATE INDEX IF NOT EXISTS idx_feedback_search_vector ON cd_feedback USING GIN (search_vector);
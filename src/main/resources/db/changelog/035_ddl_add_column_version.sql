@@ -0,0 +1,3 @@
+--Номер версии строки для оптимистической блокировки (@Version) и заголовков ETag/If-Match
+ALTER TABLE interview ADD COLUMN IF NOT EXISTS version INT NOT NULL DEFAULT 0;
+ALTER TABLE wisher ADD COLUMN IF NOT EXISTS version INT NOT NULL DEFAULT 0;
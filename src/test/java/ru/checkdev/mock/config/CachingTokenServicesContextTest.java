@@ -0,0 +1,97 @@
+package ru.checkdev.mock.config;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.provider.token.ResourceServerTokenServices;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.checkdev.mock.MockSrv;
+import ru.checkdev.mock.domain.Filter;
+import ru.checkdev.mock.service.FilterService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Ресурс-сервер проверяет токены через CachingTokenServices: два запроса с одним токеном
+ * обращаются к сервису авторизации (userInfoUri) один раз.
+ */
+@SpringBootTest(classes = MockSrv.class)
+@AutoConfigureMockMvc
+class CachingTokenServicesContextTest {
+
+    private static final AtomicInteger USER_INFO_CALLS = new AtomicInteger();
+
+    private static final HttpServer USER_INFO = startUserInfo();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ResourceServerTokenServices tokenServices;
+
+    @MockBean
+    private FilterService filterService;
+
+    private static HttpServer startUserInfo() {
+        try {
+            var server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/user", exchange -> {
+                USER_INFO_CALLS.incrementAndGet();
+                var bytes = "{\"username\":\"user\",\"authorities\":[{\"authority\":\"ROLE_USER\"}]}"
+                        .getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, bytes.length);
+                exchange.getResponseBody().write(bytes);
+                exchange.close();
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void userInfo(DynamicPropertyRegistry registry) {
+        registry.add("security.oauth2.resource.userInfoUri",
+                () -> "http://127.0.0.1:" + USER_INFO.getAddress().getPort() + "/user");
+    }
+
+    @AfterAll
+    static void stopUserInfo() {
+        USER_INFO.stop(0);
+    }
+
+    @Test
+    void whenSameTokenTwiceThenResourceServerCallsUserInfoOnce() throws Exception {
+        when(filterService.save(any(Filter.class))).thenReturn(Optional.of(new Filter(1, 1, 1, 0, 0, 0)));
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/filter/")
+                            .header("Authorization", "Bearer context-token")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"userId\":1,\"categoryId\":1,\"topicId\":1}"))
+                    .andExpect(status().isCreated());
+        }
+        assertThat(tokenServices).isInstanceOf(CachingTokenServices.class);
+        assertThat(USER_INFO_CALLS.get()).isEqualTo(1);
+        assertThat(((CachingTokenServices) tokenServices).stats().hitCount()).isEqualTo(1L);
+    }
+}
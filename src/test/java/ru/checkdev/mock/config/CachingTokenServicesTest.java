@@ -0,0 +1,179 @@
+package ru.checkdev.mock.config;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.UserInfoTokenServices;
+import org.springframework.security.oauth2.common.exceptions.InvalidTokenException;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachingTokenServicesTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    private final MovingClock clock = new MovingClock();
+
+    private HttpServer authServer;
+
+    private UserInfoTokenServices userInfo;
+
+    @BeforeEach
+    void startAuthServer() throws Exception {
+        authServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        authServer.createContext("/user", exchange -> {
+            upstreamCalls.incrementAndGet();
+            var authorized = exchange.getRequestHeaders().getFirst("Authorization");
+            var body = "Bearer bad".equals(authorized)
+                    ? "{\"error\":\"invalid_token\"}"
+                    : "Bearer expiring".equals(authorized)
+                    ? "{\"username\":\"user\",\"exp\":" + NOW.plusSeconds(30).getEpochSecond() + "}"
+                    : "{\"username\":\"user\",\"authorities\":[{\"authority\":\"ROLE_USER\"}]}";
+            var bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        });
+        authServer.start();
+        userInfo = new UserInfoTokenServices(
+                "http://localhost:" + authServer.getAddress().getPort() + "/user", "client");
+    }
+
+    @AfterEach
+    void stopAuthServer() {
+        authServer.stop(0);
+    }
+
+    @Test
+    void whenSameTokenTwiceThenOneUpstreamCall() {
+        var tokenServices = new CachingTokenServices(userInfo, null, 100, 60);
+        var first = tokenServices.loadAuthentication("token");
+        var second = tokenServices.loadAuthentication("token");
+        assertThat(second).isSameAs(first);
+        assertThat(first.getName()).isEqualTo("user");
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+        assertThat(tokenServices.stats().hitCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void whenOtherTokenThenUpstreamCalledAgain() {
+        var tokenServices = new CachingTokenServices(userInfo, null, 100, 60);
+        tokenServices.loadAuthentication("token");
+        tokenServices.loadAuthentication("other");
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void whenTokenRejectedThenNotCached() {
+        var tokenServices = new CachingTokenServices(userInfo, null, 100, 60);
+        assertThatThrownBy(() -> tokenServices.loadAuthentication("bad"))
+                .isInstanceOf(InvalidTokenException.class);
+        assertThatThrownBy(() -> tokenServices.loadAuthentication("bad"))
+                .isInstanceOf(InvalidTokenException.class);
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void whenTokenExpiresBeforeTtlThenEntryEndsAtExp() {
+        var tokenServices = new CachingTokenServices(userInfo, null, 100, 60, clock);
+        tokenServices.loadAuthentication("expiring");
+        clock.instant = NOW.plusSeconds(29);
+        tokenServices.loadAuthentication("expiring");
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+        clock.instant = NOW.plusSeconds(30);
+        tokenServices.loadAuthentication("expiring");
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void whenTokenAlreadyExpiredThenNotCached() {
+        var tokenServices = new CachingTokenServices(userInfo, null, 100, 60, clock);
+        clock.instant = NOW.plusSeconds(31);
+        tokenServices.loadAuthentication("expiring");
+        tokenServices.loadAuthentication("expiring");
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void whenJwtSignedWithSecretThenVerifiedLocally() throws Exception {
+        var tokenServices = new CachingTokenServices(userInfo, decoder(), 100, 60);
+        var authentication = tokenServices.loadAuthentication(jwt(SECRET, Instant.now().plusSeconds(60)));
+        assertThat(authentication.getName()).isEqualTo("user");
+        assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_ADMIN");
+        assertThat(upstreamCalls.get()).isZero();
+    }
+
+    @Test
+    void whenJwtExpiredOrForgedThenRejected() throws Exception {
+        var tokenServices = new CachingTokenServices(userInfo, decoder(), 100, 60);
+        var expired = jwt(SECRET, Instant.now().minusSeconds(600));
+        var forged = jwt("fedcba9876543210fedcba9876543210", Instant.now().plusSeconds(60));
+        assertThatThrownBy(() -> tokenServices.loadAuthentication(expired))
+                .isInstanceOf(InvalidTokenException.class);
+        assertThatThrownBy(() -> tokenServices.loadAuthentication(forged))
+                .isInstanceOf(InvalidTokenException.class);
+        assertThat(upstreamCalls.get()).isZero();
+    }
+
+    private static NimbusJwtDecoder decoder() {
+        return NimbusJwtDecoder
+                .withSecretKey(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"))
+                .build();
+    }
+
+    private static String jwt(String secret, Instant expiresAt) throws Exception {
+        var claims = new JWTClaimsSet.Builder()
+                .claim("user_name", "user")
+                .claim("authorities", List.of("ROLE_ADMIN"))
+                .claim("client_id", "client")
+                .expirationTime(Date.from(expiresAt))
+                .build();
+        var jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+        jwt.sign(new MACSigner(secret.getBytes(StandardCharsets.UTF_8)));
+        return jwt.serialize();
+    }
+
+    private static final class MovingClock extends Clock {
+
+        private Instant instant = NOW;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package ru.checkdev.mock.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestConcurrencyLimitFilterTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(RequestConcurrencyLimitFilter.class);
+
+    @Test
+    void whenVirtualThreadsDisabledThenNoFilter() {
+        contextRunner.withPropertyValues("server.virtual-threads.enabled=false")
+                .run(context -> assertThat(context).doesNotHaveBean(RequestConcurrencyLimitFilter.class));
+    }
+
+    @Test
+    void whenVirtualThreadsEnabledThenFilterRegistered() {
+        contextRunner.withPropertyValues("server.virtual-threads.enabled=true")
+                .run(context -> assertThat(context).hasSingleBean(RequestConcurrencyLimitFilter.class));
+    }
+
+    @Test
+    void whenLimitReachedThenServiceUnavailable() throws Exception {
+        var filter = new RequestConcurrencyLimitFilter(1, 10);
+        var entered = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var blocking = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                entered.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        var first = CompletableFuture.runAsync(() -> {
+            try {
+                filter.doFilter(request("/interviews/"), new MockHttpServletResponse(), new MockFilterChain(blocking));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        var rejected = new MockHttpServletResponse();
+        filter.doFilter(request("/wishers/dto/"), rejected, new MockFilterChain());
+        var actuator = new MockHttpServletResponse();
+        filter.doFilter(request("/actuator/health"), actuator, new MockFilterChain());
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(actuator.getStatus()).isEqualTo(200);
+        assertThat(filter.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void whenAsyncRequestThenPermitHeldUntilAsyncComplete() throws Exception {
+        var filter = new RequestConcurrencyLimitFilter(1, 10);
+        var streaming = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                req.startAsync();
+            }
+        };
+        var export = request("/interviews/export.csv");
+        export.setAsyncSupported(true);
+        filter.doFilter(export, new MockHttpServletResponse(), new MockFilterChain(streaming));
+
+        var rejected = new MockHttpServletResponse();
+        filter.doFilter(request("/interviews/"), rejected, new MockFilterChain());
+        assertThat(filter.availablePermits()).isZero();
+        assertThat(rejected.getStatus()).isEqualTo(503);
+
+        ((MockAsyncContext) export.getAsyncContext()).complete();
+        assertThat(filter.availablePermits()).isEqualTo(1);
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+}
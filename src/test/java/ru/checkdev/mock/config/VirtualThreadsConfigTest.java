@@ -0,0 +1,23 @@
+package ru.checkdev.mock.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VirtualThreadsConfigTest {
+
+    @Test
+    void whenJava21ThenExecutorRunsTasksElseStartupFails() throws Exception {
+        if (Runtime.version().feature() < 21) {
+            assertThrows(IllegalStateException.class, VirtualThreadsConfig::newVirtualThreadPerTaskExecutor);
+            return;
+        }
+        var executor = VirtualThreadsConfig.newVirtualThreadPerTaskExecutor();
+        var virtual = executor.submit(() -> Thread.class.getMethod("isVirtual").invoke(Thread.currentThread()));
+        assertThat(virtual.get(5, TimeUnit.SECONDS)).isEqualTo(true);
+        executor.shutdown();
+    }
+}
@@ -132,4 +132,19 @@ class StatusInterviewConverterTest {
         StatusInterview actual = converter.convertToEntityAttribute(notFoundId);
         assertThat(actual).isEqualTo(expect);
     }
-}
\ No newline at end of file
+
+    @Test
+    void whenConvertToEntityAttributeIdAboveRangeThenIsUnknown() {
+        StatusInterviewConverter converter = new StatusInterviewConverter();
+        StatusInterview actual = converter.convertToEntityAttribute(StatusInterview.values().length);
+        assertThat(actual).isEqualTo(StatusInterview.IS_UNKNOWN);
+    }
+
+    @Test
+    void whenByIdOfEveryStatusThenSameStatus() {
+        for (StatusInterview status : StatusInterview.values()) {
+            assertThat(StatusInterview.byId(StatusInterview.idOf(status))).isSameAs(status);
+        }
+        assertThat(StatusInterview.idOf(null)).isEqualTo(StatusInterview.IS_UNKNOWN.getId());
+    }
+}
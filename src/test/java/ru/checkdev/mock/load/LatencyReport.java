@@ -0,0 +1,87 @@
+package ru.checkdev.mock.load;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Задержки запросов по видам. Задержка считается от запланированного момента отправки,
+ * поэтому ожидание в очереди клиента из-за медленных ответов тоже попадает в перцентили.
+ * Пропускная способность - число ответов за время от начала замера до последнего ответа:
+ * при перегрузке она ниже заданной частоты запросов.
+ */
+final class LatencyReport {
+
+    private final Map<LoadRequest, ConcurrentLinkedQueue<Long>> latencies = new EnumMap<>(LoadRequest.class);
+
+    private final Map<LoadRequest, AtomicInteger> errors = new EnumMap<>(LoadRequest.class);
+
+    private final long start;
+
+    private final AtomicLong last;
+
+    /**
+     * @param start начало замера, System.nanoTime()
+     */
+    LatencyReport(long start) {
+        this.start = start;
+        this.last = new AtomicLong(start);
+        for (var request : LoadRequest.values()) {
+            latencies.put(request, new ConcurrentLinkedQueue<>());
+            errors.put(request, new AtomicInteger());
+        }
+    }
+
+    void record(LoadRequest request, long nanos, boolean success) {
+        last.accumulateAndGet(System.nanoTime(), Math::max);
+        latencies.get(request).add(nanos);
+        if (!success) {
+            errors.get(request).incrementAndGet();
+        }
+    }
+
+    int errors() {
+        return errors.values().stream().mapToInt(AtomicInteger::get).sum();
+    }
+
+    int completed(LoadRequest request) {
+        return latencies.get(request).size();
+    }
+
+    /**
+     * Таблица: число запросов, ошибки, пропускная способность и p50/p99/p999 в миллисекундах.
+     *
+     * @return отчет
+     */
+    String format() {
+        var seconds = Math.max(1, last.get() - start) / 1_000_000_000.0;
+        var all = latencies.values().stream().flatMap(ConcurrentLinkedQueue::stream)
+                .mapToLong(Long::longValue).toArray();
+        var lines = Arrays.stream(LoadRequest.values())
+                .map(request -> line(request.name(),
+                        latencies.get(request).stream().mapToLong(Long::longValue).toArray(),
+                        errors.get(request).get(), seconds))
+                .collect(Collectors.joining("\n"));
+        return String.format("%-18s %8s %7s %9s %9s %9s %9s%n", "request", "count", "errors", "req/s",
+                "p50 ms", "p99 ms", "p999 ms")
+                + lines + "\n" + line("TOTAL", all, errors(), seconds);
+    }
+
+    private static String line(String name, long[] nanos, int errors, double seconds) {
+        Arrays.sort(nanos);
+        return String.format("%-18s %8d %7d %9.1f %9.1f %9.1f %9.1f", name, nanos.length, errors,
+                nanos.length / seconds, percentile(nanos, 0.50), percentile(nanos, 0.99), percentile(nanos, 0.999));
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        var index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,40 @@
+package ru.checkdev.mock.load;
+
+/**
+ * Виды запросов смешанной нагрузки и их доля в процентах.
+ * Чтения - списки собеседований, фильтр, заявки и отзывы по собеседованию,
+ * записи - новые собеседования, заявки и отзывы и частичное изменение собеседования.
+ */
+enum LoadRequest {
+    INTERVIEWS_PAGE(25),
+    FILTERED_PAGE(25),
+    WISHERS_DTO(20),
+    FEEDBACK(15),
+    CREATE_INTERVIEW(4),
+    PATCH_INTERVIEW(4),
+    CREATE_WISHER(4),
+    CREATE_FEEDBACK(3);
+
+    private final int percent;
+
+    LoadRequest(int percent) {
+        this.percent = percent;
+    }
+
+    /**
+     * Вид запроса по числу от 0 до 99 в соответствии с долями.
+     *
+     * @param dice случайное число от 0 до 99
+     * @return LoadRequest
+     */
+    static LoadRequest pick(int dice) {
+        var bound = 0;
+        for (var request : values()) {
+            bound += request.percent;
+            if (dice < bound) {
+                return request;
+            }
+        }
+        throw new IllegalArgumentException("Dice out of range: " + dice);
+    }
+}
@@ -0,0 +1,92 @@
+package ru.checkdev.mock.load;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Заполнение interview, wisher, cd_feedback и cd_filter для нагрузочного теста.
+ * Вставка пакетами через JDBC без функций конкретной базы, поэтому работает и на H2, и на Postgres.
+ * Генератор случайных чисел с постоянным зерном: при тех же объемах данные одинаковы между запусками.
+ */
+final class LoadSeeder {
+
+    static final int TOPICS = 20;
+
+    private static final int CHUNK = 1000;
+
+    private static final String ADDITIONAL = "Подготовка к собеседованию: коллекции, многопоточность, Spring, "
+            + "SQL, транзакции, разбор задач и вопросы по проекту. ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Random random = new Random(42);
+
+    LoadSeeder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Очищает таблицы и заполняет их заново.
+     *
+     * @param interviews число собеседований, заявок втрое больше, отзывы у каждого второго собеседования
+     * @param users      число пользователей с сохраненным фильтром
+     * @return ID собеседований
+     */
+    List<Integer> seed(int interviews, int users) {
+        jdbcTemplate.update("DELETE FROM cd_pending_feedback");
+        jdbcTemplate.update("DELETE FROM cd_feedback");
+        jdbcTemplate.update("DELETE FROM wisher");
+        jdbcTemplate.update("DELETE FROM interview");
+        jdbcTemplate.update("DELETE FROM cd_filter");
+        var createDate = new Timestamp(System.currentTimeMillis());
+        var rows = new ArrayList<Object[]>(CHUNK);
+        for (int i = 0; i < interviews; i++) {
+            rows.add(new Object[] {i % 2 + 1, random.nextInt(users) + 1, "Собеседование " + i,
+                    ADDITIONAL.repeat(1 + random.nextInt(6)), "t.me/user" + i, createDate,
+                    random.nextInt(TOPICS) + 1, "user" + i, 1 + random.nextInt(5)});
+            flush(rows, """
+                    INSERT INTO interview(mode, submitter_id, title, additional, contact_by, approximate_date,
+                                          create_date, topic_id, author, status)
+                    VALUES (?, ?, ?, ?, ?, 'в течение недели', ?, ?, ?, ?)
+                    """, i == interviews - 1);
+        }
+        var ids = jdbcTemplate.queryForList("SELECT id FROM interview ORDER BY id", Integer.class);
+        for (int i = 0; i < ids.size(); i++) {
+            var first = random.nextInt(users);
+            for (int w = 0; w < 3; w++) {
+                rows.add(new Object[] {ids.get(i), (first + w) % users + 1, "t.me/wisher" + w, w == 0});
+            }
+            flush(rows, "INSERT INTO wisher(interview_id, user_id, contact_by, approve) VALUES (?, ?, ?, ?)",
+                    i == ids.size() - 1);
+        }
+        for (int i = 0; i < ids.size(); i += 2) {
+            for (int role = 1; role <= 2; role++) {
+                rows.add(new Object[] {ids.get(i), random.nextInt(users) + 1, role,
+                        "Хорошо объясняет, стоит подтянуть SQL", 1 + random.nextInt(5)});
+            }
+            flush(rows, """
+                    INSERT INTO cd_feedback(interview_id, user_id, role_in_interview, text_feedback, scope)
+                    VALUES (?, ?, ?, ?, ?)
+                    """, i + 2 >= ids.size());
+        }
+        for (int user = 1; user <= users; user++) {
+            rows.add(new Object[] {user, 1, random.nextInt(TOPICS) + 1, random.nextInt(6), random.nextInt(3)});
+            flush(rows, """
+                    INSERT INTO cd_filter(user_id, category_id, topic_id, filter_profile, status, _mode)
+                    VALUES (?, ?, ?, 0, ?, ?)
+                    """, user == users);
+        }
+        return ids;
+    }
+
+    private void flush(List<Object[]> rows, String sql, boolean last) {
+        if (rows.size() >= CHUNK || last && !rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+}
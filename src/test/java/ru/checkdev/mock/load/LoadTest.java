@@ -0,0 +1,210 @@
+package ru.checkdev.mock.load;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.checkdev.mock.MockSrv;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Нагрузочный тест REST API: смешанная нагрузка LoadRequest с постоянной частотой поступления запросов
+ * (открытая модель: запрос отправляется по расписанию, не дожидаясь предыдущих ответов).
+ * Отчет - число запросов, ошибки, пропускная способность и p50/p99/p999 по видам запросов -
+ * пишется в лог и в target/load-report.txt.
+ * Сервис авторизации заменен UserInfoStub, база по умолчанию H2 в памяти в режиме PostgreSQL.
+ * Запуск: mvn -Pload test
+ * Параметры (-D): load.rate - запросов в секунду (50), load.seconds - длительность замера (30),
+ * load.warmup-seconds - прогрев (10), load.interviews - число собеседований (20000),
+ * load.users - число пользователей (2000).
+ * Для локального Postgres укажите spring.datasource.url, username, password, driver-class-name
+ * и spring.jpa.database-platform.
+ */
+@Slf4j
+@SpringBootTest(classes = MockSrv.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.jpa.show-sql=false", "logging.level.ru.checkdev=WARN"})
+@EnabledIfSystemProperty(named = "load", matches = "true")
+class LoadTest {
+
+    private static final int RATE = Integer.getInteger("load.rate", 50);
+
+    private static final int SECONDS = Integer.getInteger("load.seconds", 30);
+
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmup-seconds", 10);
+
+    private static final int INTERVIEWS = Integer.getInteger("load.interviews", 20_000);
+
+    private static final int USERS = Integer.getInteger("load.users", 2_000);
+
+    private static final int TOKENS = 50;
+
+    private static final UserInfoStub USER_INFO = startUserInfo();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Random random = new Random(7);
+
+    private final AtomicInteger newUsers = new AtomicInteger(1_000_000);
+
+    private final ExecutorService clientExecutor = Executors.newCachedThreadPool();
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(clientExecutor)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private List<Integer> interviewIds;
+
+    private static UserInfoStub startUserInfo() {
+        try {
+            return new UserInfoStub();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void userInfo(DynamicPropertyRegistry registry) {
+        registry.add("security.oauth2.resource.userInfoUri", USER_INFO::userInfoUri);
+    }
+
+    @AfterEach
+    void stopClient() {
+        clientExecutor.shutdownNow();
+    }
+
+    @AfterAll
+    static void stopUserInfo() {
+        USER_INFO.close();
+    }
+
+    @Test
+    void mixedWorkloadAtFixedRate() throws Exception {
+        long seeding = System.nanoTime();
+        interviewIds = new LoadSeeder(jdbcTemplate).seed(INTERVIEWS, USERS);
+        log.warn("Seeded {} interviews, {} wishers, {} feedbacks, {} filters in {} s",
+                interviewIds.size(), count("wisher"), count("cd_feedback"), count("cd_filter"),
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - seeding));
+        run(WARMUP_SECONDS);
+        var report = run(SECONDS);
+        var database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getURL());
+        var text = String.format("rate %d req/s, %d s, %d interviews, database %s%n%s%nuser-info calls %d",
+                RATE, SECONDS, INTERVIEWS, database, report.format(), USER_INFO.calls());
+        log.warn("\n{}", text);
+        Files.writeString(Path.of("target", "load-report.txt"), text);
+        for (var request : LoadRequest.values()) {
+            assertThat(report.completed(request)).isPositive();
+        }
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+    /**
+     * Отправляет RATE запросов в секунду в течение seconds секунд и ждет все ответы.
+     */
+    private LatencyReport run(int seconds) throws Exception {
+        var interval = TimeUnit.SECONDS.toNanos(1) / RATE;
+        var total = (long) RATE * seconds;
+        var pending = new ArrayList<CompletableFuture<?>>((int) total);
+        var start = System.nanoTime();
+        var report = new LatencyReport(start);
+        for (long i = 0; i < total; i++) {
+            var intended = start + i * interval;
+            for (var wait = intended - System.nanoTime(); wait > 0; wait = intended - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+            var kind = LoadRequest.pick(random.nextInt(100));
+            pending.add(client.sendAsync(request(kind), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> report.record(kind, System.nanoTime() - intended,
+                            error == null && response.statusCode() < 400)));
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new))
+                .handle((ignored, error) -> null)
+                .get(2, TimeUnit.MINUTES);
+        return report;
+    }
+
+    private HttpRequest request(LoadRequest kind) {
+        var interviewId = interviewIds.get(random.nextInt(interviewIds.size()));
+        var user = random.nextInt(USERS) + 1;
+        return switch (kind) {
+            case INTERVIEWS_PAGE -> get("/interviews/?page=" + random.nextInt(50) + "&size=20").build();
+            case FILTERED_PAGE -> get("/interviews/getInterviews?page=" + random.nextInt(3) + "&size=20")
+                    .header("filter-request-params", String.format(
+                            "{\"topicIds\":[%d],\"submitterId\":0,\"wisherId\":0,\"agreedWisherId\":0,"
+                                    + "\"status\":%d,\"mode\":%d,\"exclude\":false}",
+                            random.nextInt(LoadSeeder.TOPICS) + 1, random.nextInt(6), random.nextInt(3)))
+                    .build();
+            case WISHERS_DTO -> get("/wishers/dto/" + interviewId).build();
+            case FEEDBACK -> get("/feedback/" + interviewId).build();
+            case CREATE_INTERVIEW -> json("POST", "/interview/", String.format(
+                    "{\"mode\":1,\"statusId\":1,\"submitterId\":%d,\"title\":\"Новое собеседование\","
+                            + "\"additional\":\"Spring и SQL\",\"contactBy\":\"t.me/new\","
+                            + "\"approximateDate\":\"завтра\",\"topicId\":%d,\"author\":\"user%d\"}",
+                    user, random.nextInt(LoadSeeder.TOPICS) + 1, user));
+            case PATCH_INTERVIEW -> json("PATCH", "/interview/" + interviewId,
+                    "{\"title\":\"Собеседование " + random.nextInt() + "\"}");
+            case CREATE_WISHER -> json("POST", "/wisher/", String.format(
+                    "{\"interviewId\":%d,\"userId\":%d,\"contactBy\":\"t.me/wisher\",\"approve\":false}",
+                    interviewId, newUsers.incrementAndGet()));
+            case CREATE_FEEDBACK -> json("POST", "/feedback/", String.format(
+                    "{\"interviewId\":%d,\"userId\":%d,\"roleInInterview\":2,"
+                            + "\"textFeedback\":\"Полезное собеседование\",\"scope\":5}",
+                    interviewId, newUsers.incrementAndGet()));
+        };
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET();
+    }
+
+    private HttpRequest json(String method, String path, String body) {
+        return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + URLEncoder.encode("load-token-" + random.nextInt(TOKENS),
+                        StandardCharsets.UTF_8))
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
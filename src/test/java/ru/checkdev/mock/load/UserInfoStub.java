@@ -0,0 +1,57 @@
+package ru.checkdev.mock.load;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Заглушка сервиса авторизации: GET /user отвечает пользователем на любой Bearer токен.
+ * Подставляется в security.oauth2.resource.userInfoUri, поэтому нагрузочный тест не ходит в сеть.
+ */
+final class UserInfoStub implements AutoCloseable {
+
+    private static final byte[] USER = """
+            {"id":1,"name":"load","username":"load","authorities":[{"authority":"ROLE_USER"}]}
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    UserInfoStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.createContext("/user", exchange -> {
+            calls.incrementAndGet();
+            var authorization = exchange.getRequestHeaders().getFirst("Authorization");
+            if (authorization == null || !authorization.startsWith("Bearer ")) {
+                exchange.sendResponseHeaders(401, -1);
+                exchange.close();
+                return;
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, USER.length);
+            try (var body = exchange.getResponseBody()) {
+                body.write(USER);
+            }
+        });
+        server.start();
+    }
+
+    String userInfoUri() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/user";
+    }
+
+    int calls() {
+        return calls.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,105 @@
+package ru.checkdev.mock.repository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import ru.checkdev.mock.domain.Feedback;
+import ru.checkdev.mock.domain.Interview;
+import ru.checkdev.mock.domain.Wisher;
+
+import javax.persistence.EntityManager;
+import java.sql.Timestamp;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Id берутся из последовательностей блоками, поэтому сохранение многих записей
+ * готовит по одному INSERT на пакет hibernate.jdbc.batch_size, а не на каждую запись.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@RunWith(SpringRunner.class)
+class BatchInsertTest {
+
+    private static final int ROWS = 120;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private WisherRepository wisherRepository;
+
+    private Interview interview;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void initTable() {
+        entityManager.createQuery("DELETE FROM cd_feedback").executeUpdate();
+        entityManager.createQuery("DELETE FROM wisher").executeUpdate();
+        entityManager.createNativeQuery("""
+                INSERT INTO interview(mode, submitter_id, title, additional, contact_by, approximate_date,
+                                      create_date, topic_id, author, status)
+                VALUES (1, 1, 'by sql', 'additional', 'contact', 'now', CURRENT_TIMESTAMP, 1, 'author', 1)
+                """).executeUpdate();
+        interview = Interview.of().mode(1).submitterId(1).title("title").additional("additional")
+                .contactBy("mail@mail").approximateDate("approximate")
+                .createDate(new Timestamp(System.currentTimeMillis()))
+                .topicId(1).author("author")
+                .build();
+        entityManager.persist(interview);
+        entityManager.flush();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void whenSaveAllFeedbacksThenInsertsBatched() {
+        var feedbacks = IntStream.rangeClosed(1, ROWS)
+                .mapToObj(i -> new Feedback(0, interview, i, 1, "text", 5))
+                .toList();
+        feedbackRepository.saveAll(feedbacks);
+        feedbackRepository.flush();
+        assertThat(feedbacks).extracting(Feedback::getId).doesNotHaveDuplicates().doesNotContain(0);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(10);
+    }
+
+    @Test
+    void whenSaveAllWishersThenInsertsBatched() {
+        var wishers = IntStream.rangeClosed(1, ROWS)
+                .mapToObj(i -> Wisher.of().interview(interview).userId(i).contactBy("contact").build())
+                .toList();
+        wisherRepository.saveAll(wishers);
+        wisherRepository.flush();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(10);
+    }
+
+    @Test
+    void whenRowsInsertedBySqlAndHibernateThenIdsDoNotCollide() {
+        entityManager.createNativeQuery("""
+                INSERT INTO cd_feedback(interview_id, user_id, role_in_interview, text_feedback, scope)
+                VALUES (:interviewId, 1, 1, 'by sql', 5)
+                """).setParameter("interviewId", interview.getId()).executeUpdate();
+        feedbackRepository.saveAll(IntStream.rangeClosed(1, ROWS)
+                .mapToObj(i -> new Feedback(0, interview, i, 1, "text", 5))
+                .toList());
+        feedbackRepository.flush();
+        entityManager.createNativeQuery("""
+                INSERT INTO cd_feedback(interview_id, user_id, role_in_interview, text_feedback, scope)
+                VALUES (:interviewId, 2, 1, 'by sql', 5)
+                """).setParameter("interviewId", interview.getId()).executeUpdate();
+        var distinct = entityManager.createNativeQuery("SELECT COUNT(DISTINCT id) FROM cd_feedback")
+                .getSingleResult();
+        assertThat(((Number) distinct).intValue()).isEqualTo(ROWS + 2);
+    }
+}
@@ -45,6 +45,7 @@ class FeedbackRepositoryTest {
         interview.setAuthor("author");
         entityManager.createQuery("DELETE FROM cd_feedback").executeUpdate();
         entityManager.persist(interview);
+        entityManager.flush();
         entityManager.clear();
     }
 
@@ -77,6 +78,7 @@ class FeedbackRepositoryTest {
     void thenFindByInterviewIdAndUserIdThenReturnFeedbackDTO() {
         var feedback1 = new Feedback(0, interview, 1, 2, "text1", 4);
         entityManager.persist(feedback1);
+        entityManager.flush();
         entityManager.clear();
         var feedbackDto1 = FeedbackMapper.getFeedbackDTO(feedback1);
         var actual = repository.findByInterviewIdAndUserId(feedbackDto1.getInterviewId(), feedbackDto1.getUserId());
@@ -12,12 +12,18 @@ import org.springframework.test.context.junit4.SpringRunner;
 import ru.checkdev.mock.domain.Feedback;
 import ru.checkdev.mock.domain.Interview;
 import ru.checkdev.mock.domain.Wisher;
+import ru.checkdev.mock.dto.FilterRequestParams;
+import ru.checkdev.mock.dto.InterviewDTO;
 import ru.checkdev.mock.enums.StatusInterview;
+import ru.checkdev.mock.mapper.InterviewMapper;
+import ru.checkdev.mock.service.InterviewFilterSpecifications;
 
 import javax.persistence.EntityManager;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.hamcrest.core.Is.is;
@@ -33,11 +39,16 @@ class InterviewRepositoryTest {
     @Autowired
     private InterviewRepository interviewRepository;
 
+    @Autowired
+    private PendingFeedbackRepository pendingFeedbackRepository;
+
     @BeforeEach
     void clearTables() {
+        entityManager.createQuery("delete from cd_pending_feedback").executeUpdate();
         entityManager.createQuery("delete from cd_feedback").executeUpdate();
         entityManager.createQuery("delete from wisher").executeUpdate();
         entityManager.createQuery("delete from interview").executeUpdate();
+        entityManager.flush();
         entityManager.clear();
     }
 
@@ -60,14 +71,14 @@ class InterviewRepositoryTest {
         interview.setTopicId(1);
         interview.setAuthor("author");
         entityManager.persist(interview);
-        var interviews = interviewRepository.findByMode(1);
+        var interviews = interviewRepository.findDtoByMode(1);
         assertTrue(interviews.size() > 0);
-        Assertions.assertEquals(interviews.get(0), interview);
+        Assertions.assertEquals(interviews.get(0).getId(), interview.getId());
     }
 
     @Test
     public void whenInterviewNotFoundByType() {
-        var interviews = interviewRepository.findByMode(1);
+        var interviews = interviewRepository.findDtoByMode(1);
         Assertions.assertEquals(0, interviews.size());
     }
 
@@ -92,7 +103,7 @@ class InterviewRepositoryTest {
         entityManager.persist(interview);
         int userId = 2;
         var status = StatusInterview.IS_NEW;
-        var page = interviewRepository.findAllByUserIdRelated(userId, status, List.of(1), PageRequest.of(0, 10));
+        var page = interviewRepository.findDtoByUserIdRelated(userId, status, PageRequest.of(0, 10));
         MatcherAssert.assertThat(page.getTotalElements(), is(0L));
     }
 
@@ -111,10 +122,35 @@ class InterviewRepositoryTest {
         entityManager.persist(interview);
         int userId = 1;
         var status = StatusInterview.IS_NEW;
-        var page = interviewRepository.findAllByUserIdRelated(userId, status, List.of(1), PageRequest.of(0, 10));
+        var page = interviewRepository.findDtoByUserIdRelated(userId, status, PageRequest.of(0, 10));
         MatcherAssert.assertThat(page.getTotalElements(), is(1L));
     }
 
+    @Test
+    void whenFindAllByUserIdRelatedAndUserIsApprovedWisherThenFound() {
+        var interview = Interview.of()
+                .mode(1)
+                .status(StatusInterview.IN_PROGRESS)
+                .submitterId(1)
+                .title("title")
+                .contactBy("contact")
+                .approximateDate("now")
+                .createDate(new Timestamp(System.currentTimeMillis()))
+                .topicId(1)
+                .author("author")
+                .build();
+        entityManager.persist(interview);
+        entityManager.persist(Wisher.of().interview(interview).userId(2).approve(true).build());
+        entityManager.persist(Wisher.of().interview(interview).userId(3).approve(false).build());
+        entityManager.flush();
+        entityManager.clear();
+        var status = StatusInterview.IS_NEW;
+        var approved = interviewRepository.findDtoByUserIdRelated(2, status, PageRequest.of(0, 10));
+        var notApproved = interviewRepository.findDtoByUserIdRelated(3, status, PageRequest.of(0, 10));
+        MatcherAssert.assertThat(approved.getTotalElements(), is(1L));
+        MatcherAssert.assertThat(notApproved.getTotalElements(), is(0L));
+    }
+
     @Test
     public void whenUpdateStatusInterviewThenUpdateStatus() {
         var newStatus = StatusInterview.IS_CANCELED;
@@ -130,13 +166,75 @@ class InterviewRepositoryTest {
         interview.setTopicId(1);
         interview.setAuthor("author");
         entityManager.persist(interview);
+        entityManager.flush();
         entityManager.clear();
-        interviewRepository.updateStatus(interview.getId(), newStatus);
+        var updated = interviewRepository.updateStatus(interview.getId(), newStatus, newStatus.sources());
         var interviewInDb = interviewRepository.findById(interview.getId());
+        assertThat(updated).isEqualTo(1);
         assertThat(interviewInDb.isPresent()).isTrue();
         assertThat(interviewInDb.get().getStatus()).isEqualTo(newStatus);
     }
 
+    @Test
+    public void whenUpdateStatusFromUnexpectedStatusThenNotUpdateStatus() {
+        var interview = persistInterview(StatusInterview.IS_COMPLETED, 1, 0);
+        var updated = interviewRepository.updateStatus(interview.getId(), StatusInterview.IS_CANCELED,
+                StatusInterview.IS_CANCELED.sources());
+        assertThat(updated).isZero();
+        assertThat(interviewRepository.findById(interview.getId()).orElseThrow().getStatus())
+                .isEqualTo(StatusInterview.IS_COMPLETED);
+    }
+
+    @Test
+    public void whenFeedbackOfOneSideThenAwaitingFeedbackAndOfBothThenCompleted() {
+        var interview = persistInterview(StatusInterview.IN_PROGRESS, 1, 2);
+        var other = persistInterview(StatusInterview.IN_PROGRESS, 1, 2);
+        entityManager.persist(new Feedback(0, interview, 1, 1, "submitter", 5));
+        entityManager.persist(new Feedback(0, other, 3, 2, "stranger", 5));
+        entityManager.flush();
+        var ids = List.of(interview.getId(), other.getId());
+        assertThat(interviewRepository.updateStatusByBothFeedbacks(ids,
+                StatusInterview.IS_COMPLETED, StatusInterview.IS_COMPLETED.sources())).isZero();
+        assertThat(interviewRepository.updateStatusByAnyFeedback(ids,
+                StatusInterview.IS_FEEDBACK, StatusInterview.IS_FEEDBACK.sources())).isEqualTo(1);
+
+        entityManager.persist(new Feedback(0, interview, 2, 2, "wisher", 5));
+        entityManager.flush();
+        assertThat(interviewRepository.updateStatusByBothFeedbacks(ids,
+                StatusInterview.IS_COMPLETED, StatusInterview.IS_COMPLETED.sources())).isEqualTo(1);
+        assertThat(interviewRepository.updateStatusByAnyFeedback(ids,
+                StatusInterview.IS_FEEDBACK, StatusInterview.IS_FEEDBACK.sources())).isZero();
+        entityManager.clear();
+        assertThat(interviewRepository.findById(interview.getId()).orElseThrow().getStatus())
+                .isEqualTo(StatusInterview.IS_COMPLETED);
+        assertThat(interviewRepository.findById(other.getId()).orElseThrow().getStatus())
+                .isEqualTo(StatusInterview.IN_PROGRESS);
+    }
+
+    /**
+     * Заполняет cd_pending_feedback по interview, wisher и cd_feedback и читает собеседования,
+     * на которые пользователь должен оставить отзыв.
+     */
+    private List<Integer> pendingFeedbackIds(int userId) {
+        pendingFeedbackRepository.deleteAllRows();
+        pendingFeedbackRepository.insertAllExpected();
+        return interviewRepository.findDtoPendingFeedback(userId).stream()
+                .map(InterviewDTO::getId)
+                .toList();
+    }
+
+    private Interview persistInterview(StatusInterview status, int submitterId, int agreedWisherId) {
+        var interview = Interview.of().mode(1).status(status).submitterId(submitterId)
+                .agreedWisherId(agreedWisherId).title("title").additional("additional")
+                .contactBy("contact").approximateDate("30.02.2070")
+                .createDate(new Timestamp(System.currentTimeMillis()))
+                .topicId(1).author("author")
+                .build();
+        entityManager.persist(interview);
+        entityManager.flush();
+        return interview;
+    }
+
     @Test
     public void whenUpdateStatusInterviewThenNotUpdateStatus() {
         var newStatus = StatusInterview.IS_CANCELED;
@@ -152,8 +250,9 @@ class InterviewRepositoryTest {
         interview.setTopicId(1);
         interview.setAuthor("author");
         entityManager.persist(interview);
+        entityManager.flush();
         entityManager.clear();
-        interviewRepository.updateStatus(interview.getId() + 99, newStatus);
+        interviewRepository.updateStatus(interview.getId() + 99, newStatus, newStatus.sources());
         var interviewInDb = interviewRepository.findById(interview.getId());
         assertThat(interviewInDb.isPresent()).isTrue();
         assertThat(interviewInDb.get().getStatus()).isEqualTo(interview.getStatus());
@@ -161,8 +260,7 @@ class InterviewRepositoryTest {
 
     @Test
     void whenFindAllNoFeedbackWhenReturnEmptyList() {
-        List<Interview> actual = interviewRepository.findAllByUserIdWisherIsApproveAndNoFeedback(-1);
-        assertThat(actual.isEmpty()).isTrue();
+        assertThat(pendingFeedbackIds(-1).isEmpty()).isTrue();
     }
 
     @Test
@@ -186,12 +284,11 @@ class InterviewRepositoryTest {
                 .approve(true)
                 .build();
         entityManager.persist(wisher);
+        entityManager.flush();
         entityManager.clear();
-        List<Interview> expected = List.of(interview);
-        List<Interview> actualBySubmitter =
-                interviewRepository.findAllByUserIdWisherIsApproveAndNoFeedback(interview.getSubmitterId());
-        List<Interview> actualByWisherUser =
-                interviewRepository.findAllByUserIdWisherIsApproveAndNoFeedback(wisher.getUserId());
+        List<Integer> expected = List.of(interview.getId());
+        List<Integer> actualBySubmitter = pendingFeedbackIds(interview.getSubmitterId());
+        List<Integer> actualByWisherUser = pendingFeedbackIds(wisher.getUserId());
         assertThat(actualBySubmitter).isEqualTo(expected);
         assertThat(actualByWisherUser).isEqualTo(expected);
     }
@@ -223,12 +320,11 @@ class InterviewRepositoryTest {
                 .textFeedback("text")
                 .build();
         entityManager.persist(feedback);
+        entityManager.flush();
         entityManager.clear();
-        List<Interview> expected = List.of(interview);
-        List<Interview> actualBySubmitter =
-                interviewRepository.findAllByUserIdWisherIsApproveAndNoFeedback(interview.getSubmitterId());
-        List<Interview> actualByWisherUser =
-                interviewRepository.findAllByUserIdWisherIsApproveAndNoFeedback(wisher.getUserId());
+        List<Integer> expected = List.of(interview.getId());
+        List<Integer> actualBySubmitter = pendingFeedbackIds(interview.getSubmitterId());
+        List<Integer> actualByWisherUser = pendingFeedbackIds(wisher.getUserId());
         assertThat(actualBySubmitter).isEqualTo(expected);
         assertThat(actualByWisherUser.isEmpty()).isTrue();
     }
@@ -260,12 +356,11 @@ class InterviewRepositoryTest {
                 .textFeedback("text")
                 .build();
         entityManager.persist(feedback);
+        entityManager.flush();
         entityManager.clear();
-        List<Interview> expected = List.of(interview);
-        List<Interview> actualBySubmitter =
-                interviewRepository.findAllByUserIdWisherIsApproveAndNoFeedback(interview.getSubmitterId());
-        List<Interview> actualByWisherUser =
-                interviewRepository.findAllByUserIdWisherIsApproveAndNoFeedback(wisher.getUserId());
+        List<Integer> expected = List.of(interview.getId());
+        List<Integer> actualBySubmitter = pendingFeedbackIds(interview.getSubmitterId());
+        List<Integer> actualByWisherUser = pendingFeedbackIds(wisher.getUserId());
         assertThat(actualBySubmitter.isEmpty()).isTrue();
         assertThat(actualByWisherUser).isEqualTo(expected);
     }
@@ -291,11 +386,10 @@ class InterviewRepositoryTest {
                 .approve(false)
                 .build();
         entityManager.persist(wisher);
+        entityManager.flush();
         entityManager.clear();
-        List<Interview> actualBySubmitter =
-                interviewRepository.findAllByUserIdWisherIsApproveAndNoFeedback(interview.getSubmitterId());
-        List<Interview> actualByWisherUser =
-                interviewRepository.findAllByUserIdWisherIsApproveAndNoFeedback(wisher.getUserId());
+        List<Integer> actualBySubmitter = pendingFeedbackIds(interview.getSubmitterId());
+        List<Integer> actualByWisherUser = pendingFeedbackIds(wisher.getUserId());
         assertThat(actualBySubmitter.isEmpty()).isTrue();
         assertThat(actualByWisherUser.isEmpty()).isTrue();
     }
@@ -333,13 +427,120 @@ class InterviewRepositoryTest {
                 .textFeedback("textUser")
                 .build();
         entityManager.persist(feedbackWisher);
+        entityManager.flush();
         entityManager.clear();
-        List<Interview> actualBySubmitter =
-                interviewRepository.findAllByUserIdWisherIsApproveAndNoFeedback(interview.getSubmitterId());
-        List<Interview> actualByWisherUser =
-                interviewRepository.findAllByUserIdWisherIsApproveAndNoFeedback(wisher.getUserId());
+        List<Integer> actualBySubmitter = pendingFeedbackIds(interview.getSubmitterId());
+        List<Integer> actualByWisherUser = pendingFeedbackIds(wisher.getUserId());
         assertThat(actualBySubmitter.isEmpty()).isTrue();
         assertThat(actualByWisherUser.isEmpty()).isTrue();
     }
 
-}
\ No newline at end of file
+
+    @Test
+    void whenFindAllBeforeCursorThenPagesFollowCreateDateAndId() {
+        for (int i = 0; i < 5; i++) {
+            entityManager.persist(Interview.of()
+                    .mode(1)
+                    .submitterId(1)
+                    .title("title" + i)
+                    .contactBy("contact")
+                    .approximateDate("now")
+                    .createDate(Timestamp.valueOf(i < 2 ? "2023-11-06 00:00:00" : "2023-11-07 00:00:00"))
+                    .topicId(1)
+                    .author("author")
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        var first = interviewRepository.findDtoSlice(PageRequest.of(0, 3));
+        assertThat(first.getNumberOfElements()).isEqualTo(3);
+        assertThat(first.hasNext()).isTrue();
+        var last = first.getContent().get(2);
+        var second = interviewRepository.findDtoSliceBeforeCursor(
+                Timestamp.valueOf(last.getCreateDate()), last.getId(), PageRequest.of(0, 3));
+        assertThat(second.getNumberOfElements()).isEqualTo(2);
+        assertThat(second.hasNext()).isFalse();
+        var ids = new ArrayList<Integer>();
+        first.forEach(interview -> ids.add(interview.getId()));
+        second.forEach(interview -> ids.add(interview.getId()));
+        assertThat(ids.stream().distinct().count()).isEqualTo(5L);
+        assertThat(second.getContent().get(0).getCreateDate()).isEqualTo("2023-11-06 00:00:00.0");
+    }
+
+    @Test
+    void whenFindDtoByIdThenProjectionEqualsMappedEntity() {
+        var interview = Interview.of()
+                .mode(1)
+                .status(StatusInterview.IN_PROGRESS)
+                .submitterId(1)
+                .title("title")
+                .additional("additional")
+                .contactBy("contact")
+                .approximateDate("now")
+                .createDate(Timestamp.valueOf("2023-11-06 00:00:00"))
+                .topicId(2)
+                .author("author")
+                .agreedWisherId(3)
+                .cancelBy("cancel")
+                .build();
+        entityManager.persist(interview);
+        entityManager.flush();
+        entityManager.clear();
+        var actual = interviewRepository.findDtoById(interview.getId());
+        assertThat(actual).isEqualTo(Optional.of(InterviewMapper.getInterviewDTO(interview)));
+    }
+
+    @Test
+    void whenFindAllDtoBySpecificationThenFilteredPage() {
+        for (int mode = 1; mode <= 2; mode++) {
+            entityManager.persist(Interview.of()
+                    .mode(mode)
+                    .status(StatusInterview.IS_NEW)
+                    .submitterId(1)
+                    .title("title")
+                    .contactBy("contact")
+                    .approximateDate("now")
+                    .createDate(new Timestamp(System.currentTimeMillis()))
+                    .topicId(1)
+                    .author("author")
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        var params = new FilterRequestParams(List.of(), 0, 0, 0, 0, 2, false);
+        var spec = new InterviewFilterSpecifications().createSpecifications(params);
+        var page = interviewRepository.findAllDto(spec, PageRequest.of(0, 10));
+        MatcherAssert.assertThat(page.getTotalElements(), is(1L));
+        MatcherAssert.assertThat(page.getContent().get(0).getMode(), is(2));
+    }
+
+    /**
+     * topic_id NOT NULL с 015, поэтому собеседование без темы имитируется через NULLIF(i.topicId, i.topicId).
+     */
+    @Test
+    void whenGetAllWithTopicIdIsNullThenTopicIs1() {
+        var interview = Interview.of()
+                .mode(3)
+                .status(StatusInterview.IS_NEW)
+                .submitterId(1)
+                .title("title")
+                .contactBy("contact")
+                .approximateDate("now")
+                .createDate(new Timestamp(System.currentTimeMillis()))
+                .topicId(5)
+                .author("author")
+                .build();
+        entityManager.persist(interview);
+        entityManager.flush();
+        entityManager.clear();
+        var noTopic = "NULLIF(i.topicId, i.topicId)";
+        var withDefault = entityManager.createQuery("SELECT "
+                        + InterviewRepository.INTERVIEW_DTO_DEFAULT_TOPIC.replace("i.topicId", noTopic)
+                        + " FROM interview i", InterviewDTO.class)
+                .getSingleResult();
+        MatcherAssert.assertThat(withDefault.getTopicId(), is(1));
+        MatcherAssert.assertThat(interviewRepository.findAllDto().get(0).getTopicId(), is(5));
+        MatcherAssert.assertThat(interviewRepository.findDtoByMode(3).get(0).getTopicId(), is(5));
+        MatcherAssert.assertThat(interviewRepository.findDtoById(interview.getId()).orElseThrow().getTopicId(), is(5));
+    }
+}
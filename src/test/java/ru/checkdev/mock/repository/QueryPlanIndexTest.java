@@ -0,0 +1,143 @@
+package ru.checkdev.mock.repository;
+
+import org.hibernate.Session;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import ru.checkdev.mock.domain.Interview;
+import ru.checkdev.mock.dto.FilterRequestParams;
+import ru.checkdev.mock.enums.StatusInterview;
+import ru.checkdev.mock.service.InterviewFilterSpecifications;
+
+import javax.persistence.EntityManager;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверка планов запросов репозиториев: ни один из них не должен читать таблицу целиком.
+ * Метод репозитория вызывается, а SQL, который при этом сформировал Hibernate (включая запрос количества
+ * для страниц), перехватывается SelectStatementCapture и передается в EXPLAIN.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.checkdev.mock.repository.SelectStatementCapture")
+class QueryPlanIndexTest {
+
+    /**
+     * Вторая страница: запрос количества выполняется, даже если таблица пуста.
+     */
+    private static final PageRequest SECOND_PAGE = PageRequest.of(1, 20);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private InterviewRepository interviewRepository;
+
+    @Autowired
+    private WisherRepository wisherRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private PendingFeedbackRepository pendingFeedbackRepository;
+
+    static Stream<Arguments> queries() {
+        return Stream.of(
+                Arguments.of("findDtoByStatusOrderByCreateDateDesc", (RepositoryCall) test ->
+                        test.interviewRepository.findDtoByStatusOrderByCreateDateDesc(StatusInterview.IS_NEW,
+                                PageRequest.of(0, 3))),
+                Arguments.of("findDtoByStatus", (RepositoryCall) test ->
+                        test.interviewRepository.findDtoByStatus(StatusInterview.IS_NEW)),
+                Arguments.of("findDtoByMode", (RepositoryCall) test ->
+                        test.interviewRepository.findDtoByMode(1)),
+                Arguments.of("streamDtoByMode", (RepositoryCall) test -> {
+                    try (var stream = test.interviewRepository.streamDtoByMode(1)) {
+                        stream.count();
+                    }
+                }),
+                Arguments.of("findDtoSlice", (RepositoryCall) test ->
+                        test.interviewRepository.findDtoSlice(PageRequest.of(0, 20))),
+                Arguments.of("findDtoSliceBeforeCursor", (RepositoryCall) test ->
+                        test.interviewRepository.findDtoSliceBeforeCursor(
+                                Timestamp.valueOf("2024-01-01 00:00:00"), 10, PageRequest.of(0, 20))),
+                Arguments.of("findDtoByUserIdRelated", (RepositoryCall) test ->
+                        test.interviewRepository.findDtoByUserIdRelated(3, StatusInterview.IS_NEW, SECOND_PAGE)),
+                Arguments.of("isAgreedWisher", (RepositoryCall) test ->
+                        test.interviewRepository.isAgreedWisher(1, 2)),
+                Arguments.of("findDtoPendingFeedback", (RepositoryCall) test ->
+                        test.interviewRepository.findDtoPendingFeedback(3)),
+                Arguments.of("findAllDto filter by submitter", (RepositoryCall) test ->
+                        test.findAllDto(new FilterRequestParams(null, 3, 0, 0, 0, 0, false))),
+                Arguments.of("findAllDto filter by wisher", (RepositoryCall) test ->
+                        test.findAllDto(new FilterRequestParams(null, 0, 3, 0, 0, 0, false))),
+                Arguments.of("findAllDto filter by agreed wisher", (RepositoryCall) test ->
+                        test.findAllDto(new FilterRequestParams(null, 0, 0, 3, 0, 0, false))),
+                Arguments.of("findAllDto filter by topics", (RepositoryCall) test ->
+                        test.findAllDto(new FilterRequestParams(List.of(1, 2), 0, 0, 0, 0, 0, false))),
+                Arguments.of("findAllDto filter by status", (RepositoryCall) test ->
+                        test.findAllDto(new FilterRequestParams(null, 0, 0, 0, 4, 0, false))),
+                Arguments.of("findAllDto filter by mode", (RepositoryCall) test ->
+                        test.findAllDto(new FilterRequestParams(null, 0, 0, 0, 0, 1, false))),
+                Arguments.of("findAll filter by submitter", (RepositoryCall) test ->
+                        test.interviewRepository.findAll(new InterviewFilterSpecifications().createSpecifications(
+                                new FilterRequestParams(null, 3, 0, 0, 0, 0, false)), SECOND_PAGE)),
+                Arguments.of("findWisherDTOByInterviewId", (RepositoryCall) test ->
+                        test.wisherRepository.findWisherDTOByInterviewId(1)),
+                Arguments.of("findByInterview", (RepositoryCall) test ->
+                        test.wisherRepository.findByInterview(Interview.of().id(1).build())),
+                Arguments.of("findAllByInterviewId feedback", (RepositoryCall) test ->
+                        test.feedbackRepository.findAllByInterviewId(1)),
+                Arguments.of("findByInterviewIdAndUserId feedback", (RepositoryCall) test ->
+                        test.feedbackRepository.findByInterviewIdAndUserId(1, 3)),
+                Arguments.of("lockInterview pending feedback", (RepositoryCall) test ->
+                        test.pendingFeedbackRepository.lockInterview(1))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queries")
+    void whenExplainGeneratedSqlThenNoTableScan(String method, RepositoryCall call) {
+        entityManager.clear();
+        SelectStatementCapture.clear();
+        call.run(this);
+        var selects = SelectStatementCapture.selects();
+        assertThat(selects).as(method).isNotEmpty();
+        for (var sql : selects) {
+            var plan = explain(sql);
+            assertThat(plan).as(method + ": " + plan).doesNotContainIgnoringCase("tableScan");
+        }
+    }
+
+    private void findAllDto(FilterRequestParams params) {
+        interviewRepository.findAllDto(new InterviewFilterSpecifications().createSpecifications(params), SECOND_PAGE);
+    }
+
+    /**
+     * План запроса с неподставленными параметрами: H2 строит его по подготовленному выражению.
+     */
+    private String explain(String sql) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (var statement = connection.prepareStatement("EXPLAIN " + sql);
+                 var resultSet = statement.executeQuery()) {
+                var plan = new ArrayList<String>();
+                while (resultSet.next()) {
+                    plan.add(resultSet.getString(1));
+                }
+                return String.join("\n", plan);
+            }
+        });
+    }
+
+    @FunctionalInterface
+    interface RepositoryCall {
+        void run(QueryPlanIndexTest test);
+    }
+}
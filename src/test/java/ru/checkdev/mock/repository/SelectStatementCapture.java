@@ -0,0 +1,32 @@
+package ru.checkdev.mock.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Запоминает SELECT, которые формирует Hibernate.
+ * Подключается свойством spring.jpa.properties.hibernate.session_factory.statement_inspector.
+ */
+public class SelectStatementCapture implements StatementInspector {
+
+    private static final List<String> SELECTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        if (sql.trim().toLowerCase(Locale.ROOT).startsWith("select")) {
+            SELECTS.add(sql);
+        }
+        return sql;
+    }
+
+    static List<String> selects() {
+        return List.copyOf(SELECTS);
+    }
+
+    static void clear() {
+        SELECTS.clear();
+    }
+}
@@ -12,6 +12,7 @@ import ru.checkdev.mock.domain.Interview;
 import ru.checkdev.mock.domain.Wisher;
 import ru.checkdev.mock.dto.UsersApprovedInterviewsDTO;
 import ru.checkdev.mock.dto.WisherDto;
+import ru.checkdev.mock.enums.StatusInterview;
 
 import javax.persistence.EntityManager;
 import java.sql.Timestamp;
@@ -35,6 +36,9 @@ class WisherRepositoryTest {
     @Autowired
     private WisherRepository wisherRepository;
 
+    @Autowired
+    private InterviewRepository interviewRepository;
+
     @BeforeEach
     public void clearTable() {
         entityManager.createQuery("delete from wisher").executeUpdate();
@@ -136,6 +140,7 @@ class WisherRepositoryTest {
         var wisher2 = new Wisher(0, interview1, userId2, "user_Mail2", false);
         entityManager.persist(wisher1);
         entityManager.persist(wisher2);
+        entityManager.flush();
         entityManager.clear();
         wisherRepository.setWisherApprove(interview1.getId(), wisher1.getId(), true);
         var wisherInDB = wisherRepository.findById(wisher1.getId());
@@ -149,6 +154,7 @@ class WisherRepositoryTest {
         var wisherId = -1;
         var wisher = new Wisher(0, interview1, userId, "user_Mail", false);
         entityManager.persist(wisher);
+        entityManager.flush();
         entityManager.clear();
         wisherRepository.setWisherApprove(interview1.getId(), wisherId, true);
         var wisherInDb = wisherRepository.findById(wisher.getId());
@@ -166,6 +172,7 @@ class WisherRepositoryTest {
                 new Wisher(0, interview3, 1, "user_Mail1", false));
         entityManager.persist(
                 new Wisher(0, interview3, 2, "user_Mail2", true));
+        entityManager.flush();
         entityManager.clear();
 
         var page1 =
@@ -191,6 +198,7 @@ class WisherRepositoryTest {
                 new Wisher(0, interview3, 1, "user_Mail1", false));
         entityManager.persist(
                 new Wisher(0, interview3, 2, "user_Mail2", false));
+        entityManager.flush();
         entityManager.clear();
 
         var page1 =
@@ -221,6 +229,7 @@ class WisherRepositoryTest {
                 new Wisher(0, interview3, 1, "user_Mail1", true));
         entityManager.persist(
                 new Wisher(0, interview3, 2, "user_Mail2", true));
+        entityManager.flush();
         entityManager.clear();
 
         var expected = List.of(
@@ -243,6 +252,7 @@ class WisherRepositoryTest {
     void whenGetUserIdWithCountedApprovedInterviewsAndInterviewNotApprovedThenGetOptionalEmpty() {
         entityManager.persist(
                 new Wisher(0, interview1, 1, "user_Mail1", false));
+        entityManager.flush();
         entityManager.clear();
         var actual = wisherRepository.getUserIdWithCountedApprovedInterviews(1);
         assertTrue(actual.isEmpty());
@@ -254,6 +264,7 @@ class WisherRepositoryTest {
                 new Wisher(0, interview1, 1, "user_Mail1", false));
         entityManager.persist(
                 new Wisher(0, interview2, 1, "user_Mail1", true));
+        entityManager.flush();
         entityManager.clear();
 
         var expected = Optional.of(new UsersApprovedInterviewsDTO(1, 1));
@@ -262,4 +273,77 @@ class WisherRepositoryTest {
         assertThat(actual, is(expected));
     }
 
-}
\ No newline at end of file
+    @Test
+    void whenApproveOnlyThenOtherWishersOfInterviewRejected() {
+        var chosen = new Wisher(0, interview1, 2, "user_Mail2", false);
+        var other = new Wisher(0, interview1, 3, "user_Mail3", true);
+        var foreign = new Wisher(0, interview2, 4, "user_Mail4", true);
+        entityManager.persist(chosen);
+        entityManager.persist(other);
+        entityManager.persist(foreign);
+        entityManager.flush();
+        entityManager.clear();
+
+        var updated = wisherRepository.approveOnly(interview1.getId(), chosen.getId());
+        var agreed = interviewRepository.setAgreedWisher(interview1.getId(), chosen.getId(),
+                StatusInterview.IN_PROGRESS, StatusInterview.IN_PROGRESS.sources());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(updated, is(2));
+        assertThat(agreed, is(1));
+        assertTrue(wisherRepository.findById(chosen.getId()).orElseThrow().isApprove());
+        assertFalse(wisherRepository.findById(other.getId()).orElseThrow().isApprove());
+        assertTrue(wisherRepository.findById(foreign.getId()).orElseThrow().isApprove());
+        var interview = interviewRepository.findDtoById(interview1.getId()).orElseThrow();
+        assertThat(interview.getAgreedWisherId(), is(2));
+        assertThat(interview.getStatusId(), is(StatusInterview.IN_PROGRESS.getId()));
+    }
+
+    @Test
+    void whenSetAgreedWisherFromOtherInterviewThenNothingUpdated() {
+        var foreign = new Wisher(0, interview2, 4, "user_Mail4", false);
+        entityManager.persist(foreign);
+        entityManager.flush();
+
+        var agreed = interviewRepository.setAgreedWisher(interview1.getId(), foreign.getId(),
+                StatusInterview.IN_PROGRESS, StatusInterview.IN_PROGRESS.sources());
+
+        assertThat(agreed, is(0));
+    }
+
+    @Test
+    void whenSetAgreedWisherOfCompletedInterviewThenNothingUpdated() {
+        var chosen = new Wisher(0, interview1, 2, "user_Mail2", false);
+        entityManager.persist(chosen);
+        entityManager.flush();
+        interviewRepository.updateStatus(interview1.getId(), StatusInterview.IS_COMPLETED,
+                List.of(StatusInterview.IS_UNKNOWN));
+
+        var agreed = interviewRepository.setAgreedWisher(interview1.getId(), chosen.getId(),
+                StatusInterview.IN_PROGRESS, StatusInterview.IN_PROGRESS.sources());
+
+        assertThat(agreed, is(0));
+    }
+
+    @Test
+    void whenFindSliceAfterThenOrderedByIdWithInterview() {
+        var first = new Wisher(0, interview1, 1, "user_Mail1", false);
+        var second = new Wisher(0, interview2, 2, "user_Mail2", false);
+        var third = new Wisher(0, interview3, 3, "user_Mail3", false);
+        entityManager.persist(first);
+        entityManager.persist(second);
+        entityManager.persist(third);
+        entityManager.flush();
+        entityManager.clear();
+
+        var page = wisherRepository.findSliceAfter(first.getId(), PageRequest.of(0, 1));
+        var dtoPage = wisherRepository.findDtoSliceAfter(second.getId(), PageRequest.of(0, 1));
+
+        assertThat(page.getContent().get(0).getId(), is(second.getId()));
+        assertThat(page.getContent().get(0).getInterview().getId(), is(interview2.getId()));
+        assertTrue(page.hasNext());
+        assertThat(dtoPage.getContent().get(0).getId(), is(third.getId()));
+        assertFalse(dtoPage.hasNext());
+    }
+}
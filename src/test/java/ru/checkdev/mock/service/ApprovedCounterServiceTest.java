@@ -0,0 +1,110 @@
+package ru.checkdev.mock.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit4.SpringRunner;
+import ru.checkdev.mock.domain.Interview;
+import ru.checkdev.mock.domain.Wisher;
+import ru.checkdev.mock.dto.UsersApprovedInterviewsDTO;
+import ru.checkdev.mock.repository.ApprovedCounterRepository;
+import ru.checkdev.mock.repository.WisherRepository;
+
+import javax.persistence.EntityManager;
+import java.sql.Timestamp;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@RunWith(SpringRunner.class)
+@Import(ApprovedCounterService.class)
+class ApprovedCounterServiceTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ApprovedCounterService approvedCounterService;
+
+    @Autowired
+    private ApprovedCounterRepository approvedCounterRepository;
+
+    @Autowired
+    private WisherRepository wisherRepository;
+
+    private Interview interview1;
+
+    private Interview interview2;
+
+    @BeforeEach
+    void fillTables() {
+        entityManager.createQuery("delete from cd_approved_counter").executeUpdate();
+        entityManager.createQuery("delete from cd_feedback").executeUpdate();
+        entityManager.createQuery("delete from wisher").executeUpdate();
+        entityManager.createQuery("delete from interview").executeUpdate();
+        interview1 = interview();
+        interview2 = interview();
+        entityManager.persist(new Wisher(0, interview1, 1, "user_Mail1", true));
+        entityManager.persist(new Wisher(0, interview2, 1, "user_Mail1", true));
+        entityManager.persist(new Wisher(0, interview1, 2, "user_Mail2", false));
+        entityManager.flush();
+    }
+
+    @Test
+    void whenRefreshInterviewUsersThenCountersMatchAggregate() {
+        approvedCounterService.refreshInterviewUsers(interview1.getId());
+        assertThat(approvedCounterRepository.findDtoByUserId(1))
+                .isEqualTo(Optional.of(new UsersApprovedInterviewsDTO(1, 2)));
+        assertThat(approvedCounterRepository.findDtoByUserId(2)).isEmpty();
+        assertThat(approvedCounterRepository.findAllDto())
+                .containsExactlyInAnyOrderElementsOf(wisherRepository.getUsersIdWithCountedApprovedInterviews());
+        assertThat(approvedCounterService.check()).isZero();
+    }
+
+    @Test
+    void whenRefreshUserThenCallerEntitiesStayManagedAndPendingChangesCounted() {
+        var wisher = new Wisher(0, interview2, 2, "user_Mail2", true);
+        entityManager.persist(wisher);
+        approvedCounterService.refreshUser(2);
+        assertThat(entityManager.contains(wisher)).isTrue();
+        assertThat(entityManager.contains(interview2)).isTrue();
+        assertThat(approvedCounterRepository.findDtoByUserId(2))
+                .isEqualTo(Optional.of(new UsersApprovedInterviewsDTO(2, 1)));
+    }
+
+    @Test
+    void whenUnapprovedThenCounterDecreased() {
+        approvedCounterService.refreshUser(1);
+        wisherRepository.setWisherApprove(interview2.getId(),
+                wisherRepository.findWisherDTOByInterviewId(interview2.getId()).get(0).getId(), false);
+        approvedCounterService.refreshInterviewUsers(interview2.getId());
+        assertThat(approvedCounterRepository.findDtoByUserId(1))
+                .isEqualTo(Optional.of(new UsersApprovedInterviewsDTO(1, 1)));
+    }
+
+    @Test
+    void whenCountersOutOfSyncThenCheckRepairs() {
+        approvedCounterService.refreshUser(1);
+        entityManager.createNativeQuery("INSERT INTO cd_approved_counter (user_id, approved) VALUES (3, 7)")
+                .executeUpdate();
+        entityManager.createQuery("delete from cd_approved_counter c where c.userId = 1").executeUpdate();
+        assertThat(approvedCounterService.check()).isEqualTo(2);
+        assertThat(approvedCounterRepository.findAllDto())
+                .containsExactlyInAnyOrderElementsOf(wisherRepository.getUsersIdWithCountedApprovedInterviews());
+        assertThat(approvedCounterService.check()).isZero();
+    }
+
+    private Interview interview() {
+        var interview = Interview.of().mode(1).submitterId(10).title("title").additional("additional")
+                .contactBy("mail@mail").approximateDate("approximate")
+                .createDate(new Timestamp(System.currentTimeMillis()))
+                .topicId(1).author("author")
+                .build();
+        entityManager.persist(interview);
+        return interview;
+    }
+}
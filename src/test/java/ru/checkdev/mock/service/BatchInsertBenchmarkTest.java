@@ -0,0 +1,90 @@
+package ru.checkdev.mock.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import ru.checkdev.mock.MockSrv;
+import ru.checkdev.mock.dto.FeedbackDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Скорость вставки 100 000 отзывов: по одному save на отзыв и пакетами через saveAll.
+ * Запускается только явно, результат пишется в лог:
+ * mvn test -Dtest=BatchInsertBenchmarkTest -Dbenchmark=true -Djacoco.skip=true
+ * На H2 в памяти нет сетевых задержек, поэтому разница с Postgres по сети будет больше.
+ */
+@Slf4j
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = MockSrv.class)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BatchInsertBenchmarkTest {
+
+    private static final int ROWS = 100_000;
+
+    private static final int CHUNK = 1_000;
+
+    @Autowired
+    private FeedbackService feedbackService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int interviewId;
+
+    @BeforeEach
+    void clearTables() {
+        jdbcTemplate.update("DELETE FROM cd_feedback");
+        jdbcTemplate.update("DELETE FROM wisher");
+        jdbcTemplate.update("DELETE FROM interview");
+        jdbcTemplate.update("""
+                INSERT INTO interview(mode, submitter_id, title, additional, contact_by, approximate_date,
+                                      create_date, topic_id, author, status)
+                VALUES (1, 1, 'benchmark', 'additional', 'contact', 'now', CURRENT_TIMESTAMP, 1, 'author', 1)
+                """);
+        interviewId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM interview", Integer.class);
+    }
+
+    @Test
+    void insertOneByOne() {
+        long start = System.nanoTime();
+        for (int i = 0; i < ROWS; i++) {
+            feedbackService.save(feedback(i));
+        }
+        report("save", start);
+    }
+
+    @Test
+    void insertBySaveAll() {
+        long start = System.nanoTime();
+        var chunk = new ArrayList<FeedbackDTO>(CHUNK);
+        for (int i = 0; i < ROWS; i++) {
+            chunk.add(feedback(i));
+            if (chunk.size() == CHUNK) {
+                feedbackService.saveAll(List.copyOf(chunk));
+                chunk.clear();
+            }
+        }
+        report("saveAll", start);
+    }
+
+    private FeedbackDTO feedback(int i) {
+        return new FeedbackDTO(0, interviewId, i, 1, "text", 5);
+    }
+
+    private void report(String mode, long start) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("{}: {} rows in {} s, {} rows/s", mode, ROWS,
+                String.format("%.1f", seconds), String.format("%.0f", ROWS / seconds));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cd_feedback", Integer.class)).isEqualTo(ROWS);
+    }
+}
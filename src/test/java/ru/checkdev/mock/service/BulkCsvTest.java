@@ -0,0 +1,77 @@
+package ru.checkdev.mock.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BulkCsvTest {
+
+    @Test
+    void whenWriteThenPostgresCsvQuoting() throws IOException {
+        var writer = new StringWriter();
+        BulkCsv.writeRow(writer, new String[] {"1", null, "", "a,b", "say \"hi\"", "two\nlines"});
+        assertThat(writer.toString()).isEqualTo("1,,\"\",\"a,b\",\"say \"\"hi\"\"\",\"two\nlines\"\n");
+    }
+
+    @Test
+    void whenWriteAndReadThenSameValuesAndNullKeptApartFromEmpty() throws IOException {
+        var rows = List.of(
+                new String[] {"1", null, "", "a,b"},
+                new String[] {"2", "say \"hi\"", "two\r\nlines", "тест"});
+        var writer = new StringWriter();
+        for (var row : rows) {
+            BulkCsv.writeRow(writer, row);
+        }
+        var reader = new BulkCsv.RowReader(new StringReader(writer.toString()));
+        var read = new ArrayList<List<String>>();
+        var values = reader.next();
+        while (values != null) {
+            read.add(values);
+            values = reader.next();
+        }
+        assertThat(read).containsExactly(Arrays.asList(rows.get(0)), Arrays.asList(rows.get(1)));
+    }
+
+    @Test
+    void whenCrlfLineEndsThenRowsSplit() throws IOException {
+        var reader = new BulkCsv.RowReader(new StringReader("1,a\r\n2,b\r\n"));
+        assertThat(reader.next()).containsExactly("1", "a");
+        assertThat(reader.next()).containsExactly("2", "b");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void whenQuoteNotClosedThenException() {
+        var reader = new BulkCsv.RowReader(new StringReader("1,\"open\n"));
+        assertThrows(IOException.class, reader::next);
+    }
+
+    @Test
+    void whenStreamsCountRowsThenNewlinesInQuotesIgnored() throws IOException {
+        var csv = "1,\"a\nb\"\n2,c\n3,\"\"\"\n\"\n".getBytes(StandardCharsets.UTF_8);
+        var progress = new ArrayList<Long>();
+        var outCounter = new BulkCsv.RowCounter(2, progress::add);
+        try (var out = new BulkCsv.CountingOutputStream(new ByteArrayOutputStream(), outCounter)) {
+            out.write(csv, 0, 5);
+            out.write(csv, 5, csv.length - 5);
+        }
+        var inCounter = new BulkCsv.RowCounter(2, rows -> { });
+        try (var in = new BulkCsv.CountingInputStream(new ByteArrayInputStream(csv), inCounter)) {
+            in.readAllBytes();
+        }
+        assertThat(outCounter.rows()).isEqualTo(3);
+        assertThat(inCounter.rows()).isEqualTo(3);
+        assertThat(progress).containsExactly(2L);
+    }
+}
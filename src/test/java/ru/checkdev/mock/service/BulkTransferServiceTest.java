@@ -0,0 +1,190 @@
+package ru.checkdev.mock.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.ResourceServerTokenServices;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.checkdev.mock.MockSrv;
+import ru.checkdev.mock.enums.BulkTable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = MockSrv.class, properties = {"bulk.batch-size=7", "bulk.progress-every=10"})
+@AutoConfigureMockMvc
+class BulkTransferServiceTest {
+
+    private static final int INTERVIEWS = 25;
+
+    @Autowired
+    private BulkTransferService bulkTransferService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ResourceServerTokenServices tokenServices;
+
+    @BeforeEach
+    void fillTables() {
+        clearTables();
+        jdbcTemplate.update("""
+                INSERT INTO interview(mode, submitter_id, title, additional, contact_by, approximate_date,
+                                      create_date, topic_id, author, status, cancel_by)
+                SELECT 1, 1000 + x, CONCAT('title, "', x, '"'), CONCAT('line one', CHAR(10), 'line two'),
+                       '', 'now', CURRENT_TIMESTAMP, 1, 'автор', 1, NULL
+                FROM SYSTEM_RANGE(1, ?)
+                """, INTERVIEWS);
+        jdbcTemplate.update("""
+                INSERT INTO wisher(interview_id, user_id, contact_by, approve)
+                SELECT i.id, u.x, 'contact', u.x = 1 FROM interview i, SYSTEM_RANGE(1, 2) u
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO cd_feedback(interview_id, user_id, role_in_interview, text_feedback, scope)
+                SELECT i.id, 1, 1, NULL, 5 FROM interview i
+                """);
+    }
+
+    private void clearTables() {
+        jdbcTemplate.update("DELETE FROM cd_feedback");
+        jdbcTemplate.update("DELETE FROM wisher");
+        jdbcTemplate.update("DELETE FROM interview");
+    }
+
+    @Test
+    void whenExportClearAndLoadThenSameRowsIdsAndDerivedTables() throws Exception {
+        jdbcTemplate.update("UPDATE interview SET version = MOD(id, 5) + 1");
+        jdbcTemplate.update("UPDATE wisher SET version = MOD(id, 3) + 1");
+        var versions = jdbcTemplate.queryForList(
+                "SELECT version FROM interview UNION ALL SELECT version FROM wisher", Integer.class);
+        Map<BulkTable, byte[]> dumps = new EnumMap<>(BulkTable.class);
+        for (var table : BulkTable.values()) {
+            var out = new ByteArrayOutputStream();
+            bulkTransferService.export(table, out);
+            dumps.put(table, out.toByteArray());
+        }
+        clearTables();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cd_pending_feedback", Integer.class)).isZero();
+
+        var progress = new ArrayList<Long>();
+        assertThat(bulkTransferService.load(BulkTable.INTERVIEW,
+                new ByteArrayInputStream(dumps.get(BulkTable.INTERVIEW)), progress::add)).isEqualTo(INTERVIEWS);
+        assertThat(bulkTransferService.load(BulkTable.WISHER,
+                new ByteArrayInputStream(dumps.get(BulkTable.WISHER)))).isEqualTo(2 * INTERVIEWS);
+        assertThat(bulkTransferService.load(BulkTable.FEEDBACK,
+                new ByteArrayInputStream(dumps.get(BulkTable.FEEDBACK)))).isEqualTo(INTERVIEWS);
+        assertThat(progress).containsExactly(10L, 20L);
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT version FROM interview UNION ALL SELECT version FROM wisher", Integer.class))
+                .containsExactlyInAnyOrderElementsOf(versions);
+        for (var table : BulkTable.values()) {
+            var out = new ByteArrayOutputStream();
+            bulkTransferService.export(table, out);
+            assertThat(out.toByteArray()).isEqualTo(dumps.get(table));
+        }
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cd_pending_feedback", Integer.class))
+                .isEqualTo(INTERVIEWS);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT approved FROM cd_approved_counter WHERE user_id = 1", Long.class))
+                .isEqualTo(INTERVIEWS);
+        jdbcTemplate.update("""
+                INSERT INTO interview(mode, submitter_id, title, additional, contact_by, approximate_date,
+                                      create_date, topic_id, author, status)
+                VALUES (1, 1, 'after load', 'additional', 'contact', 'now', CURRENT_TIMESTAMP, 1, 'author', 1)
+                """);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT id) FROM interview", Integer.class))
+                .isEqualTo(INTERVIEWS + 1);
+    }
+
+    @Test
+    void whenRowHasWrongColumnCountThenNothingOfBatchKept() {
+        clearTables();
+        var csv = "1,1,1,1,title,additional,contact,now,2024-01-01 10:00:00,1,author,0,,0\n2,1\n";
+        assertThrows(IOException.class, () -> bulkTransferService.load(BulkTable.INTERVIEW,
+                new ByteArrayInputStream(csv.getBytes())));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM interview", Integer.class)).isZero();
+    }
+
+    @Test
+    void whenLoadFailsAfterSeveralBatchesThenNothingKept() {
+        clearTables();
+        var csv = new StringBuilder();
+        for (int id = 1; id <= 10; id++) {
+            csv.append(id).append(",1,1,1,title,additional,contact,now,2024-01-01 10:00:00,1,author,,,0\n");
+        }
+        csv.append("11,1\n");
+        assertThrows(IOException.class, () -> bulkTransferService.load(BulkTable.INTERVIEW,
+                new ByteArrayInputStream(csv.toString().getBytes())));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM interview", Integer.class)).isZero();
+    }
+
+    @Test
+    void whenUnknownTableThenException() {
+        assertThrows(IllegalArgumentException.class, () -> BulkTable.of("filter"));
+    }
+
+    @Test
+    void whenBulkEndpointsWithoutTokenThenIsUnauthorized() throws Exception {
+        mockMvc.perform(get("/bulk/cd_feedback"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/bulk/cd_feedback").contentType("text/csv").content("1,1,1,1,,5\n"))
+                .andExpect(status().isUnauthorized());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cd_feedback", Integer.class))
+                .isEqualTo(INTERVIEWS);
+    }
+
+    @Test
+    void whenBulkEndpointsWithUserRoleThenForbidden() throws Exception {
+        authenticate("ROLE_USER");
+        mockMvc.perform(get("/bulk/cd_feedback").header(HttpHeaders.AUTHORIZATION, "Bearer token"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/bulk/cd_feedback").header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                        .contentType("text/csv").content("1,1,1,1,,5\n"))
+                .andExpect(status().isForbidden());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cd_feedback", Integer.class))
+                .isEqualTo(INTERVIEWS);
+    }
+
+    @Test
+    void whenBulkExportWithAdminRoleThenOk() throws Exception {
+        authenticate("ROLE_ADMIN");
+        mockMvc.perform(get("/bulk/cd_feedback").header(HttpHeaders.AUTHORIZATION, "Bearer token"))
+                .andExpect(status().isOk());
+    }
+
+    private void authenticate(String authority) {
+        var authorities = AuthorityUtils.createAuthorityList(authority);
+        when(tokenServices.loadAuthentication(anyString())).thenReturn(new OAuth2Authentication(
+                new OAuth2Request(null, "client", authorities, true, null, null, null, null, null),
+                new UsernamePasswordAuthenticationToken("user", "N/A", authorities)));
+    }
+}
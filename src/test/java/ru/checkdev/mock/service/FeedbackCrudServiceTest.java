@@ -2,6 +2,7 @@ package ru.checkdev.mock.service;
 
 import org.junit.jupiter.api.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -15,8 +16,10 @@ import ru.checkdev.mock.repository.FeedbackRepository;
 import java.sql.Timestamp;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -40,6 +43,12 @@ class FeedbackCrudServiceTest {
 
     @MockBean
     private FeedbackRepository repository;
+
+    @MockBean
+    private PendingFeedbackService pendingFeedbackService;
+
+    @MockBean
+    private InterviewStatusService interviewStatusService;
     @Autowired
     private FeedbackCrudService service;
 
@@ -57,6 +66,7 @@ class FeedbackCrudServiceTest {
         var actual = service.save(expected);
         assertThat(actual).isNotEmpty();
         assertThat(actual.get()).isEqualTo(expected);
+        verify(interviewStatusService).feedbackLeft(List.of(expected.getInterviewId()));
     }
 
     @Test
@@ -68,6 +78,21 @@ class FeedbackCrudServiceTest {
         assertThat(actual).isEmpty();
     }
 
+    @Test
+    void whenSaveAllThenNewFeedbacksSavedAndPendingClearedPerInterview() {
+        var dto1 = new FeedbackDTO(5, 1, 1, 2, "text1", 4);
+        var dto2 = new FeedbackDTO(6, 2, 1, 2, "text2", 4);
+        var dto3 = new FeedbackDTO(7, 2, 3, 1, "text3", 5);
+        var actual = service.saveAll(List.of(dto1, dto2, dto3));
+        ArgumentCaptor<List<Feedback>> saved = ArgumentCaptor.forClass(List.class);
+        verify(repository).saveAll(saved.capture());
+        verify(repository).flush();
+        verify(pendingFeedbackService).feedbackLeft(Set.of(1, 2));
+        verify(interviewStatusService).feedbackLeft(Set.of(1, 2));
+        assertThat(saved.getValue()).extracting(Feedback::getId).containsOnly(0);
+        assertThat(actual).extracting(FeedbackDTO::getInterviewId).containsExactly(1, 2, 2);
+    }
+
     @Test
     void whenFindByInterviewIdThenReturnListDTO() {
         var feedback1 = new Feedback(0, interview, 1, 2, "text1", 4);
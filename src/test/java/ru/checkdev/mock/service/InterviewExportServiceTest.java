@@ -0,0 +1,65 @@
+package ru.checkdev.mock.service;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@RunWith(SpringRunner.class)
+@Import({InterviewExportService.class, NdjsonWriter.class, JacksonAutoConfiguration.class})
+class InterviewExportServiceTest {
+
+    private static final int ROWS = 2_000;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private InterviewExportService exportService;
+
+    @BeforeEach
+    void fillTable() {
+        entityManager.createQuery("delete from cd_feedback").executeUpdate();
+        entityManager.createQuery("delete from wisher").executeUpdate();
+        entityManager.createQuery("delete from interview").executeUpdate();
+        entityManager.createNativeQuery("""
+                INSERT INTO interview(mode, submitter_id, title, additional, contact_by, approximate_date,
+                                      create_date, topic_id, author, status)
+                SELECT MOD(x, 2) + 1, 1, CONCAT('title', x), 'additional', 'contact', 'now',
+                       CURRENT_TIMESTAMP, 1, 'author', 1
+                FROM SYSTEM_RANGE(1, :rows)
+                """).setParameter("rows", ROWS).executeUpdate();
+        entityManager.clear();
+    }
+
+    @Test
+    void whenExportAllThenOneLinePerRowAndPersistenceContextStaysEmpty() throws Exception {
+        var out = new ByteArrayOutputStream();
+        long count = exportService.exportAll(out);
+        var lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(count).isEqualTo(ROWS);
+        assertThat(lines).hasSize(ROWS);
+        assertThat(lines[0]).startsWith("{\"id\":");
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    void whenExportByModeThenOnlyThisMode() throws Exception {
+        var out = new ByteArrayOutputStream();
+        long count = exportService.exportByMode(1, out);
+        assertThat(count).isEqualTo(ROWS / 2);
+        assertThat(out.toString(StandardCharsets.UTF_8)).doesNotContain("\"mode\":2");
+    }
+}
@@ -0,0 +1,52 @@
+package ru.checkdev.mock.service;
+
+import org.junit.jupiter.api.Test;
+import ru.checkdev.mock.dto.InterviewDTO;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InterviewFeedCacheTest {
+
+    private final InterviewDTO interviewDTO = InterviewDTO.of().id(1).title("title").build();
+
+    @Test
+    void whenGetTwiceThenOneMissAndOneHit() {
+        var cache = new InterviewFeedCache(16, 60);
+        cache.get(InterviewFeedCache.Feed.LAST, () -> List.of(interviewDTO));
+        var actual = cache.get(InterviewFeedCache.Feed.LAST, List::of);
+        assertThat(actual).containsExactly(interviewDTO);
+        assertThat(cache.stats().missCount()).isEqualTo(1L);
+        assertThat(cache.stats().hitCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void whenInvalidateThenLoadAgain() {
+        var cache = new InterviewFeedCache(16, 60);
+        cache.get(InterviewFeedCache.Feed.NEW, () -> List.of(interviewDTO));
+        cache.invalidate();
+        var actual = cache.get(InterviewFeedCache.Feed.NEW, List::of);
+        assertThat(actual).isEmpty();
+        assertThat(cache.stats().missCount()).isEqualTo(2L);
+    }
+
+    @Test
+    void whenInvalidatedDuringLoadThenLoadedValueNotCached() {
+        var cache = new InterviewFeedCache(16, 60);
+        cache.get(InterviewFeedCache.Feed.NEW, () -> {
+            cache.invalidate();
+            return List.of(interviewDTO);
+        });
+        var actual = cache.get(InterviewFeedCache.Feed.NEW, List::of);
+        assertThat(actual).isEmpty();
+    }
+
+    @Test
+    void whenMaxSizeExceededThenEvictionCounted() {
+        var cache = new InterviewFeedCache(1, 60);
+        cache.get(InterviewFeedCache.Feed.LAST, () -> List.of(interviewDTO));
+        cache.get(InterviewFeedCache.Feed.NEW, () -> List.of(interviewDTO));
+        assertThat(cache.stats().evictionCount()).isEqualTo(1L);
+    }
+}
@@ -15,6 +15,8 @@ import javax.persistence.criteria.Root;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 @ExtendWith(MockitoExtension.class)
 public class InterviewFilterSpecificationsTest {
@@ -39,4 +41,20 @@ public class InterviewFilterSpecificationsTest {
                 interviewFilterSpecifications.createSpecifications(filterRequestParams);
         assertNotNull(specification);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void whenSameFilterWithOtherTopicOrderThenSameSpecification() {
+        var first = new FilterRequestParams(List.of(2, 1), 1, 0, 0, 1, 0, false);
+        var second = new FilterRequestParams(List.of(1, 2, 2), 1, 0, 0, 1, 0, false);
+        assertSame(interviewFilterSpecifications.createSpecifications(first),
+                interviewFilterSpecifications.createSpecifications(second));
+    }
+
+    @Test
+    public void whenFilterDiffersByModeThenOtherSpecification() {
+        var first = new FilterRequestParams(List.of(1), 1, 0, 0, 1, 1, false);
+        var second = new FilterRequestParams(List.of(1), 1, 0, 0, 1, 2, false);
+        assertNotSame(interviewFilterSpecifications.createSpecifications(first),
+                interviewFilterSpecifications.createSpecifications(second));
+    }
+}
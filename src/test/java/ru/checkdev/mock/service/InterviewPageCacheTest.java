@@ -0,0 +1,86 @@
+package ru.checkdev.mock.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import ru.checkdev.mock.dto.FilterRequestParams;
+import ru.checkdev.mock.dto.InterviewDTO;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InterviewPageCacheTest {
+
+    private final InterviewDTO interviewDTO = InterviewDTO.of()
+            .id(1).mode(1).statusId(1).submitterId(3).topicId(5).build();
+
+    private final FilterRequestParams byMode = new FilterRequestParams(
+            List.of(), 0, 0, 0, 0, 1, false);
+
+    private final FilterRequestParams byOtherMode = new FilterRequestParams(
+            List.of(), 0, 0, 0, 0, 2, false);
+
+    private final FilterRequestParams byWisher = new FilterRequestParams(
+            List.of(), 0, 7, 0, 0, 0, false);
+
+    private final Page<InterviewDTO> page = new PageImpl<>(List.of(interviewDTO));
+
+    @Test
+    void whenGetTwiceThenOneMissAndOneHit() {
+        var cache = new InterviewPageCache(true, 16, 60);
+        cache.get(byMode, 0, 10, () -> page);
+        var actual = cache.get(byMode, 0, 10, Page::empty);
+        assertThat(actual).isEqualTo(page);
+        assertThat(cache.stats().hitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    void whenInterviewChangedThenOnlyMatchingFiltersInvalidated() {
+        var cache = new InterviewPageCache(true, 16, 60);
+        cache.get(byMode, 0, 10, () -> page);
+        cache.get(byOtherMode, 0, 10, () -> page);
+        cache.invalidateInterview(interviewDTO);
+        assertThat(cache.get(byMode, 0, 10, Page::empty)).isEmpty();
+        assertThat(cache.get(byOtherMode, 0, 10, Page::empty)).isEqualTo(page);
+    }
+
+    @Test
+    void whenOldStateMatchesThenInvalidated() {
+        var cache = new InterviewPageCache(true, 16, 60);
+        cache.get(byOtherMode, 0, 10, () -> page);
+        var moved = interviewDTO.toBuilder().mode(2).build();
+        cache.invalidateInterview(moved, interviewDTO);
+        assertThat(cache.get(byOtherMode, 0, 10, Page::empty)).isEmpty();
+    }
+
+    @Test
+    void whenWisherUserChangedThenOnlyHisFiltersInvalidated() {
+        var cache = new InterviewPageCache(true, 16, 60);
+        cache.get(byMode, 0, 10, () -> page);
+        cache.get(byWisher, 0, 10, () -> page);
+        cache.invalidateWisherUser(8);
+        assertThat(cache.get(byWisher, 0, 10, Page::empty)).isEqualTo(page);
+        cache.invalidateWisherUser(7);
+        assertThat(cache.get(byWisher, 0, 10, Page::empty)).isEmpty();
+        assertThat(cache.get(byMode, 0, 10, Page::empty)).isEqualTo(page);
+    }
+
+    @Test
+    void whenInvalidatedDuringLoadThenLoadedValueNotCached() {
+        var cache = new InterviewPageCache(true, 16, 60);
+        cache.get(byMode, 0, 10, () -> {
+            cache.invalidateInterview(interviewDTO);
+            return page;
+        });
+        assertThat(cache.get(byMode, 0, 10, Page::empty)).isEmpty();
+    }
+
+    @Test
+    void whenDisabledThenAlwaysLoad() {
+        var cache = new InterviewPageCache(false, 16, 60);
+        cache.get(byMode, 0, 10, () -> page);
+        assertThat(cache.get(byMode, 0, 10, Page::empty)).isEmpty();
+        assertThat(cache.stats().requestCount()).isZero();
+    }
+}
@@ -0,0 +1,141 @@
+package ru.checkdev.mock.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import ru.checkdev.mock.MockSrv;
+import ru.checkdev.mock.dto.InterviewPatchDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Объем записи при правке названия собеседования с описанием 8 КБ:
+ * до - UPDATE всех столбцов, как его строил Hibernate без @DynamicUpdate,
+ * после - PATCH, который пишет только название и версию.
+ * Для каждого варианта в лог пишутся столбцы и байты значений на один UPDATE и время правки,
+ * на Postgres еще объем WAL (pg_current_wal_lsn). Запускается только явно:
+ * mvn test -Dtest=InterviewPatchBenchmarkTest -Dbenchmark=true -Djacoco.skip=true
+ */
+@Slf4j
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = MockSrv.class, properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "ru.checkdev.mock.service.UpdateStatementCapture")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class InterviewPatchBenchmarkTest {
+
+    private static final int ROWS = 1000;
+
+    private static final int EDITS = 5000;
+
+    private static final String ADDITIONAL = "описание собеседования ".repeat(200);
+
+    /**
+     * UPDATE всех столбцов в порядке, в котором его строил Hibernate для Interview.
+     */
+    private static final String FULL_ROW_UPDATE = """
+            UPDATE interview SET additional = ?, agreed_wisher_id = ?, approximate_date = ?, author = ?,
+                                 cancel_by = ?, contact_by = ?, create_date = ?, mode = ?, status = ?,
+                                 submitter_id = ?, title = ?, topic_id = ?, version = ?
+            WHERE id = ? AND version = ?
+            """;
+
+    @Autowired
+    private InterviewService interviewService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<Integer> ids;
+
+    @BeforeEach
+    void fillTable() {
+        jdbcTemplate.update("DELETE FROM cd_feedback");
+        jdbcTemplate.update("DELETE FROM wisher");
+        jdbcTemplate.update("DELETE FROM interview");
+        var rows = new ArrayList<Object[]>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[] {"title " + i, ADDITIONAL});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO interview(mode, submitter_id, title, additional, contact_by, approximate_date,
+                                      create_date, topic_id, author, status)
+                VALUES (1, 1, ?, ?, 'contact', 'now', CURRENT_TIMESTAMP, 1, 'author', 1)
+                """, rows);
+        ids = jdbcTemplate.queryForList("SELECT id FROM interview ORDER BY id", Integer.class);
+    }
+
+    @Test
+    void writeAmplification() {
+        measure("full row", i -> {
+            var row = jdbcTemplate.queryForMap("SELECT * FROM interview WHERE id = ?", ids.get(i % ROWS));
+            jdbcTemplate.update(FULL_ROW_UPDATE, row.get("additional"), row.get("agreed_wisher_id"),
+                    row.get("approximate_date"), row.get("author"), row.get("cancel_by"), row.get("contact_by"),
+                    row.get("create_date"), row.get("mode"), row.get("status"), row.get("submitter_id"),
+                    "full " + i, row.get("topic_id"), (Integer) row.get("version") + 1,
+                    row.get("id"), row.get("version"));
+        }, List.of("additional", "agreed_wisher_id", "approximate_date", "author", "cancel_by", "contact_by",
+                "create_date", "mode", "status", "submitter_id", "title", "topic_id", "version"));
+        UpdateStatementCapture.clear();
+        measure("put", i -> {
+            var read = interviewService.findById(ids.get(i % ROWS)).orElseThrow();
+            interviewService.update(read.toBuilder().title("put " + i).build());
+        }, null);
+        UpdateStatementCapture.clear();
+        measure("patch", i -> interviewService.patch(ids.get(i % ROWS),
+                InterviewPatchDTO.of().title("patch " + i).build(), null), null);
+    }
+
+    private void measure(String name, IntConsumer edit, List<String> columns) {
+        for (int i = 0; i < ROWS; i++) {
+            edit.accept(EDITS + i);
+        }
+        var walBefore = walPosition();
+        long start = System.nanoTime();
+        for (int i = 0; i < EDITS; i++) {
+            edit.accept(i);
+        }
+        long micros = (System.nanoTime() - start) / 1000 / EDITS;
+        var walBytes = walBefore == null ? null : jdbcTemplate.queryForObject(
+                "SELECT pg_wal_lsn_diff(pg_current_wal_lsn(), CAST(? AS pg_lsn))", Long.class, walBefore);
+        if (columns == null) {
+            var updates = UpdateStatementCapture.updates();
+            assertThat(updates).hasSize(ROWS + EDITS);
+            columns = UpdateStatementCapture.setColumns(updates.get(0));
+        }
+        log.info("{}: columns {} {}, value bytes per update {}, {} us per edit, WAL bytes per edit {}",
+                name, columns.size(), columns, valueBytes(columns), micros,
+                walBytes == null ? "n/a" : walBytes / EDITS);
+    }
+
+    private long valueBytes(List<String> columns) {
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT * FROM interview WHERE id = ?", ids.get(0));
+        return columns.stream()
+                .map(column -> row.get(column))
+                .mapToLong(value -> value instanceof String text
+                        ? text.getBytes(StandardCharsets.UTF_8).length
+                        : value == null ? 0 : 8)
+                .sum();
+    }
+
+    private String walPosition() {
+        var postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        return Boolean.TRUE.equals(postgres)
+                ? jdbcTemplate.queryForObject("SELECT CAST(pg_current_wal_lsn() AS text)", String.class)
+                : null;
+    }
+}
@@ -0,0 +1,86 @@
+package ru.checkdev.mock.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import ru.checkdev.mock.MockSrv;
+import ru.checkdev.mock.dto.InterviewPatchDTO;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = MockSrv.class, properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "ru.checkdev.mock.service.UpdateStatementCapture")
+class InterviewPatchTest {
+
+    @Autowired
+    private InterviewService interviewService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int interviewId;
+
+    @BeforeEach
+    void fillTables() {
+        jdbcTemplate.update("DELETE FROM cd_feedback");
+        jdbcTemplate.update("DELETE FROM wisher");
+        jdbcTemplate.update("DELETE FROM interview");
+        jdbcTemplate.update("""
+                INSERT INTO interview(mode, submitter_id, title, additional, contact_by, approximate_date,
+                                      create_date, topic_id, author, status)
+                VALUES (1, 1, 'title', 'long additional', 'contact', 'now', CURRENT_TIMESTAMP, 1, 'author', 1)
+                """);
+        interviewId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM interview", Integer.class);
+        UpdateStatementCapture.clear();
+    }
+
+    @Test
+    void whenPatchTitleThenOnlyTitleAndVersionWritten() {
+        var patched = interviewService.patch(interviewId, InterviewPatchDTO.of().title("new title").build(), null)
+                .orElseThrow();
+        assertThat(patched.getTitle()).isEqualTo("new title");
+        assertThat(patched.getAdditional()).isEqualTo("long additional");
+        assertThat(patched.getVersion()).isEqualTo(1);
+        assertThat(UpdateStatementCapture.updates()).hasSize(1);
+        assertThat(UpdateStatementCapture.setColumns(UpdateStatementCapture.updates().get(0)))
+                .containsExactlyInAnyOrder("title", "version");
+        assertThat(interviewService.findById(interviewId).orElseThrow().getTitle()).isEqualTo("new title");
+    }
+
+    @Test
+    void whenPatchWithSameValuesThenNoUpdate() {
+        var patched = interviewService.patch(interviewId, InterviewPatchDTO.of().title("title").mode(1).build(), 0)
+                .orElseThrow();
+        assertThat(patched.getVersion()).isZero();
+        assertThat(UpdateStatementCapture.updates()).isEmpty();
+    }
+
+    @Test
+    void whenPatchWithStaleVersionThenConflict() {
+        interviewService.patch(interviewId, InterviewPatchDTO.of().author("first").build(), 0);
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> interviewService.patch(interviewId, InterviewPatchDTO.of().author("second").build(), 0));
+        assertThat(interviewService.findById(interviewId).orElseThrow().getAuthor()).isEqualTo("first");
+    }
+
+    @Test
+    void whenPatchMissingInterviewThenEmpty() {
+        assertThat(interviewService.patch(interviewId + 1, InterviewPatchDTO.of().title("t").build(), null))
+                .isEmpty();
+    }
+
+    @Test
+    void whenPatchRequiredFieldBlankThenException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> interviewService.patch(interviewId, InterviewPatchDTO.of().title(" ").build(), null));
+        assertThat(interviewService.findById(interviewId).orElseThrow().getVersion()).isZero();
+    }
+}
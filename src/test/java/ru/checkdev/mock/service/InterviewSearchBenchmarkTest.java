@@ -0,0 +1,102 @@
+package ru.checkdev.mock.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import ru.checkdev.mock.MockSrv;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Время поиска по 1 000 000 собеседований: первая страница и страница по курсору,
+ * для редкого слова (1 из 1000 собеседований) и частого (каждое десятое).
+ * Запускается только явно, задержки p50 и p95 пишутся в лог:
+ * mvn test -Dtest=InterviewSearchBenchmarkTest -Dbenchmark=true -Djacoco.skip=true
+ * На H2 работает запасная ветка с LIKE и полным чтением таблицы, ее цифры показывают поиск
+ * без индекса. Целевые значения для Postgres с индексами GIN: p95 первой страницы до 50 мс для редкого слова
+ * и до 300 мс для частого (ранжировать приходится все совпадения).
+ * Для замера на Postgres укажите spring.datasource.url, username и password.
+ */
+@Slf4j
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = MockSrv.class)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class InterviewSearchBenchmarkTest {
+
+    private static final int ROWS = 1_000_000;
+
+    private static final int CHUNK = 10_000;
+
+    private static final int RUNS = 20;
+
+    private static final String[] WORDS = {"java", "spring", "sql", "docker", "kafka", "python", "react", "linux"};
+
+    @Autowired
+    private InterviewService interviewService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void fillTable() {
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM interview", Integer.class) == ROWS) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM cd_feedback");
+        jdbcTemplate.update("DELETE FROM wisher");
+        jdbcTemplate.update("DELETE FROM interview");
+        var rows = new ArrayList<Object[]>(CHUNK);
+        for (int i = 0; i < ROWS; i++) {
+            var title = WORDS[i % WORDS.length] + " " + WORDS[i / WORDS.length % WORDS.length]
+                    + (i % 1000 == 0 ? " haskell" : "");
+            var additional = i % 10 == 0 ? "микросервисы и очереди" : "алгоритмы";
+            rows.add(new Object[] {title, additional});
+            if (rows.size() == CHUNK) {
+                jdbcTemplate.batchUpdate("""
+                        INSERT INTO interview(mode, submitter_id, title, additional, contact_by, approximate_date,
+                                              create_date, topic_id, author, status)
+                        VALUES (1, 1, ?, ?, 'contact', 'now', CURRENT_TIMESTAMP, 1, 'author', 1)
+                        """, rows);
+                rows.clear();
+            }
+        }
+    }
+
+    @Test
+    void searchRareWord() {
+        measure("haskell");
+    }
+
+    @Test
+    void searchFrequentWord() {
+        measure("микросервисы");
+    }
+
+    private void measure(String query) {
+        var first = interviewService.search(query, null, 20);
+        assertThat(first.getNextCursor()).isNotNull();
+        report(query + " first page", () -> interviewService.search(query, null, 20));
+        report(query + " next page", () -> interviewService.search(query, first.getNextCursor(), 20));
+    }
+
+    private void report(String name, Runnable search) {
+        long[] nanos = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            search.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        log.info("{}: p50 {} ms, p95 {} ms", name,
+                nanos[RUNS / 2] / 1_000_000, nanos[RUNS * 95 / 100] / 1_000_000);
+    }
+}
@@ -0,0 +1,131 @@
+package ru.checkdev.mock.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import ru.checkdev.mock.MockSrv;
+import ru.checkdev.mock.dto.InterviewDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Поиск на H2 идет по запасной ветке с LIKE, порядок выдачи и курсоры те же, что на Postgres.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = MockSrv.class)
+class InterviewSearchTest {
+
+    @Autowired
+    private InterviewService interviewService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int titleAndFeedback;
+    private int titleFirst;
+    private int titleSecond;
+    private int additional;
+    private int feedbackOnly;
+
+    @BeforeEach
+    void fillTables() {
+        jdbcTemplate.update("DELETE FROM cd_feedback");
+        jdbcTemplate.update("DELETE FROM wisher");
+        jdbcTemplate.update("DELETE FROM interview");
+        titleFirst = interview("Собеседование Java Spring", "core");
+        titleSecond = interview("Java junior", null);
+        additional = interview("Python", "немного JAVA");
+        feedbackOnly = interview("Go", "concurrency");
+        titleAndFeedback = interview("Java senior", "jvm");
+        interview("Kotlin", "coroutines");
+        feedback(feedbackOnly, "Спрашивали про java");
+        feedback(titleAndFeedback, "java и многопоточность");
+        feedback(titleAndFeedback, "еще раз java");
+        feedback(additional, null);
+    }
+
+    private int interview(String title, String additional) {
+        jdbcTemplate.update("""
+                INSERT INTO interview(mode, submitter_id, title, additional, contact_by, approximate_date,
+                                      create_date, topic_id, author, status)
+                VALUES (1, 1, ?, ?, 'contact', 'now', CURRENT_TIMESTAMP, 1, 'author', 1)
+                """, title, additional);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM interview", Integer.class);
+    }
+
+    private void feedback(int interviewId, String text) {
+        jdbcTemplate.update("""
+                INSERT INTO cd_feedback(interview_id, user_id, role_in_interview, text_feedback, scope)
+                VALUES (?, 1, 1, ?, 5)
+                """, interviewId, text);
+    }
+
+    @Test
+    void whenSearchThenOrderedByRankThenByIdDesc() {
+        var result = interviewService.search("Java", null, 10);
+        assertThat(result.getSlice().getContent()).extracting(InterviewDTO::getId)
+                .containsExactly(titleAndFeedback, titleSecond, titleFirst, additional, feedbackOnly);
+        assertThat(result.getSlice().hasNext()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    void whenSearchByPagesThenSameOrderWithoutGapsOrDuplicates() {
+        var ids = new ArrayList<Integer>();
+        var result = interviewService.search("java", "", 2);
+        ids.addAll(result.getSlice().getContent().stream().map(InterviewDTO::getId).toList());
+        while (result.getNextCursor() != null) {
+            assertThat(result.getSlice().getContent()).hasSize(2);
+            result = interviewService.search("java", result.getNextCursor(), 2);
+            ids.addAll(result.getSlice().getContent().stream().map(InterviewDTO::getId).toList());
+        }
+        assertThat(ids).containsExactly(titleAndFeedback, titleSecond, titleFirst, additional, feedbackOnly);
+    }
+
+    @Test
+    void whenSearchBySeveralWordsThenAllWordsRequired() {
+        assertThat(interviewService.search("spring, СОБЕСЕДОВАНИЕ", null, 10).getSlice().getContent())
+                .extracting(InterviewDTO::getId)
+                .containsExactly(titleFirst);
+        assertThat(interviewService.search("java многопоточность", null, 10).getSlice().getContent())
+                .extracting(InterviewDTO::getId)
+                .containsExactly(titleAndFeedback);
+    }
+
+    @Test
+    void whenNothingFoundThenEmptySlice() {
+        assertThat(interviewService.search("haskell", null, 10).getSlice().getContent()).isEmpty();
+        assertThat(interviewService.search("%_", null, 10).getSlice().getContent()).isEmpty();
+    }
+
+    @Test
+    void whenQueryBlankOrCursorBrokenThenException() {
+        assertThrows(IllegalArgumentException.class, () -> interviewService.search(" ", null, 10));
+        assertThrows(IllegalArgumentException.class, () -> interviewService.search("java", "broken", 10));
+    }
+
+    @Test
+    void whenSizeOutOfRangeThenException() {
+        assertThrows(IllegalArgumentException.class, () -> interviewService.search("java", null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> interviewService.search("java", null, InterviewService.MAX_PAGE_SIZE + 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> interviewService.search("java", null, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void whenInterviewAddedThenFound() {
+        var added = interview("Java middle", null);
+        assertThat(interviewService.search("middle", null, 10).getSlice().getContent())
+                .extracting(InterviewDTO::getId)
+                .isEqualTo(List.of(added));
+    }
+}
@@ -1,20 +1,28 @@
 package ru.checkdev.mock.service;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.*;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
 import ru.checkdev.mock.domain.Interview;
 import ru.checkdev.mock.dto.FilterRequestParams;
+import ru.checkdev.mock.dto.InterviewCursor;
 import ru.checkdev.mock.dto.InterviewDTO;
 import ru.checkdev.mock.enums.StatusInterview;
+import ru.checkdev.mock.enums.StatusTransition;
 import ru.checkdev.mock.mapper.InterviewMapper;
 import ru.checkdev.mock.repository.InterviewRepository;
-import ru.checkdev.mock.repository.WisherRepository;
 
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
@@ -27,10 +35,12 @@ import java.util.stream.IntStream;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
-@SpringBootTest(classes = InterviewService.class)
+@SpringBootTest(classes = {InterviewService.class, InterviewStatusService.class,
+        InterviewFeedCache.class, InterviewPageCache.class})
 @RunWith(SpringRunner.class)
 class InterviewServiceTest {
 
@@ -38,14 +48,20 @@ class InterviewServiceTest {
     private InterviewRepository interviewRepository;
 
     @MockBean
-    private WisherRepository wisherRepository;
+    private InterviewFilterSpecifications interviewFilterSpecifications;
 
     @MockBean
-    private InterviewFilterSpecifications interviewFilterSpecifications;
+    private PendingFeedbackService pendingFeedbackService;
 
     @Autowired
     private InterviewService interviewService;
 
+    @Autowired
+    private InterviewFeedCache feedCache;
+
+    @Autowired
+    private InterviewPageCache pageCache;
+
     private Interview interview = Interview.of()
             .id(1)
             .mode(2)
@@ -63,6 +79,12 @@ class InterviewServiceTest {
             .topicId(1)
             .build();
 
+    @BeforeEach
+    void clearCaches() {
+        feedCache.invalidate();
+        pageCache.invalidateAll();
+    }
+
     @Test
     public void whenSaveAndGetTheSame() {
         when(interviewRepository.save(any(Interview.class))).thenReturn(interview);
@@ -98,7 +120,7 @@ class InterviewServiceTest {
         var page = new PageImpl<>(interviews);
         var pageDto = page.map(InterviewMapper::getInterviewDTO);
         Pageable pageable = PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "createDate"));
-        when(interviewRepository.findAll(pageable)).thenReturn(page);
+        when(interviewRepository.findAllDto(pageable)).thenReturn(pageDto);
         var actual = interviewService.findPaging(0, 5);
         assertThat(actual, is(pageDto));
     }
@@ -123,9 +145,8 @@ class InterviewServiceTest {
         }).toList();
         var page = new PageImpl<>(interviews);
         var pageDto = page.map(InterviewMapper::getInterviewDTO);
-        Pageable pageable = PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "createDate"));
-        when(wisherRepository.findInterviewByUserIdApproved(userId, Pageable.unpaged())).thenReturn(Page.empty());
-        when(interviewRepository.findAllByUserIdRelated(userId, status, List.of(), pageable)).thenReturn(page);
+        Pageable pageable = PageRequest.of(0, 5);
+        when(interviewRepository.findDtoByUserIdRelated(userId, status, pageable)).thenReturn(pageDto);
         var actual = interviewService.findPagingByUserIdRelated(0, 5, userId);
         assertThat(actual, is(pageDto));
         assertThat(actual.getTotalElements(), is(5L));
@@ -135,10 +156,9 @@ class InterviewServiceTest {
     public void whenGetAllByUserIdRelatedAndNothingFound() {
         int userId = 1;
         var status = StatusInterview.IS_NEW;
-        Page<Interview> page = Page.empty();
-        Pageable pageable = PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "createDate"));
-        when(wisherRepository.findInterviewByUserIdApproved(userId, Pageable.unpaged())).thenReturn(Page.empty());
-        when(interviewRepository.findAllByUserIdRelated(userId, status, List.of(), pageable)).thenReturn(page);
+        Page<InterviewDTO> page = Page.empty();
+        Pageable pageable = PageRequest.of(0, 5);
+        when(interviewRepository.findDtoByUserIdRelated(userId, status, pageable)).thenReturn(page);
         var actual = interviewService.findPagingByUserIdRelated(0, 5, userId);
         assertThat(actual, is(page));
         assertThat(actual.getTotalElements(), is(0L));
@@ -146,8 +166,8 @@ class InterviewServiceTest {
 
     @Test
     public void whenFindByIdIsCorrect() {
-        when(interviewRepository.findById(any(Integer.class))).thenReturn(Optional.of(interview));
         var expect = InterviewMapper.getInterviewDTO(interview);
+        when(interviewRepository.findDtoById(any(Integer.class))).thenReturn(Optional.of(expect));
         var actual = interviewService.findById(1);
         assertThat(actual).isNotEmpty();
         assertThat(actual.get(), is(expect));
@@ -155,7 +175,7 @@ class InterviewServiceTest {
 
     @Test
     public void whenFindByIdIsNotCorrect() {
-        when(interviewRepository.findById(any(Integer.class))).thenReturn(Optional.empty());
+        when(interviewRepository.findDtoById(any(Integer.class))).thenReturn(Optional.empty());
         var actual = interviewService.findById(1);
         assertThat(actual, is(Optional.empty()));
     }
@@ -177,13 +197,19 @@ class InterviewServiceTest {
     }
 
     @Test
-    public void whenGetAllWithTopicIdIsNull() {
-        InterviewDTO interviewDTO = InterviewMapper.getInterviewDTO(interview);
-        var interviewList = List.of(interview);
-        var expectList = List.of(interviewDTO);
-        when(interviewRepository.findAll()).thenReturn(interviewList);
-        var actual = interviewService.findAll();
-        assertThat(actual, is(expectList));
+    public void whenDeleteThenFeedResetOnlyAfterCommit() {
+        var before = List.of(InterviewMapper.getInterviewDTO(interview));
+        feedCache.get(InterviewFeedCache.Feed.LAST, () -> before);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            interviewService.delete(interview.getId());
+            assertThat(feedCache.get(InterviewFeedCache.Feed.LAST, List::of)).isEqualTo(before);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(feedCache.get(InterviewFeedCache.Feed.LAST, List::of)).isEqualTo(List.of());
+        verify(interviewRepository).deleteById(interview.getId());
     }
 
     @Test
@@ -192,17 +218,124 @@ class InterviewServiceTest {
         interviewWithTopicId.setTopicId(1);
         interviewWithTopicId.setMode(1);
         var expectList = List.of(InterviewMapper.getInterviewDTO(interviewWithTopicId));
-        when(interviewRepository.findByMode(1)).thenReturn(List.of(interviewWithTopicId));
+        when(interviewRepository.findDtoByMode(1)).thenReturn(expectList);
         var actual = interviewService.findByMode(1);
         assertThat(actual, is(expectList));
     }
 
     @Test
-    public void whenUpdateStatusThenTrue() {
+    public void whenUpdateStatusThenApplied() {
+        var interviewDTO = InterviewMapper.getInterviewDTO(interview).toBuilder()
+                .statusId(StatusInterview.IS_CANCELED.getId())
+                .build();
+        when(interviewRepository.updateStatus(1, StatusInterview.IS_CANCELED, StatusInterview.IS_CANCELED.sources()))
+                .thenReturn(1);
+        var actual = interviewService.updateStatus(interviewDTO);
+        assertThat(actual).isEqualTo(StatusTransition.APPLIED);
+    }
+
+    @Test
+    public void whenUpdateStatusFromWrongStatusThenRejected() {
+        var interviewDTO = InterviewMapper.getInterviewDTO(interview).toBuilder()
+                .statusId(StatusInterview.IS_COMPLETED.getId())
+                .build();
+        when(interviewRepository.findDtoById(1)).thenReturn(Optional.of(InterviewMapper.getInterviewDTO(interview)));
+        var actual = interviewService.updateStatus(interviewDTO);
+        assertThat(actual).isEqualTo(StatusTransition.REJECTED);
+    }
+
+    @Test
+    public void whenUpdateStatusToNewThenRejectedWithoutUpdate() {
         var interviewDTO = InterviewMapper.getInterviewDTO(interview);
-        doNothing().when(interviewRepository).updateStatus(1, StatusInterview.IN_PROGRESS);
+        var current = interviewDTO.toBuilder()
+                .statusId(StatusInterview.IN_PROGRESS.getId())
+                .build();
+        when(interviewRepository.findDtoById(1)).thenReturn(Optional.of(current));
+        var actual = interviewService.updateStatus(interviewDTO);
+        assertThat(actual).isEqualTo(StatusTransition.REJECTED);
+        verify(interviewRepository, never()).updateStatus(anyInt(), any(), any());
+    }
+
+    @Test
+    public void whenUpdateStatusToInProgressThenRejectedWithoutUpdate() {
+        var interviewDTO = InterviewMapper.getInterviewDTO(interview).toBuilder()
+                .statusId(StatusInterview.IN_PROGRESS.getId())
+                .build();
+        when(interviewRepository.findDtoById(1)).thenReturn(Optional.of(InterviewMapper.getInterviewDTO(interview)));
+        var actual = interviewService.updateStatus(interviewDTO);
+        assertThat(actual).isEqualTo(StatusTransition.REJECTED);
+        verify(interviewRepository, never()).updateStatus(anyInt(), any(), any());
+    }
+
+    @Test
+    public void whenUpdateStatusToCurrentStatusThenUnchanged() {
+        var interviewDTO = InterviewMapper.getInterviewDTO(interview).toBuilder()
+                .statusId(StatusInterview.IN_PROGRESS.getId())
+                .build();
+        when(interviewRepository.findDtoById(1)).thenReturn(Optional.of(interviewDTO));
+        var actual = interviewService.updateStatus(interviewDTO);
+        assertThat(actual).isEqualTo(StatusTransition.UNCHANGED);
+        verify(interviewRepository, never()).updateStatus(anyInt(), any(), any());
+    }
+
+    @Test
+    public void whenUpdateStatusOfMissingInterviewThenNotFound() {
+        var interviewDTO = InterviewMapper.getInterviewDTO(interview).toBuilder()
+                .statusId(StatusInterview.IS_CANCELED.getId())
+                .build();
         var actual = interviewService.updateStatus(interviewDTO);
-        assertThat(actual).isTrue();
+        assertThat(actual).isEqualTo(StatusTransition.NOT_FOUND);
+    }
+
+    @Test
+    public void whenUpdateThenStoredStatusKept() {
+        var stored = InterviewMapper.getInterviewDTO(interview).toBuilder()
+                .statusId(StatusInterview.IN_PROGRESS.getId())
+                .build();
+        when(interviewRepository.findDtoById(1)).thenReturn(Optional.of(stored));
+        when(interviewRepository.save(any(Interview.class))).thenReturn(interview);
+        interviewService.update(InterviewMapper.getInterviewDTO(interview).toBuilder()
+                .statusId(StatusInterview.IS_COMPLETED.getId())
+                .build());
+        var saved = ArgumentCaptor.forClass(Interview.class);
+        verify(interviewRepository).save(saved.capture());
+        assertThat(saved.getValue().getStatus()).isEqualTo(StatusInterview.IN_PROGRESS);
+    }
+
+    @Test
+    public void whenUpdateWithoutVersionAndConflictThenRetriedWithCurrentVersion() {
+        var stored = InterviewMapper.getInterviewDTO(interview);
+        when(interviewRepository.findDtoById(1))
+                .thenReturn(Optional.of(stored.toBuilder().version(3).build()))
+                .thenReturn(Optional.of(stored.toBuilder().version(4).build()));
+        when(interviewRepository.save(any(Interview.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Interview.class, 1))
+                .thenReturn(interview);
+        var actual = interviewService.update(InterviewMapper.getInterviewDTO(interview).toBuilder()
+                .version(null)
+                .build());
+        assertThat(actual).isPresent();
+        var saved = ArgumentCaptor.forClass(Interview.class);
+        verify(interviewRepository, times(2)).save(saved.capture());
+        assertThat(saved.getAllValues().get(0).getVersion()).isEqualTo(3);
+        assertThat(saved.getAllValues().get(1).getVersion()).isEqualTo(4);
+    }
+
+    @Test
+    public void whenUpdateMissingInterviewThenNotFoundAndNothingSaved() {
+        assertThrows(ResponseStatusException.class,
+                () -> interviewService.update(InterviewMapper.getInterviewDTO(interview)));
+        verify(interviewRepository, never()).save(any(Interview.class));
+    }
+
+    @Test
+    public void whenUpdateWithStaleVersionThenConflictNotRetried() {
+        when(interviewRepository.findDtoById(1)).thenReturn(Optional.of(InterviewMapper.getInterviewDTO(interview)));
+        when(interviewRepository.save(any(Interview.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Interview.class, 1));
+        var stale = InterviewMapper.getInterviewDTO(interview).toBuilder().version(2).build();
+        assertThrows(OptimisticLockingFailureException.class, () -> interviewService.update(stale));
+        verify(interviewRepository, times(1)).save(any(Interview.class));
     }
 
     @Test
@@ -215,9 +348,8 @@ class InterviewServiceTest {
                 .createDate(Timestamp.valueOf(LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES)))
                 .topicId(1)
                 .build();
-        List<Interview> listInterview = List.of(interview);
         List<InterviewDTO> expected = List.of(InterviewMapper.getInterviewDTO(interview));
-        doReturn(listInterview).when(interviewRepository).findAllByUserIdWisherIsApproveAndNoFeedback(wisherUser);
+        doReturn(expected).when(interviewRepository).findDtoPendingFeedback(wisherUser);
         List<InterviewDTO> actual = interviewService.findAllIdByNoFeedback(wisherUser);
         assertThat(actual).isEqualTo(expected);
     }
@@ -225,7 +357,7 @@ class InterviewServiceTest {
     @Test
     void whenFindAllIdByNoFeedbackThenReturnEmptyList() {
         int wisherUser = 2;
-        doReturn(Collections.emptyList()).when(interviewRepository).findAllByUserIdWisherIsApproveAndNoFeedback(wisherUser);
+        doReturn(Collections.emptyList()).when(interviewRepository).findDtoPendingFeedback(wisherUser);
         List<InterviewDTO> actual = interviewService.findAllIdByNoFeedback(wisherUser);
         assertThat(actual.isEmpty()).isTrue();
     }
@@ -234,13 +366,14 @@ class InterviewServiceTest {
     public void whenGetAllWithStatusNew() {
         Interview interviewNewStatus = interview;
         var status = StatusInterview.IS_NEW;
-        when(interviewRepository.findAllByStatus(status)).thenReturn(List.of(interviewNewStatus));
+        when(interviewRepository.findDtoByStatus(status))
+                .thenReturn(List.of(InterviewMapper.getInterviewDTO(interviewNewStatus)));
     }
 
     @Test
     public void whenPutNotNewStatusGetEmptyList() {
         var status = StatusInterview.IS_NEW;
-        when(interviewRepository.findAllByStatus(status)).thenReturn(List.of());
+        when(interviewRepository.findDtoByStatus(status)).thenReturn(List.of());
         List<InterviewDTO> actual = interviewService.findNewInterview();
         assertThat(actual.isEmpty()).isTrue();
     }
@@ -251,11 +384,72 @@ class InterviewServiceTest {
                 List.of(1), 3, 0, 0, 1, 0, false);
         var specifications =
                 interviewFilterSpecifications.createSpecifications(filterRequestParams);
-        var page = new PageImpl<>(List.of(interview));
-        when(interviewRepository.findAll(specifications, PageRequest.of(0, 1)))
+        var page = new PageImpl<>(List.of(InterviewMapper.getInterviewDTO(interview)));
+        when(interviewRepository.findAllDto(specifications, PageRequest.of(0, 1)))
                 .thenReturn(page);
         assertThat(interviewService
                 .getInterviewsWithFilters(0, 1, filterRequestParams))
-                .isEqualTo(page.map(InterviewMapper::getInterviewDTO));
+                .isEqualTo(page);
+    }
+
+    @Test
+    void whenFindSliceWithoutCursorThenFirstPage() {
+        var slice = new SliceImpl<>(List.of(InterviewMapper.getInterviewDTO(interview)), PageRequest.of(0, 1), true);
+        when(interviewRepository.findDtoSlice(PageRequest.of(0, 1))).thenReturn(slice);
+        var actual = interviewService.findSlice("", 1);
+        assertThat(actual.getContent()).isEqualTo(List.of(InterviewMapper.getInterviewDTO(interview)));
+        assertThat(actual.hasNext()).isTrue();
+        verify(interviewRepository, never()).count();
+    }
+
+    @Test
+    void whenFindSliceWithCursorThenPageAfterCursor() {
+        var cursor = new InterviewCursor(interview.getCreateDate(), 10);
+        var slice = new SliceImpl<>(List.of(InterviewMapper.getInterviewDTO(interview)), PageRequest.of(0, 1), false);
+        when(interviewRepository.findDtoSliceBeforeCursor(interview.getCreateDate(), 10, PageRequest.of(0, 1)))
+                .thenReturn(slice);
+        var actual = interviewService.findSlice(cursor.encode(), 1);
+        assertThat(actual.getContent()).isEqualTo(List.of(InterviewMapper.getInterviewDTO(interview)));
+        assertThat(actual.hasNext()).isFalse();
+    }
+
+    @Test
+    void whenFindNewInterviewTwiceThenRepositoryCalledOnce() {
+        when(interviewRepository.findDtoByStatus(StatusInterview.IS_NEW))
+                .thenReturn(List.of(InterviewMapper.getInterviewDTO(interview)));
+        var first = interviewService.findNewInterview();
+        var second = interviewService.findNewInterview();
+        assertThat(second).isEqualTo(first);
+        verify(interviewRepository, times(1)).findDtoByStatus(StatusInterview.IS_NEW);
+    }
+
+    @Test
+    void whenUpdateStatusThenFeedReloaded() {
+        when(interviewRepository.findDtoByStatusOrderByCreateDateDesc(any(StatusInterview.class), any(Pageable.class)))
+                .thenReturn(List.of(InterviewMapper.getInterviewDTO(interview)));
+        when(interviewRepository.updateStatus(anyInt(), any(), any())).thenReturn(1);
+        when(interviewRepository.findDtoById(1)).thenReturn(Optional.of(InterviewMapper.getInterviewDTO(interview)));
+        interviewService.findLast();
+        interviewService.updateStatus(InterviewMapper.getInterviewDTO(interview).toBuilder()
+                .statusId(StatusInterview.IS_CANCELED.getId())
+                .build());
+        interviewService.findLast();
+        verify(interviewRepository, times(2))
+                .findDtoByStatusOrderByCreateDateDesc(any(StatusInterview.class), any(Pageable.class));
+    }
+
+    @Test
+    void whenGetFiltersTwiceThenRepositoryCalledOnceUntilMatchingSave() {
+        var filterRequestParams = new FilterRequestParams(
+                List.of(1), 0, 0, 0, 0, 2, false);
+        var page = new PageImpl<>(List.of(InterviewMapper.getInterviewDTO(interview)));
+        when(interviewRepository.findAllDto(any(), any(Pageable.class))).thenReturn(page);
+        when(interviewRepository.save(any(Interview.class))).thenReturn(interview);
+        interviewService.getInterviewsWithFilters(0, 1, filterRequestParams);
+        interviewService.getInterviewsWithFilters(0, 1, filterRequestParams);
+        verify(interviewRepository, times(1)).findAllDto(any(), any(Pageable.class));
+        interviewService.save(InterviewMapper.getInterviewDTO(interview));
+        interviewService.getInterviewsWithFilters(0, 1, filterRequestParams);
+        verify(interviewRepository, times(2)).findAllDto(any(), any(Pageable.class));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,168 @@
+package ru.checkdev.mock.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import ru.checkdev.mock.MockSrv;
+import ru.checkdev.mock.dto.FeedbackDTO;
+import ru.checkdev.mock.enums.StatusInterview;
+import ru.checkdev.mock.enums.StatusTransition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = MockSrv.class)
+class InterviewStatusServiceTest {
+
+    private static final int SUBMITTER = 1;
+
+    private static final int WISHER_USER = 2;
+
+    @Autowired
+    private InterviewStatusService interviewStatusService;
+
+    @Autowired
+    private WisherService wisherService;
+
+    @Autowired
+    private FeedbackService feedbackService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int interviewId;
+
+    private int wisherId;
+
+    @BeforeEach
+    void fillTables() {
+        jdbcTemplate.update("DELETE FROM cd_feedback");
+        jdbcTemplate.update("DELETE FROM wisher");
+        jdbcTemplate.update("DELETE FROM interview");
+        jdbcTemplate.update("""
+                INSERT INTO interview(mode, submitter_id, title, additional, contact_by, approximate_date,
+                                      create_date, topic_id, author, status)
+                VALUES (1, ?, 'title', 'additional', 'contact', 'now', CURRENT_TIMESTAMP, 1, 'author', 1)
+                """, SUBMITTER);
+        interviewId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM interview", Integer.class);
+        jdbcTemplate.update("INSERT INTO wisher(interview_id, user_id, contact_by, approve) VALUES (?, ?, 'c', false)",
+                interviewId, WISHER_USER);
+        wisherId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM wisher", Integer.class);
+    }
+
+    private StatusInterview status() {
+        var id = jdbcTemplate.queryForObject("SELECT status FROM interview WHERE id = ?", Integer.class, interviewId);
+        return StatusInterview.values()[id];
+    }
+
+    @Test
+    void whenApproveAndBothFeedbacksThenLifecycleFollowed() {
+        wisherService.approveWisher(interviewId, wisherId);
+        assertThat(status()).isEqualTo(StatusInterview.IN_PROGRESS);
+        feedbackService.save(new FeedbackDTO(0, interviewId, SUBMITTER, 1, "submitter", 5));
+        assertThat(status()).isEqualTo(StatusInterview.IS_FEEDBACK);
+        feedbackService.save(new FeedbackDTO(0, interviewId, WISHER_USER, 2, "wisher", 5));
+        assertThat(status()).isEqualTo(StatusInterview.IS_COMPLETED);
+        assertThat(interviewStatusService.change(interviewId, StatusInterview.IS_CANCELED))
+                .isEqualTo(StatusTransition.REJECTED);
+        assertThat(status()).isEqualTo(StatusInterview.IS_COMPLETED);
+    }
+
+    @Test
+    void whenFeedbacksSavedInBatchThenCompletedAtOnce() {
+        wisherService.approveWisher(interviewId, wisherId);
+        feedbackService.saveAll(List.of(
+                new FeedbackDTO(0, interviewId, SUBMITTER, 1, "submitter", 5),
+                new FeedbackDTO(0, interviewId, WISHER_USER, 2, "wisher", 5)));
+        assertThat(status()).isEqualTo(StatusInterview.IS_COMPLETED);
+    }
+
+    @Test
+    void whenFeedbackBeforeApproveThenStatusKept() {
+        feedbackService.save(new FeedbackDTO(0, interviewId, SUBMITTER, 1, "submitter", 5));
+        assertThat(status()).isEqualTo(StatusInterview.IS_NEW);
+    }
+
+    @Test
+    void whenChangeToInProgressWithoutApprovalThenRejected() {
+        assertThat(interviewStatusService.change(interviewId, StatusInterview.IN_PROGRESS))
+                .isEqualTo(StatusTransition.REJECTED);
+        assertThat(status()).isEqualTo(StatusInterview.IS_NEW);
+        wisherService.approveWisher(interviewId, wisherId);
+        assertThat(interviewStatusService.change(interviewId, StatusInterview.IN_PROGRESS))
+                .isEqualTo(StatusTransition.UNCHANGED);
+        assertThat(status()).isEqualTo(StatusInterview.IN_PROGRESS);
+    }
+
+    @Test
+    void whenAgreedWisherUnapprovedInProgressThenBackToNew() {
+        wisherService.approveWisher(interviewId, wisherId);
+        wisherService.setWisherApprove(interviewId, wisherId, false);
+        assertThat(status()).isEqualTo(StatusInterview.IS_NEW);
+        assertThat(jdbcTemplate.queryForObject("SELECT agreed_wisher_id FROM interview WHERE id = ?",
+                Integer.class, interviewId)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT approve FROM wisher WHERE id = ?",
+                Boolean.class, wisherId)).isFalse();
+    }
+
+    @Test
+    void whenAgreedWisherUnapprovedAfterFeedbackThenRejected() {
+        wisherService.approveWisher(interviewId, wisherId);
+        feedbackService.save(new FeedbackDTO(0, interviewId, SUBMITTER, 1, "submitter", 5));
+        assertThrows(IllegalArgumentException.class,
+                () -> wisherService.setWisherApprove(interviewId, wisherId, false));
+        assertThat(status()).isEqualTo(StatusInterview.IS_FEEDBACK);
+        assertThat(jdbcTemplate.queryForObject("SELECT approve FROM wisher WHERE id = ?",
+                Boolean.class, wisherId)).isTrue();
+    }
+
+    @Test
+    void whenInterviewMissingThenNotFound() {
+        assertThat(interviewStatusService.change(interviewId + 1, StatusInterview.IS_CANCELED))
+                .isEqualTo(StatusTransition.NOT_FOUND);
+    }
+
+    @Test
+    void whenConcurrentConflictingChangesThenExactlyOneApplied() throws Exception {
+        wisherService.approveWisher(interviewId, wisherId);
+        int threads = 8;
+        var start = new CountDownLatch(1);
+        var tasks = new ArrayList<Callable<StatusTransition>>();
+        for (int i = 0; i < threads; i++) {
+            var target = i % 2 == 0 ? StatusInterview.IS_CANCELED : StatusInterview.IS_FEEDBACK;
+            tasks.add(() -> {
+                start.await();
+                return interviewStatusService.change(interviewId, target);
+            });
+        }
+        var pool = Executors.newFixedThreadPool(threads);
+        try {
+            var futures = new ArrayList<Future<StatusTransition>>();
+            tasks.forEach(task -> futures.add(pool.submit(task)));
+            start.countDown();
+            var results = new ArrayList<StatusTransition>();
+            for (var future : futures) {
+                results.add(future.get());
+            }
+            assertThat(results).containsOnlyOnce(StatusTransition.APPLIED);
+            assertThat(results).filteredOn(result -> result != StatusTransition.APPLIED)
+                    .hasSize(threads - 1)
+                    .containsOnly(StatusTransition.REJECTED, StatusTransition.UNCHANGED);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(status()).isIn(StatusInterview.IS_CANCELED, StatusInterview.IS_FEEDBACK);
+    }
+}
@@ -0,0 +1,122 @@
+package ru.checkdev.mock.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import ru.checkdev.mock.MockSrv;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Пропускная способность обновления собеседований при 1, 8 и 32 потоках:
+ * с проверкой версии (If-Match) и без нее, по одной горячей строке и по 1000 строк вразброс.
+ * При проверке версии конфликт не повторяется, а считается отказом (клиент получил бы 412).
+ * Запускается только явно, результат пишется в лог:
+ * mvn test -Dtest=InterviewUpdateBenchmarkTest -Dbenchmark=true -Djacoco.skip=true
+ */
+@Slf4j
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = MockSrv.class)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class InterviewUpdateBenchmarkTest {
+
+    private static final int ROWS = 1000;
+
+    private static final int UPDATES = 4000;
+
+    @Autowired
+    private InterviewService interviewService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<Integer> ids;
+
+    @BeforeEach
+    void fillTable() {
+        jdbcTemplate.update("DELETE FROM cd_feedback");
+        jdbcTemplate.update("DELETE FROM wisher");
+        jdbcTemplate.update("DELETE FROM interview");
+        var rows = new ArrayList<Object[]>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[] {"title " + i});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO interview(mode, submitter_id, title, additional, contact_by, approximate_date,
+                                      create_date, topic_id, author, status)
+                VALUES (1, 1, ?, 'additional', 'contact', 'now', CURRENT_TIMESTAMP, 1, 'author', 1)
+                """, rows);
+        ids = jdbcTemplate.queryForList("SELECT id FROM interview ORDER BY id", Integer.class);
+    }
+
+    @Test
+    void updateThroughput() throws InterruptedException {
+        run(1, false, false);
+        for (int threads : new int[] {1, 8, 32}) {
+            for (boolean hot : new boolean[] {true, false}) {
+                run(threads, hot, false);
+                run(threads, hot, true);
+            }
+        }
+    }
+
+    private void run(int threads, boolean hot, boolean conditional) throws InterruptedException {
+        var applied = new AtomicInteger();
+        var conflicts = new AtomicInteger();
+        var failed = new AtomicInteger();
+        var start = new CountDownLatch(1);
+        var pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                var random = ThreadLocalRandom.current();
+                for (int i = 0; i < UPDATES / threads; i++) {
+                    var id = hot ? ids.get(0) : ids.get(random.nextInt(ROWS));
+                    var read = interviewService.findById(id).orElseThrow();
+                    var edit = read.toBuilder().title("title " + random.nextInt());
+                    if (!conditional) {
+                        edit.version(null);
+                    }
+                    try {
+                        if (interviewService.update(edit.build()).isPresent()) {
+                            applied.incrementAndGet();
+                        } else {
+                            failed.incrementAndGet();
+                        }
+                    } catch (OptimisticLockingFailureException e) {
+                        conflicts.incrementAndGet();
+                    }
+                }
+            });
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+        long millis = Math.max(1, (System.nanoTime() - begin) / 1_000_000);
+        var total = applied.get() + conflicts.get() + failed.get();
+        log.info("threads {}, {} row, {}: {} updates/s, conflicts {}%, failed {}",
+                threads, hot ? "hot" : "cold", conditional ? "If-Match" : "last write wins",
+                total * 1000L / millis, conflicts.get() * 100 / Math.max(1, total), failed.get());
+    }
+}
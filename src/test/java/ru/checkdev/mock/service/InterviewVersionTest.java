@@ -0,0 +1,101 @@
+package ru.checkdev.mock.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import ru.checkdev.mock.MockSrv;
+import ru.checkdev.mock.enums.StatusInterview;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = MockSrv.class)
+class InterviewVersionTest {
+
+    @Autowired
+    private InterviewService interviewService;
+
+    @Autowired
+    private InterviewStatusService interviewStatusService;
+
+    @Autowired
+    private WisherService wisherService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int interviewId;
+
+    private int wisherId;
+
+    @BeforeEach
+    void fillTables() {
+        jdbcTemplate.update("DELETE FROM cd_feedback");
+        jdbcTemplate.update("DELETE FROM wisher");
+        jdbcTemplate.update("DELETE FROM interview");
+        jdbcTemplate.update("""
+                INSERT INTO interview(mode, submitter_id, title, additional, contact_by, approximate_date,
+                                      create_date, topic_id, author, status)
+                VALUES (1, 1, 'title', 'additional', 'contact', 'now', CURRENT_TIMESTAMP, 1, 'author', 1)
+                """);
+        interviewId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM interview", Integer.class);
+        jdbcTemplate.update("INSERT INTO wisher(interview_id, user_id, contact_by, approve) VALUES (?, 2, 'c', false)",
+                interviewId);
+        wisherId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM wisher", Integer.class);
+    }
+
+    private int version(String table, int id) {
+        return jdbcTemplate.queryForObject("SELECT version FROM " + table + " WHERE id = ?", Integer.class, id);
+    }
+
+    @Test
+    void whenUpdateWithCurrentVersionThenVersionIncremented() {
+        var read = interviewService.findById(interviewId).orElseThrow();
+        var updated = interviewService.update(read.toBuilder().title("new title").build()).orElseThrow();
+        assertThat(updated.getVersion()).isEqualTo(read.getVersion() + 1);
+        assertThat(version("interview", interviewId)).isEqualTo(updated.getVersion());
+    }
+
+    @Test
+    void whenUpdateWithStaleVersionThenConflictAndRowKept() {
+        var read = interviewService.findById(interviewId).orElseThrow();
+        interviewService.update(read.toBuilder().title("first").build());
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> interviewService.update(read.toBuilder().title("second").build()));
+        assertThat(interviewService.findById(interviewId).orElseThrow().getTitle()).isEqualTo("first");
+    }
+
+    @Test
+    void whenUpdateWithoutVersionThenLastWriteWins() {
+        var read = interviewService.findById(interviewId).orElseThrow();
+        interviewService.update(read.toBuilder().title("first").build());
+        var updated = interviewService.update(read.toBuilder().title("second").version(null).build());
+        assertThat(updated).isPresent();
+        assertThat(interviewService.findById(interviewId).orElseThrow().getTitle()).isEqualTo("second");
+    }
+
+    @Test
+    void whenStatusChangedThenReadVersionIsStale() {
+        var read = interviewService.findById(interviewId).orElseThrow();
+        interviewStatusService.change(interviewId, StatusInterview.IS_CANCELED);
+        assertThat(version("interview", interviewId)).isEqualTo(read.getVersion() + 1);
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> interviewService.update(read.toBuilder().title("stale").build()));
+    }
+
+    @Test
+    void whenWisherApprovedThenBothVersionsIncremented() {
+        var wisher = wisherService.findById(wisherId).orElseThrow();
+        wisherService.approveWisher(interviewId, wisherId);
+        assertThat(version("wisher", wisherId)).isEqualTo(wisher.getVersion() + 1);
+        assertThat(version("interview", interviewId)).isEqualTo(1);
+        wisher.setContactBy("stale");
+        assertThrows(OptimisticLockingFailureException.class, () -> wisherService.update(wisher));
+    }
+}
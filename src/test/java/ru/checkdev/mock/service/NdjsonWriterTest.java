@@ -0,0 +1,58 @@
+package ru.checkdev.mock.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import ru.checkdev.mock.dto.WisherDto;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NdjsonWriterTest {
+
+    private static final int ROWS = 1_000;
+
+    private final NdjsonWriter ndjsonWriter = new NdjsonWriter(new ObjectMapper());
+
+    @Test
+    void whenManyRowsThenOneLinePerRowAndStreamFlushedOnce() throws Exception {
+        var out = new CountingOutputStream();
+        var rows = IntStream.rangeClosed(1, ROWS).mapToObj(i -> new WisherDto(i, 1, i, "contact", false));
+        long count = ndjsonWriter.write(rows, WisherDto.class, out);
+        var lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(count).isEqualTo(ROWS);
+        assertThat(lines).hasSize(ROWS);
+        assertThat(lines[ROWS - 1]).startsWith("{\"id\":" + ROWS + ",");
+        assertThat(out.flushes).isEqualTo(1);
+        assertThat(out.writes).isLessThan(ROWS / 10);
+    }
+
+    @Test
+    void whenAfterRowThenCalledWithRunningCount() throws Exception {
+        var counts = new ArrayList<Long>();
+        var rows = IntStream.rangeClosed(1, 3).mapToObj(i -> new WisherDto(i, 1, i, "contact", false));
+        ndjsonWriter.write(rows, WisherDto.class, new ByteArrayOutputStream(), counts::add);
+        assertThat(counts).containsExactly(1L, 2L, 3L);
+    }
+
+    private static final class CountingOutputStream extends ByteArrayOutputStream {
+
+        private int flushes;
+
+        private int writes;
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            writes++;
+            super.write(b, off, len);
+        }
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+}
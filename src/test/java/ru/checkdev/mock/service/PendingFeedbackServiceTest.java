@@ -0,0 +1,125 @@
+package ru.checkdev.mock.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit4.SpringRunner;
+import ru.checkdev.mock.domain.Feedback;
+import ru.checkdev.mock.domain.Interview;
+import ru.checkdev.mock.domain.PendingFeedback;
+import ru.checkdev.mock.domain.Wisher;
+import ru.checkdev.mock.dto.InterviewDTO;
+import ru.checkdev.mock.repository.InterviewRepository;
+import ru.checkdev.mock.repository.PendingFeedbackRepository;
+
+import javax.persistence.EntityManager;
+import java.sql.Timestamp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@RunWith(SpringRunner.class)
+@Import(PendingFeedbackService.class)
+class PendingFeedbackServiceTest {
+
+    private static final int SUBMITTER = 1;
+
+    private static final int WISHER_USER = 2;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PendingFeedbackService pendingFeedbackService;
+
+    @Autowired
+    private PendingFeedbackRepository pendingFeedbackRepository;
+
+    @Autowired
+    private InterviewRepository interviewRepository;
+
+    private Interview interview;
+
+    private Wisher wisher;
+
+    @BeforeEach
+    void fillTables() {
+        entityManager.createQuery("delete from cd_pending_feedback").executeUpdate();
+        entityManager.createQuery("delete from cd_feedback").executeUpdate();
+        entityManager.createQuery("delete from wisher").executeUpdate();
+        entityManager.createQuery("delete from interview").executeUpdate();
+        interview = Interview.of().mode(1).submitterId(SUBMITTER).title("title").additional("additional")
+                .contactBy("mail@mail").approximateDate("approximate")
+                .createDate(new Timestamp(System.currentTimeMillis()))
+                .topicId(1).author("author")
+                .build();
+        entityManager.persist(interview);
+        wisher = new Wisher(0, interview, WISHER_USER, "user_Mail", false);
+        entityManager.persist(wisher);
+        entityManager.flush();
+    }
+
+    @Test
+    void whenNoApprovedWisherThenNothingPending() {
+        pendingFeedbackService.refreshInterview(interview.getId());
+        assertThat(pendingFeedbackRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    void whenWisherApprovedThenSubmitterAndWisherPending() {
+        approve();
+        for (int userId : new int[]{SUBMITTER, WISHER_USER}) {
+            assertThat(interviewRepository.findDtoPendingFeedback(userId))
+                    .extracting(InterviewDTO::getId)
+                    .containsExactly(interview.getId());
+        }
+        assertThat(pendingFeedbackService.reconcile()).isZero();
+    }
+
+    @Test
+    void whenFeedbackLeftThenOnlyOtherUserPending() {
+        approve();
+        entityManager.persist(new Feedback(0, interview, WISHER_USER, 2, "text", 5));
+        pendingFeedbackService.feedbackLeft(WISHER_USER, interview.getId());
+        assertThat(interviewRepository.findDtoPendingFeedback(WISHER_USER)).isEmpty();
+        assertThat(interviewRepository.findDtoPendingFeedback(SUBMITTER)).hasSize(1);
+        assertThat(pendingFeedbackService.reconcile()).isZero();
+    }
+
+    @Test
+    void whenTableOutOfSyncThenReconcileRepairs() {
+        approve();
+        entityManager.createQuery("delete from cd_pending_feedback p where p.userId = :userId")
+                .setParameter("userId", SUBMITTER)
+                .executeUpdate();
+        assertThat(pendingFeedbackService.reconcile()).isEqualTo(1);
+        assertThat(interviewRepository.findDtoPendingFeedback(SUBMITTER)).hasSize(1);
+        assertThat(pendingFeedbackService.reconcile()).isZero();
+    }
+
+    @Test
+    void whenExtraAndMissingPairsThenReconcileRemovesAndAddsThem() {
+        approve();
+        entityManager.createQuery("delete from cd_pending_feedback p where p.userId = :userId")
+                .setParameter("userId", SUBMITTER)
+                .executeUpdate();
+        entityManager.createNativeQuery("INSERT INTO cd_pending_feedback(user_id, interview_id) VALUES (99, ?)")
+                .setParameter(1, interview.getId())
+                .executeUpdate();
+        assertThat(pendingFeedbackService.reconcile()).isEqualTo(2);
+        assertThat(pendingFeedbackRepository.findAll())
+                .extracting(PendingFeedback::getUserId)
+                .containsExactlyInAnyOrder(SUBMITTER, WISHER_USER);
+        assertThat(pendingFeedbackService.reconcile()).isZero();
+    }
+
+    private void approve() {
+        wisher.setApprove(true);
+        entityManager.flush();
+        pendingFeedbackService.refreshInterview(interview.getId());
+        entityManager.clear();
+    }
+}
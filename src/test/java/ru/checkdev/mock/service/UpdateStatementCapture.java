@@ -0,0 +1,43 @@
+package ru.checkdev.mock.service;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Запоминает UPDATE interview, которые формирует Hibernate.
+ * Подключается свойством spring.jpa.properties.hibernate.session_factory.statement_inspector.
+ */
+public class UpdateStatementCapture implements StatementInspector {
+
+    private static final List<String> UPDATES = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        if (sql.toLowerCase(Locale.ROOT).startsWith("update interview ")) {
+            UPDATES.add(sql);
+        }
+        return sql;
+    }
+
+    static List<String> updates() {
+        return List.copyOf(UPDATES);
+    }
+
+    static void clear() {
+        UPDATES.clear();
+    }
+
+    /**
+     * Столбцы из SET выражения UPDATE.
+     */
+    static List<String> setColumns(String update) {
+        var lower = update.toLowerCase(Locale.ROOT);
+        var set = lower.substring(lower.indexOf(" set ") + 5, lower.indexOf(" where "));
+        return List.of(set.split(",")).stream()
+                .map(assignment -> assignment.substring(0, assignment.indexOf('=')).trim())
+                .toList();
+    }
+}
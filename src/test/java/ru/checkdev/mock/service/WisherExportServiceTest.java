@@ -0,0 +1,70 @@
+package ru.checkdev.mock.service;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@RunWith(SpringRunner.class)
+@Import({WisherExportService.class, NdjsonWriter.class, JacksonAutoConfiguration.class})
+class WisherExportServiceTest {
+
+    private static final int ROWS = 1_200;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private WisherExportService exportService;
+
+    @BeforeEach
+    void fillTables() {
+        entityManager.createQuery("delete from cd_feedback").executeUpdate();
+        entityManager.createQuery("delete from wisher").executeUpdate();
+        entityManager.createQuery("delete from interview").executeUpdate();
+        entityManager.createNativeQuery("""
+                INSERT INTO interview(mode, submitter_id, title, additional, contact_by, approximate_date,
+                                      create_date, topic_id, author, status)
+                SELECT 1, 1, CONCAT('title', x), 'additional', 'contact', 'now', CURRENT_TIMESTAMP, 1, 'author', 1
+                FROM SYSTEM_RANGE(1, :rows)
+                """).setParameter("rows", ROWS).executeUpdate();
+        entityManager.createNativeQuery("""
+                INSERT INTO wisher(interview_id, user_id, contact_by, approve)
+                SELECT i.id, 100, 'contact', false FROM interview i
+                """).executeUpdate();
+        entityManager.clear();
+    }
+
+    @Test
+    void whenExportAllThenOneLinePerWisherWithInterviewAndContextCleared() throws Exception {
+        var out = new ByteArrayOutputStream();
+        long count = exportService.exportAll(out);
+        var lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(count).isEqualTo(ROWS);
+        assertThat(lines).hasSize(ROWS);
+        assertThat(lines[0]).contains("\"interview\":{\"id\":");
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isLessThan(2 * 500);
+    }
+
+    @Test
+    void whenExportAllDtoThenOneLinePerWisher() throws Exception {
+        var out = new ByteArrayOutputStream();
+        long count = exportService.exportAllDto(out);
+        var lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(count).isEqualTo(ROWS);
+        assertThat(lines[0]).startsWith("{\"id\":");
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+}
@@ -11,6 +11,9 @@ import ru.checkdev.mock.domain.Interview;
 import ru.checkdev.mock.domain.Wisher;
 import ru.checkdev.mock.dto.UsersApprovedInterviewsDTO;
 import ru.checkdev.mock.dto.WisherDto;
+import ru.checkdev.mock.enums.StatusInterview;
+import ru.checkdev.mock.repository.ApprovedCounterRepository;
+import ru.checkdev.mock.repository.InterviewRepository;
 import ru.checkdev.mock.repository.WisherRepository;
 
 import java.sql.Timestamp;
@@ -21,15 +24,32 @@ import java.util.Optional;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(SpringRunner.class)
-@SpringBootTest(classes = WisherService.class)
+@SpringBootTest(classes = {WisherService.class, InterviewFeedCache.class, InterviewPageCache.class})
 class WisherServiceTest {
 
     @MockBean
     private WisherRepository wisherRepository;
 
+    @MockBean
+    private InterviewRepository interviewRepository;
+
+    @MockBean
+    private PendingFeedbackService pendingFeedbackService;
+
+    @MockBean
+    private ApprovedCounterRepository approvedCounterRepository;
+
+    @MockBean
+    private ApprovedCounterService approvedCounterService;
+
     @Autowired
     private WisherService wisherService;
 
@@ -134,6 +154,15 @@ class WisherServiceTest {
         assertThat(actual, is(true));
     }
 
+    @Test
+    void whenUpdateMovesWisherToAnotherUserThenBothCountersRefreshedInIdOrder() {
+        var moved = Wisher.of().id(1).interview(interview).userId(3).contactBy("c").approve(true).build();
+        when(wisherRepository.findUserIdById(1)).thenReturn(Optional.of(7));
+        when(wisherRepository.save(moved)).thenReturn(moved);
+        wisherService.update(moved);
+        verify(approvedCounterService).refreshUsers(argThat(ids -> List.copyOf(ids).equals(List.of(3, 7))));
+    }
+
     @Test
     void whenFindAllWisherDTOThenReturnDtoList() {
         var wisher = new WisherDto();
@@ -164,7 +193,7 @@ class WisherServiceTest {
     @Test
     void whenGetUserIdWithCountedApprovedInterviewsAndUserExistsThenGetDtoWithCountedInterviews() {
         var dto = new UsersApprovedInterviewsDTO(1, 2);
-        when(wisherRepository.getUserIdWithCountedApprovedInterviews(dto.getUserId()))
+        when(approvedCounterRepository.findDtoByUserId(dto.getUserId()))
                 .thenReturn(Optional.of(dto));
         var actual = wisherService.getUserIdWithCountedApprovedInterviews(dto.getUserId());
         assertThat(actual, is(dto));
@@ -173,10 +202,83 @@ class WisherServiceTest {
     @Test
     void whenGetUserIdWithCountedApprovedInterviewsAndUserNotExistsThenGetDtoWithCountZero() {
         var dto = new UsersApprovedInterviewsDTO(1, 0);
-        when(wisherRepository.getUserIdWithCountedApprovedInterviews(dto.getUserId()))
+        when(approvedCounterRepository.findDtoByUserId(dto.getUserId()))
                 .thenReturn(Optional.empty());
         var actual = wisherService.getUserIdWithCountedApprovedInterviews(dto.getUserId());
         assertThat(actual, is(dto));
     }
 
-}
\ No newline at end of file
+    @Test
+    void whenSaveAllThenApprovedInterviewsAndUsersRefreshedOnce() {
+        var approved = Wisher.of().interview(interview).userId(1).approve(true).build();
+        var other = Wisher.of().interview(interview).userId(2).approve(false).build();
+        var wishers = List.of(approved, other);
+        when(wisherRepository.saveAll(wishers)).thenReturn(wishers);
+        var actual = wisherService.saveAll(wishers);
+        assertThat(actual, is(wishers));
+        verify(wisherRepository).flush();
+        verify(pendingFeedbackService).refreshInterview(interview.getId());
+        verify(approvedCounterService).refreshUser(1);
+        verify(approvedCounterService, never()).refreshUser(2);
+    }
+
+    @Test
+    void whenApproveWisherThenInterviewAndWishersUpdated() {
+        when(interviewRepository.setAgreedWisher(1, 2, StatusInterview.IN_PROGRESS, StatusInterview.IN_PROGRESS.sources()))
+                .thenReturn(1);
+        wisherService.approveWisher(1, 2);
+        verify(wisherRepository).approveOnly(1, 2);
+    }
+
+    @Test
+    void whenApproveWisherOfOtherInterviewThenException() {
+        when(interviewRepository.setAgreedWisher(1, 2, StatusInterview.IN_PROGRESS, StatusInterview.IN_PROGRESS.sources()))
+                .thenReturn(0);
+        assertThrows(IllegalArgumentException.class, () -> wisherService.approveWisher(1, 2));
+        verify(wisherRepository, never()).approveOnly(1, 2);
+    }
+
+    @Test
+    void whenSetWisherApproveTrueThenStatusChangedThroughCompareAndSet() {
+        when(interviewRepository.setAgreedWisher(1, 2, StatusInterview.IN_PROGRESS, StatusInterview.IN_PROGRESS.sources()))
+                .thenReturn(1);
+        wisherService.setWisherApprove(1, 2, true);
+        verify(wisherRepository).approveOnly(1, 2);
+        verify(wisherRepository, never()).setWisherApprove(1, 2, true);
+    }
+
+    @Test
+    void whenSetWisherApproveTrueAndStatusDoesNotAllowThenException() {
+        when(interviewRepository.setAgreedWisher(1, 2, StatusInterview.IN_PROGRESS, StatusInterview.IN_PROGRESS.sources()))
+                .thenReturn(0);
+        assertThrows(IllegalArgumentException.class, () -> wisherService.setWisherApprove(1, 2, true));
+        verify(wisherRepository, never()).approveOnly(1, 2);
+        verify(wisherRepository, never()).setWisherApprove(1, 2, true);
+    }
+
+    @Test
+    void whenSetWisherApproveFalseForNotAgreedWisherThenOnlyWisherFlagChanged() {
+        wisherService.setWisherApprove(1, 2, false);
+        verify(wisherRepository).setWisherApprove(1, 2, false);
+        verify(interviewRepository, never()).setAgreedWisher(1, 2, StatusInterview.IN_PROGRESS,
+                StatusInterview.IN_PROGRESS.sources());
+        verify(interviewRepository).findDtoById(1);
+        verify(approvedCounterService).refreshInterviewUsers(1);
+    }
+
+    @Test
+    void whenSetWisherApproveFalseForAgreedWisherInProgressThenInterviewBackToNew() {
+        when(interviewRepository.clearAgreedWisher(1, 2, StatusInterview.IS_NEW,
+                List.of(StatusInterview.IN_PROGRESS))).thenReturn(1);
+        wisherService.setWisherApprove(1, 2, false);
+        verify(wisherRepository).setWisherApprove(1, 2, false);
+        verify(interviewRepository, times(2)).findDtoById(1);
+    }
+
+    @Test
+    void whenSetWisherApproveFalseForAgreedWisherAfterInProgressThenException() {
+        when(interviewRepository.isAgreedWisher(1, 2)).thenReturn(true);
+        assertThrows(IllegalArgumentException.class, () -> wisherService.setWisherApprove(1, 2, false));
+        verify(wisherRepository, never()).setWisherApprove(1, 2, false);
+    }
+}
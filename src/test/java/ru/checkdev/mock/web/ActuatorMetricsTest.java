@@ -0,0 +1,67 @@
+package ru.checkdev.mock.web;
+
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.ResourceServerTokenServices;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.checkdev.mock.MockSrv;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = MockSrv.class)
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+class ActuatorMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ResourceServerTokenServices tokenServices;
+
+    @Test
+    void whenScrapeThenRepositoryEndpointAndPoolMetricsPublished() throws Exception {
+        var authorities = AuthorityUtils.createAuthorityList("ROLE_USER");
+        when(tokenServices.loadAuthentication(anyString())).thenReturn(new OAuth2Authentication(
+                new OAuth2Request(null, "client", authorities, true, null, null, null, null, null),
+                new UsernamePasswordAuthenticationToken("user", "N/A", authorities)));
+        mockMvc.perform(get("/wishers/dto/"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer token"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "method=\"findAllWiserDto\",repository=\"WisherRepository\"")))
+                .andExpect(content().string(containsString("uri=\"/wishers/dto\"")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                .andExpect(content().string(containsString("cache=\"interview.page-cache\"")));
+    }
+
+    @Test
+    void whenScrapeWithoutTokenThenUnauthorized() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void whenHealthThenUp() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("UP")));
+    }
+}
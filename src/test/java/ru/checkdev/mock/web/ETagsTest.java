@@ -0,0 +1,30 @@
+package ru.checkdev.mock.web;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ETagsTest {
+
+    @Test
+    void whenVersionThenQuotedETagParsedBack() {
+        assertThat(ETags.of(7)).isEqualTo("\"7\"");
+        assertThat(ETags.parseIfMatch(ETags.of(7))).isEqualTo(7);
+        assertThat(ETags.parseIfMatch(" W/\"7\" ")).isEqualTo(7);
+    }
+
+    @Test
+    void whenIfMatchMissingOrAnyThenNoVersion() {
+        assertThat(ETags.parseIfMatch(null)).isNull();
+        assertThat(ETags.parseIfMatch(" ")).isNull();
+        assertThat(ETags.parseIfMatch("*")).isNull();
+    }
+
+    @Test
+    void whenIfMatchInvalidThenException() {
+        assertThatThrownBy(() -> ETags.parseIfMatch("7")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ETags.parseIfMatch("\"v7\"")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ETags.parseIfMatch("\"")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -23,6 +23,9 @@ import java.util.Optional;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -78,6 +81,17 @@ class FeedbackControllerTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    void whenSaveAllThenIsUnauthorized() throws Exception {
+        var feedbackDTO = new FeedbackDTO(0, 1, 1, 2, "text", 5);
+        mockMvc.perform(post("/feedback/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(List.of(feedbackDTO))))
+                .andDo(print())
+                .andExpect(status().isUnauthorized());
+        verify(service, never()).saveAll(anyList());
+    }
+
     @Disabled
     @Test
     @WithMockUser
@@ -0,0 +1,56 @@
+package ru.checkdev.mock.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import org.junit.jupiter.api.Test;
+import ru.checkdev.mock.dto.FilterRequestParams;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FilterRequestParamsReaderTest {
+
+    private final FilterRequestParamsReader reader = new FilterRequestParamsReader(new ObjectMapper());
+
+    @Test
+    void whenReadThenParsed() throws JsonProcessingException {
+        var actual = reader.read("{\"topicIds\":[1,2],\"submitterId\":3,\"wisherId\":0,"
+                + "\"agreedWisherId\":0,\"status\":1,\"mode\":2,\"exclude\":true}");
+        assertThat(actual).isEqualTo(new FilterRequestParams(List.of(1, 2), 3, 0, 0, 1, 2, true));
+    }
+
+    @Test
+    void whenReadSameHeaderTwiceThenEqualCopies() throws JsonProcessingException {
+        var json = "{\"topicIds\":[1],\"submitterId\":1,\"wisherId\":0,\"agreedWisherId\":0,\"status\":1,\"mode\":0}";
+        var first = reader.read(json);
+        var second = reader.read(" " + json);
+        assertThat(second).isEqualTo(first).isNotSameAs(first);
+    }
+
+    @Test
+    void whenCallerChangesReadParamsThenCachedValueKept() throws JsonProcessingException {
+        var json = "{\"topicIds\":[1],\"submitterId\":1,\"wisherId\":0,\"agreedWisherId\":0,\"status\":1,\"mode\":0}";
+        var first = reader.read(json);
+        first.setSubmitterId(7);
+        first.getTopicIds().add(2);
+        assertThat(reader.read(json)).isEqualTo(new FilterRequestParams(List.of(1), 1, 0, 0, 1, 0, false));
+    }
+
+    @Test
+    void whenUnknownFieldAndLenientApplicationMapperThenException() {
+        var lenient = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        var strictReader = new FilterRequestParamsReader(lenient);
+        assertThatThrownBy(() -> strictReader.read("{\"topicIds\":[1],\"submiterId\":1}"))
+                .isInstanceOf(UnrecognizedPropertyException.class);
+    }
+
+    @Test
+    void whenReadInvalidJsonThenException() {
+        assertThatThrownBy(() -> reader.read("{topicIds"))
+                .isInstanceOf(JsonProcessingException.class);
+    }
+}
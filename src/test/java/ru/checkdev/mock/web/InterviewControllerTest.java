@@ -10,6 +10,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.junit4.SpringRunner;
@@ -18,6 +19,7 @@ import ru.checkdev.mock.MockSrv;
 import ru.checkdev.mock.domain.Interview;
 import ru.checkdev.mock.dto.InterviewDTO;
 import ru.checkdev.mock.enums.StatusInterview;
+import ru.checkdev.mock.enums.StatusTransition;
 import ru.checkdev.mock.mapper.InterviewMapper;
 import ru.checkdev.mock.service.InterviewService;
 
@@ -100,7 +102,8 @@ class InterviewControllerTest {
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$.id", Matchers.is(interviewDTO.getId())));
+                .andExpect(jsonPath("$.id", Matchers.is(interviewDTO.getId())))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
     }
 
     @Test
@@ -116,7 +119,7 @@ class InterviewControllerTest {
     @Disabled
     @Test
     public void whenTryToUpdateIsCorrect() throws Exception {
-        when(service.update(any(InterviewDTO.class))).thenReturn(true);
+        when(service.update(any(InterviewDTO.class))).thenReturn(Optional.of(InterviewMapper.getInterviewDTO(interview)));
         this.mockMvc.perform(put("/interview/")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(new ObjectMapper().writeValueAsString(interview)))
@@ -128,7 +131,7 @@ class InterviewControllerTest {
 
     @Test
     public void whenTryToUpdateIsUnauthorized() throws Exception {
-        when(service.update(any(InterviewDTO.class))).thenReturn(true);
+        when(service.update(any(InterviewDTO.class))).thenReturn(Optional.of(InterviewMapper.getInterviewDTO(interview)));
         this.mockMvc.perform(put("/interview/")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(new ObjectMapper().writeValueAsString(interview)))
@@ -139,7 +142,7 @@ class InterviewControllerTest {
     @Disabled
     @Test
     public void whenTryToUpdateIsNotCorrect() throws Exception {
-        when(service.update(any(InterviewDTO.class))).thenReturn(false);
+        when(service.update(any(InterviewDTO.class))).thenReturn(Optional.empty());
         this.mockMvc.perform(put("/interview/")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(new ObjectMapper().writeValueAsString(interview)))
@@ -150,12 +153,21 @@ class InterviewControllerTest {
                         content().string(string));
     }
 
+    @Test
+    public void whenPatchIsUnauthorized() throws Exception {
+        this.mockMvc.perform(patch("/interview/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"new title\"}"))
+                .andDo(print())
+                .andExpect(status().isUnauthorized());
+    }
+
     @Disabled
     @Test
     @WithMockUser
     public void whenUpdateStatusThenReturnStatusOk() throws Exception {
         var interviewDTO = InterviewMapper.getInterviewDTO(interview);
-        when(service.updateStatus(interviewDTO)).thenReturn(true);
+        when(service.updateStatus(interviewDTO)).thenReturn(StatusTransition.APPLIED);
         this.mockMvc.perform(put("/interview/status/")
                         .flashAttr("interviewDTO", interviewDTO))
                 .andDo(print())
@@ -165,7 +177,7 @@ class InterviewControllerTest {
     @Test
     public void whenUpdateStatusThenIsUnauthorized() throws Exception {
         var interviewDTO = InterviewMapper.getInterviewDTO(interview);
-        when(service.updateStatus(interviewDTO)).thenReturn(true);
+        when(service.updateStatus(interviewDTO)).thenReturn(StatusTransition.APPLIED);
         this.mockMvc.perform(put("/interview/status/")
                         .flashAttr("interviewDTO", interviewDTO))
                 .andDo(print())
@@ -175,7 +187,7 @@ class InterviewControllerTest {
     @Test
     public void whenUpdateStatusThenReturnStatusNotFound() throws Exception {
         var interviewDTO = InterviewMapper.getInterviewDTO(interview);
-        when(service.updateStatus(interviewDTO)).thenReturn(false);
+        when(service.updateStatus(interviewDTO)).thenReturn(StatusTransition.NOT_FOUND);
         this.mockMvc.perform(put("/interview/status/")
                         .flashAttr("interviewDTO", interviewDTO))
                 .andDo(print())
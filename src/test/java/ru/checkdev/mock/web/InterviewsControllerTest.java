@@ -10,11 +10,15 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.checkdev.mock.MockSrv;
 import ru.checkdev.mock.domain.Interview;
+import ru.checkdev.mock.dto.InterviewCursor;
+import ru.checkdev.mock.dto.InterviewSearchCursor;
+import ru.checkdev.mock.dto.InterviewSearchResult;
 import ru.checkdev.mock.mapper.InterviewMapper;
 import ru.checkdev.mock.repository.InterviewRepository;
 import ru.checkdev.mock.service.InterviewService;
@@ -24,9 +28,11 @@ import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -97,4 +103,51 @@ class InterviewsControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.size()", Matchers.is(0)));
     }
-}
\ No newline at end of file
+
+    @Test
+    void whenGetAllByCursorThenReturnSliceAndNextCursor() throws Exception {
+        var interviewDTO = InterviewMapper.getInterviewDTO(interview);
+        var slice = new SliceImpl<>(List.of(interviewDTO), PageRequest.of(0, 1), true);
+        when(service.findSlice("", 1)).thenReturn(slice);
+        mockMvc.perform(get("/interviews/").param("cursor", "").param("size", "1"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("next-cursor", InterviewCursor.of(interviewDTO).encode()))
+                .andExpect(jsonPath("$.content[0].id", Matchers.is(interview.getId())))
+                .andExpect(jsonPath("$.last", Matchers.is(false)));
+    }
+
+    @Test
+    void whenSearchThenReturnSliceAndNextCursor() throws Exception {
+        var interviewDTO = InterviewMapper.getInterviewDTO(interview);
+        var slice = new SliceImpl<>(List.of(interviewDTO), PageRequest.of(0, 1), true);
+        var cursor = new InterviewSearchCursor(0.5F, interview.getId()).encode();
+        when(service.search("java", null, 1)).thenReturn(new InterviewSearchResult(slice, cursor));
+        mockMvc.perform(get("/interviews/search").param("q", "java").param("size", "1"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("next-cursor", cursor))
+                .andExpect(jsonPath("$.content[0].id", Matchers.is(interview.getId())));
+    }
+
+    @Test
+    void whenSearchWithBlankQueryThenBadRequest() throws Exception {
+        when(service.search(" ", null, 20)).thenThrow(new IllegalArgumentException("Search query is empty"));
+        mockMvc.perform(get("/interviews/search").param("q", " "))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void whenExportByModeThenNdjson() throws Exception {
+        when(interviewRepository.streamDtoByMode(2)).thenReturn(Stream.of(InterviewMapper.getInterviewDTO(interview)));
+        var result = mockMvc.perform(get("/interviews/export/{mode}", 2))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(Matchers.startsWith("{\"id\":1,")));
+    }
+}
@@ -0,0 +1,69 @@
+package ru.checkdev.mock.web;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.checkdev.mock.MockSrv;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.stream.Stream;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Испорченные курсоры и размер страницы вне 1..MAX_PAGE_SIZE проходят через настоящие
+ * InterviewService и разбор курсора и возвращаются клиенту как 400, а не 500.
+ */
+@SpringBootTest(classes = MockSrv.class)
+@AutoConfigureMockMvc
+class InterviewsCursorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    static Stream<String> brokenCursors() {
+        return Stream.of("broken", "a", "***", encode("not-a-date|1"), encode("2024-01-01 00:00:00.0|x"));
+    }
+
+    static Stream<String> brokenSearchCursors() {
+        return Stream.of("broken", "a", "***", encode("score|1"), encode("0.5|x"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("brokenCursors")
+    void whenGetAllByBrokenCursorThenBadRequest(String cursor) throws Exception {
+        mockMvc.perform(get("/interviews/").param("cursor", cursor))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @ParameterizedTest
+    @MethodSource("brokenSearchCursors")
+    void whenSearchByBrokenCursorThenBadRequest(String cursor) throws Exception {
+        mockMvc.perform(get("/interviews/search").param("q", "java").param("cursor", cursor))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "101", "2147483647"})
+    void whenSizeOutOfRangeThenBadRequest(String size) throws Exception {
+        mockMvc.perform(get("/interviews/").param("cursor", "").param("size", size))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/interviews/search").param("q", "java").param("size", size))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
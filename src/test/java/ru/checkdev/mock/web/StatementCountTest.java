@@ -0,0 +1,120 @@
+package ru.checkdev.mock.web;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.checkdev.mock.MockSrv;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Число SQL-запросов на один вызов эндпоинта не должно зависеть от количества строк.
+ * Если ассоциация снова начнёт загружаться отдельным select на каждую запись (N+1),
+ * тест упадёт.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = MockSrv.class, properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@AutoConfigureMockMvc
+class StatementCountTest {
+
+    private static final int INTERVIEWS = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private int interviewId;
+
+    private int wisherId;
+
+    @BeforeEach
+    void fillTables() {
+        jdbcTemplate.update("DELETE FROM cd_feedback");
+        jdbcTemplate.update("DELETE FROM wisher");
+        jdbcTemplate.update("DELETE FROM interview");
+        jdbcTemplate.update("""
+                INSERT INTO interview(mode, submitter_id, title, additional, contact_by, approximate_date,
+                                      create_date, topic_id, author, status)
+                SELECT 1, 1, CONCAT('title', x), 'additional', 'contact', 'now', CURRENT_TIMESTAMP, 1, 'author', 1
+                FROM SYSTEM_RANGE(1, ?)
+                """, INTERVIEWS);
+        jdbcTemplate.update("""
+                INSERT INTO wisher(interview_id, user_id, contact_by, approve)
+                SELECT i.id, u.x, 'contact', false FROM interview i, SYSTEM_RANGE(1, 2) u
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO cd_feedback(interview_id, user_id, role_in_interview, text_feedback, scope)
+                SELECT i.id, 1, 1, 'text', 5 FROM interview i
+                """);
+        interviewId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM interview", Integer.class);
+        wisherId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM wisher", Integer.class);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void whenGetAllWishersThenOneStatement() throws Exception {
+        mockMvc.perform(get("/wishers/"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2 * INTERVIEWS))
+                .andExpect(jsonPath("$[0].interview.title").exists());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void whenGetWishersByInterviewThenInterviewAndWishersStatements() throws Exception {
+        mockMvc.perform(get("/wishers/{id}", interviewId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].interview.title").exists());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void whenGetWishersSliceThenOneStatement() throws Exception {
+        mockMvc.perform(get("/wishers/").param("after", "0").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2 * INTERVIEWS))
+                .andExpect(jsonPath("$.content[0].interview.title").exists());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void whenGetWisherByIdThenOneStatement() throws Exception {
+        mockMvc.perform(get("/wisher/{id}", wisherId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.interview.title").exists());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void whenGetFeedbackByInterviewThenOneStatement() throws Exception {
+        mockMvc.perform(get("/feedback/{id}", interviewId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
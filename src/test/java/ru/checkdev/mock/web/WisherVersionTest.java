@@ -0,0 +1,129 @@
+package ru.checkdev.mock.web;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.ResourceServerTokenServices;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.checkdev.mock.MockSrv;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Проверка версии при PUT /wisher/ на настоящей базе: токен принимает подмененный ResourceServerTokenServices.
+ */
+@SpringBootTest(classes = MockSrv.class)
+@AutoConfigureMockMvc
+class WisherVersionTest {
+
+    private static final int VERSION = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private ResourceServerTokenServices tokenServices;
+
+    private int interviewId;
+
+    private int wisherId;
+
+    @BeforeEach
+    void fillTables() {
+        var authorities = AuthorityUtils.createAuthorityList("ROLE_USER");
+        when(tokenServices.loadAuthentication(anyString())).thenReturn(new OAuth2Authentication(
+                new OAuth2Request(null, "client", authorities, true, null, null, null, null, null),
+                new UsernamePasswordAuthenticationToken("user", "N/A", authorities)));
+        jdbcTemplate.update("DELETE FROM cd_pending_feedback");
+        jdbcTemplate.update("DELETE FROM cd_feedback");
+        jdbcTemplate.update("DELETE FROM wisher");
+        jdbcTemplate.update("DELETE FROM interview");
+        jdbcTemplate.update("""
+                INSERT INTO interview(mode, submitter_id, title, additional, contact_by, approximate_date,
+                                      create_date, topic_id, author, status)
+                VALUES (1, 1, 'title', 'additional', 'contact', 'now', CURRENT_TIMESTAMP, 1, 'author', 1)
+                """);
+        interviewId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM interview", Integer.class);
+        jdbcTemplate.update("""
+                INSERT INTO wisher(interview_id, user_id, contact_by, approve, version)
+                VALUES (?, 5, 'c', false, ?)
+                """, interviewId, VERSION);
+        wisherId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM wisher", Integer.class);
+    }
+
+    private String body(int userId) {
+        return String.format("{\"id\":%d,\"interviewId\":%d,\"userId\":%d,\"contactBy\":\"c\",\"approve\":false}",
+                wisherId, interviewId, userId);
+    }
+
+    private Integer column(String name) {
+        return jdbcTemplate.queryForObject("SELECT " + name + " FROM wisher WHERE id = ?", Integer.class, wisherId);
+    }
+
+    @Test
+    void whenIfMatchStaleThenPreconditionFailedAndRowKept() throws Exception {
+        mockMvc.perform(put("/wisher/")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                        .header(HttpHeaders.IF_MATCH, ETags.of(1))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(6)))
+                .andExpect(status().isPreconditionFailed());
+        assertThat(column("user_id")).isEqualTo(5);
+        assertThat(column("version")).isEqualTo(VERSION);
+    }
+
+    @Test
+    void whenIfMatchCurrentThenUpdatedWithNewETag() throws Exception {
+        mockMvc.perform(put("/wisher/")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                        .header(HttpHeaders.IF_MATCH, ETags.of(VERSION))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(6)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETags.of(VERSION + 1)));
+        assertThat(column("user_id")).isEqualTo(6);
+        assertThat(column("version")).isEqualTo(VERSION + 1);
+    }
+
+    @Test
+    void whenWisherMovedToAnotherUserThenBothCountersRecounted() throws Exception {
+        jdbcTemplate.update("UPDATE wisher SET approve = true WHERE id = ?", wisherId);
+        jdbcTemplate.update("DELETE FROM cd_approved_counter");
+        jdbcTemplate.update("INSERT INTO cd_approved_counter(user_id, approved) VALUES (5, 1)");
+        mockMvc.perform(put("/wisher/")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(6).replace("\"approve\":false", "\"approve\":true")))
+                .andExpect(status().isOk());
+        assertThat(jdbcTemplate.queryForList("SELECT user_id FROM cd_approved_counter WHERE approved > 0",
+                Integer.class)).containsExactly(6);
+    }
+
+    @Test
+    void whenBodyVersionStaleThenPreconditionFailed() throws Exception {
+        mockMvc.perform(put("/wisher/")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(6).replace("}", ",\"version\":1}")))
+                .andExpect(status().isPreconditionFailed());
+        assertThat(column("user_id")).isEqualTo(5);
+    }
+}
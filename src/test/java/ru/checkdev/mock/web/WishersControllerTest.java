@@ -8,6 +8,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
@@ -28,7 +30,10 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -180,4 +185,62 @@ class WishersControllerTest {
                 .andDo(print())
                 .andExpect(status().isUnauthorized());
     }
-}
\ No newline at end of file
+
+    @Test
+    void chooseWisherThenIsUnauthorized() throws Exception {
+        mockMvc.perform(post("/wishers/approve/choose/")
+                        .param("interviewId", "1")
+                        .param("wisherId", "2"))
+                .andDo(print())
+                .andExpect(status().isUnauthorized());
+        verify(wisherService, never()).approveWisher(1, 2);
+    }
+
+    @Test
+    void saveAllThenIsUnauthorized() throws Exception {
+        mockMvc.perform(post("/wishers/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"interviewId\":1,\"userId\":1,\"contactBy\":\"contact\"}]"))
+                .andDo(print())
+                .andExpect(status().isUnauthorized());
+        verify(wisherService, never()).saveAll(any());
+    }
+
+    @Test
+    void whenGetDtoAfterCursorThenSliceAndNextCursorHeader() throws Exception {
+        var dto = new WisherDto(7, 1, 1, "test_contact_by", true);
+        when(wisherService.findDtoSlice(0, 1))
+                .thenReturn(new SliceImpl<>(List.of(dto), PageRequest.of(0, 1), true));
+        mockMvc.perform(get("/wishers/dto/").param("after", "0").param("size", "1"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("next-cursor", "7"))
+                .andExpect(jsonPath("$.content[0].id", Matchers.is(7)));
+    }
+
+    @Test
+    void whenGetAfterLastCursorThenNoNextCursorHeader() throws Exception {
+        when(wisherService.findSlice(1, 20))
+                .thenReturn(new SliceImpl<>(List.of(wisher), PageRequest.of(0, 20), false));
+        mockMvc.perform(get("/wishers/").param("after", "1"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("next-cursor"))
+                .andExpect(jsonPath("$.content[0].interview.id", Matchers.is(interview.getId())));
+    }
+
+    @Test
+    void whenGetAfterCursorWithSizeOverLimitThenBadRequest() throws Exception {
+        mockMvc.perform(get("/wishers/").param("after", "0").param("size", "101"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/wishers/dto/").param("after", "0").param("size", String.valueOf(Integer.MAX_VALUE)))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/wishers/dto/").param("after", "0").param("size", "0"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+        verify(wisherService, never()).findSlice(anyInt(), anyInt());
+        verify(wisherService, never()).findDtoSlice(anyInt(), anyInt());
+    }
+}